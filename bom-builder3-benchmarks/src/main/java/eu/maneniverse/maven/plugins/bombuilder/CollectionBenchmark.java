@@ -0,0 +1,64 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.model.Model;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks collection of reactor, direct and transitive artifacts and building of dependency management out of them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CollectionBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int artifactCount;
+
+    @Param({"800"})
+    public int moduleCount;
+
+    @Param({"1", "4"})
+    public int parallelism;
+
+    private BuildBomMojo mojo;
+
+    private List<Coordinates> collected;
+
+    @Setup(Level.Trial)
+    public void setup() throws MojoExecutionException {
+        List<Artifact> artifacts = SyntheticReactor.artifacts(artifactCount);
+        mojo = SyntheticReactor.mojo(SyntheticReactor.reactor(artifacts, moduleCount));
+        mojo.parallelism = parallelism;
+        collected = mojo.collectArtifacts();
+    }
+
+    @Benchmark
+    public List<Coordinates> collect() throws MojoExecutionException {
+        return mojo.collectArtifacts();
+    }
+
+    @Benchmark
+    public Model dependencyManagement() throws MojoExecutionException {
+        Model model = new Model();
+        mojo.addDependencyManagement(model, collected);
+        return model;
+    }
+}
@@ -0,0 +1,75 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.model.Model;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks inclusion/exclusion filtering of collected artifacts and application of BOM exclusions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilterBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int artifactCount;
+
+    @Param({"10", "100", "1000"})
+    public int ruleCount;
+
+    private BuildBomMojo mojo;
+
+    private List<Artifact> artifacts;
+
+    private List<Coordinates> coordinates;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        artifacts = SyntheticReactor.artifacts(artifactCount);
+        coordinates = SyntheticReactor.coordinates(artifacts);
+        mojo = SyntheticReactor.mojo(SyntheticReactor.reactor(artifacts, 1));
+        mojo.dependencyInclusions = SyntheticReactor.rules(ruleCount, artifactCount);
+        mojo.dependencyExclusions = SyntheticReactor.rules(ruleCount, artifactCount / 2 + 1);
+        mojo.exclusions = SyntheticReactor.bomExclusions(ruleCount, artifactCount);
+    }
+
+    @Benchmark
+    public void included(Blackhole blackhole) {
+        for (Artifact artifact : artifacts) {
+            blackhole.consume(mojo.isIncludedDependency(artifact));
+        }
+    }
+
+    @Benchmark
+    public void excluded(Blackhole blackhole) {
+        for (Artifact artifact : artifacts) {
+            blackhole.consume(mojo.isExcludedDependency(artifact));
+        }
+    }
+
+    @Benchmark
+    public Model dependencyManagement() throws MojoExecutionException {
+        Model model = new Model();
+        mojo.addDependencyManagement(model, coordinates);
+        return model;
+    }
+}
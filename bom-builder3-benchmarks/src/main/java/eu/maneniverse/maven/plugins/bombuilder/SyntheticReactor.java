@@ -0,0 +1,239 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Model;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.CollectResult;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.util.artifact.DefaultArtifactTypeRegistry;
+
+/**
+ * Generator of synthetic reactors, artifact sets and rules used by benchmarks. Generated data is deterministic, and
+ * uses a "few hundred" distinct groupIds for "many" artifacts, like real world reactors do.
+ */
+final class SyntheticReactor {
+
+    private static final DefaultArtifactHandler JAR = new DefaultArtifactHandler("jar");
+
+    private SyntheticReactor() {}
+
+    static int groupCount(int artifactCount) {
+        return Math.max(1, Math.min(500, artifactCount / 20));
+    }
+
+    static String groupId(int index) {
+        return "org.example.group" + index;
+    }
+
+    static String artifactId(int index) {
+        return "artifact-" + index;
+    }
+
+    /**
+     * Creates {@code count} distinct artifacts, spread across {@link #groupCount(int)} groups.
+     */
+    static List<Artifact> artifacts(int count) {
+        int groups = groupCount(count);
+        ArrayList<Artifact> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            DefaultArtifact artifact = new DefaultArtifact(
+                    groupId(i % groups), artifactId(i), "1." + (i % 7), "compile", "jar", null, JAR);
+            result.add(artifact);
+        }
+        return result;
+    }
+
+    /**
+     * Returns coordinates of given artifacts, as collected by {@link ArtifactCollector}.
+     */
+    static List<Coordinates> coordinates(List<Artifact> artifacts) {
+        Coordinates.Interner interner = new Coordinates.Interner();
+        ArrayList<Coordinates> result = new ArrayList<>(artifacts.size());
+        for (Artifact artifact : artifacts) {
+            result.add(Coordinates.of(artifact, interner));
+        }
+        return result;
+    }
+
+    /**
+     * Creates {@code count} inclusion/exclusion rules: exact {@code G:A}, {@code G:*} and {@code *:A} ones, all
+     * targeting some of the artifacts created by {@link #artifacts(int)}.
+     */
+    static List<DependencyExclusion> rules(int count, int artifactCount) {
+        int groups = groupCount(artifactCount);
+        ArrayList<DependencyExclusion> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int target = (int) ((i * 7919L) % artifactCount);
+            switch (i % 5) {
+                case 0:
+                    result.add(new DependencyExclusion(groupId(target % groups), "*"));
+                    break;
+                case 1:
+                    result.add(new DependencyExclusion("*", artifactId(target)));
+                    break;
+                default:
+                    result.add(new DependencyExclusion(groupId(target % groups), artifactId(target)));
+                    break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Creates {@code count} BOM exclusions, each applied to some of the artifacts created by {@link #artifacts(int)}.
+     */
+    static List<BomExclusion> bomExclusions(int count, int artifactCount) {
+        int groups = groupCount(artifactCount);
+        ArrayList<BomExclusion> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int target = (int) ((i * 7919L) % artifactCount);
+            BomExclusion exclusion = new BomExclusion();
+            exclusion.setDependencyGroupId(groupId(target % groups));
+            exclusion.setDependencyArtifactId(artifactId(target));
+            exclusion.setExclusionGroupId("org.excluded");
+            exclusion.setExclusionArtifactId("excluded-" + i);
+            result.add(exclusion);
+        }
+        return result;
+    }
+
+    /**
+     * Creates a reactor of {@code modules} projects, that have given artifacts spread across as direct and transitive
+     * dependencies, in overlapping manner (as usual in reactors). Direct dependencies are resolved, as Maven does,
+     * transitive ones are declared in model of project, to be collected by {@link #repositorySystem()}.
+     */
+    static List<MavenProject> reactor(List<Artifact> artifacts, int modules) {
+        ArrayList<MavenProject> result = new ArrayList<>(modules);
+        int slice = Math.max(1, artifacts.size() / modules);
+        for (int m = 0; m < modules; m++) {
+            MavenProject project = new MavenProject();
+            project.setGroupId("org.example.reactor");
+            project.setArtifactId("module-" + m);
+            project.setVersion("1.0.0-SNAPSHOT");
+            project.setArtifact(
+                    new DefaultArtifact("org.example.reactor", "module-" + m, "1.0.0-SNAPSHOT", null, "jar", null, JAR));
+
+            int from = m * slice % artifacts.size();
+            LinkedHashSet<Artifact> direct = new LinkedHashSet<>();
+            // each module sees its own slice and the slice of the next module, to have duplicates across modules
+            for (int i = 0; i < slice * 2; i++) {
+                Artifact artifact = artifacts.get((from + i) % artifacts.size());
+                if (i < slice / 10 + 1) {
+                    direct.add(artifact);
+                }
+                project.getModel().addDependency(dependency(artifact));
+            }
+            project.setDependencyArtifacts(direct);
+            result.add(project);
+        }
+        return result;
+    }
+
+    /**
+     * Creates a model with dependency management containing given artifacts.
+     */
+    static Model model(List<Artifact> artifacts) {
+        Model model = new Model();
+        model.setModelVersion("4.0.0");
+        model.setGroupId("org.example");
+        model.setArtifactId("example-bom");
+        model.setVersion("1.0.0");
+        model.setPackaging("pom");
+        DependencyManagement depMgmt = new DependencyManagement();
+        for (Artifact artifact : artifacts) {
+            depMgmt.addDependency(dependency(artifact));
+        }
+        model.setDependencyManagement(depMgmt);
+        return model;
+    }
+
+    private static Dependency dependency(Artifact artifact) {
+        Dependency dependency = new Dependency();
+        dependency.setGroupId(artifact.getGroupId());
+        dependency.setArtifactId(artifact.getArtifactId());
+        dependency.setVersion(artifact.getVersion());
+        return dependency;
+    }
+
+    /**
+     * Creates a repository system that collects declared dependencies of projects as they are, without reading POMs,
+     * so that benchmarks measure the mojo and not the resolver.
+     */
+    static RepositorySystem repositorySystem() {
+        return (RepositorySystem) Proxy.newProxyInstance(
+                SyntheticReactor.class.getClassLoader(),
+                new Class<?>[] {RepositorySystem.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("collectDependencies")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    CollectRequest request = (CollectRequest) args[1];
+                    List<DependencyNode> children = new ArrayList<>(request.getDependencies().size());
+                    for (org.eclipse.aether.graph.Dependency dependency : request.getDependencies()) {
+                        children.add(new DefaultDependencyNode(dependency));
+                    }
+                    DefaultDependencyNode root = new DefaultDependencyNode((org.eclipse.aether.graph.Dependency) null);
+                    root.setChildren(children);
+                    return new CollectResult(request).setRoot(root);
+                });
+    }
+
+    /**
+     * Creates a mojo set up for the given reactor, with all reactor, direct and transitive dependencies included.
+     */
+    @SuppressWarnings("deprecation")
+    static BuildBomMojo mojo(List<MavenProject> reactor) {
+        BuildBomMojo mojo = new BuildBomMojo();
+        mojo.setLog(new QuietLog());
+        mojo.repositorySystem = repositorySystem();
+        DefaultRepositorySystemSession repositorySession = new DefaultRepositorySystemSession();
+        repositorySession.setArtifactTypeRegistry(new DefaultArtifactTypeRegistry());
+        mojo.mavenSession = new MavenSession(null, repositorySession, new DefaultMavenExecutionRequest(), null);
+        mojo.mavenSession.setCurrentProject(reactor.isEmpty() ? new MavenProject() : reactor.get(0));
+        mojo.allProjects = Collections.unmodifiableList(reactor);
+        mojo.reactorDependencies = BuildBomMojo.Scope.REACTOR;
+        mojo.directDependencies = BuildBomMojo.Scope.REACTOR;
+        mojo.transitiveDependencies = BuildBomMojo.Scope.REACTOR;
+        return mojo;
+    }
+
+    /**
+     * Log that drops debug and info output, as benchmarks would be dominated by console I/O otherwise. Callers still
+     * pay for building the messages, as they do in real builds.
+     */
+    static final class QuietLog extends SystemStreamLog {
+        @Override
+        public void debug(CharSequence content) {}
+
+        @Override
+        public void debug(CharSequence content, Throwable error) {}
+
+        @Override
+        public void debug(Throwable error) {}
+
+        @Override
+        public void info(CharSequence content) {}
+
+        @Override
+        public void info(CharSequence content, Throwable error) {}
+
+        @Override
+        public void info(Throwable error) {}
+    }
+}
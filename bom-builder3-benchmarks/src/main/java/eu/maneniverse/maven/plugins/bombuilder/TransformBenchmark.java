@@ -0,0 +1,46 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.model.Model;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks conversion of dependency versions to properties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransformBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int artifactCount;
+
+    private PomDependencyVersionsTransformer transformer;
+
+    private Model model;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        transformer = new PomDependencyVersionsTransformer();
+        model = SyntheticReactor.model(SyntheticReactor.artifacts(artifactCount));
+    }
+
+    @Benchmark
+    public Model transform() {
+        return transformer.transformPomModel(model);
+    }
+}
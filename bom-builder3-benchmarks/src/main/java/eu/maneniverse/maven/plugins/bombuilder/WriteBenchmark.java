@@ -0,0 +1,61 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.model.Model;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks writing of the BOM to file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WriteBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int artifactCount;
+
+    private BuildBomMojo.ModelWriter modelWriter;
+
+    private Model model;
+
+    private File outputFile;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        modelWriter = new BuildBomMojo.ModelWriter();
+        model = SyntheticReactor.model(SyntheticReactor.artifacts(artifactCount));
+        outputFile = Files.createTempDirectory("bom-benchmark").resolve("bom-pom.xml").toFile();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(outputFile.toPath());
+        Files.deleteIfExists(outputFile.toPath().getParent());
+    }
+
+    @Benchmark
+    public File write() throws MojoExecutionException {
+        modelWriter.writeModel(model, outputFile);
+        return outputFile;
+    }
+}
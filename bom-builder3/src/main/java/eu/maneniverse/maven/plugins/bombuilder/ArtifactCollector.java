@@ -0,0 +1,341 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.versioning.ComparableVersion;
+
+/**
+ * Thread safe collector of artifacts, that deduplicates them by {@code groupId:artifactId:type:classifier} key and
+ * version, instead of relying on {@link Artifact#equals(Object)} and {@link Artifact#hashCode()}. The sorted
+ * result does not depend on order in which artifacts were added. Artifacts are kept as {@link Coordinates}, sharing
+ * strings through interner of collector, not as added {@link Artifact} instances.
+ * <p>
+ * Artifacts are added through {@link Source}s, that define the encounter order used by
+ * {@link BuildBomMojo.ConflictPolicy#FIRST}: artifacts of a source with lower index come first, and within a source
+ * artifacts come in order they were added, regardless of threads adding them.
+ * <p>
+ * Artifacts not passing the filter of collector are dropped as they are added, so that deduplication and sorting
+ * cost depends on the number of artifacts kept, not the number of artifacts encountered.
+ */
+final class ArtifactCollector {
+
+    private static final Comparator<Coordinates> ORDER =
+            Comparator.<Coordinates>naturalOrder().thenComparing(a -> Objects.toString(a.getVersion(), ""));
+
+    /**
+     * A collected artifact, with position it was first encountered at.
+     */
+    private static final class Entry {
+        private final Coordinates artifact;
+
+        private final long order;
+
+        private Entry(Coordinates artifact, long order) {
+            this.artifact = artifact;
+            this.order = order;
+        }
+    }
+
+    /**
+     * The {@code groupId:artifactId:type:classifier} key of collected coordinates, compared by their fields, so that
+     * adding an artifact does not build a key string. Like in {@link Coordinates#getKey()}, {@code null} classifier
+     * equals empty one.
+     */
+    private static final class Key {
+        private final Coordinates artifact;
+
+        private final int hash;
+
+        private Key(Coordinates artifact) {
+            this.artifact = artifact;
+            int hash = artifact.getGroupId().hashCode();
+            hash = 31 * hash + artifact.getArtifactId().hashCode();
+            hash = 31 * hash + Objects.hashCode(artifact.getType());
+            this.hash = 31 * hash + classifier(artifact).hashCode();
+        }
+
+        private static String classifier(Coordinates artifact) {
+            String classifier = artifact.getClassifier();
+            return classifier == null ? "" : classifier;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Coordinates other = ((Key) o).artifact;
+            return artifact.getGroupId().equals(other.getGroupId())
+                    && artifact.getArtifactId().equals(other.getArtifactId())
+                    && Objects.equals(artifact.getType(), other.getType())
+                    && classifier(artifact).equals(classifier(other));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Adds artifacts to collector in order. A source must be used by one thread only.
+     */
+    final class Source {
+        private final long base;
+
+        private int position;
+
+        private Source(int index) {
+            this.base = (long) index << 32;
+        }
+
+        /**
+         * Adds artifact, unless it does not pass the filter or an artifact with same key and version was already
+         * added.
+         */
+        void add(Artifact artifact) {
+            if (filter.test(artifact)) {
+                ArtifactCollector.this.add(Coordinates.of(artifact, interner), base + position++);
+            }
+        }
+
+        /**
+         * Adds all coordinates collected before (hence passing the filter already), like cached ones, unless the same
+         * coordinates were already added. The collection may be {@code null}.
+         */
+        void addCollected(Collection<Coordinates> collected) {
+            if (collected != null) {
+                for (Coordinates coordinates : collected) {
+                    ArtifactCollector.this.add(coordinates, base + position++);
+                }
+            }
+        }
+
+        /**
+         * Adds all artifacts, the collection may be {@code null}.
+         */
+        void addAll(Collection<Artifact> artifacts) {
+            if (artifacts != null) {
+                for (Artifact artifact : artifacts) {
+                    add(artifact);
+                }
+            }
+        }
+    }
+
+    /**
+     * A key collected with more than one version, and the version chosen by conflict policy.
+     */
+    static final class Conflict {
+        private final String key;
+
+        private final List<Coordinates> candidates;
+
+        private final Coordinates winner;
+
+        private Conflict(String key, List<Coordinates> candidates, Coordinates winner) {
+            this.key = key;
+            this.candidates = candidates;
+            this.winner = winner;
+        }
+
+        String getKey() {
+            return key;
+        }
+
+        /**
+         * The collected versions, in encounter order.
+         */
+        List<Coordinates> getCandidates() {
+            return candidates;
+        }
+
+        /**
+         * The chosen version, or {@code null} if policy is {@link BuildBomMojo.ConflictPolicy#FAIL}.
+         */
+        Coordinates getWinner() {
+            return winner;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(key).append(": ");
+            for (int i = 0; i < candidates.size(); i++) {
+                sb.append(i > 0 ? ", " : "").append(candidates.get(i).getVersion());
+            }
+            if (winner != null) {
+                sb.append(" -> ").append(winner.getVersion());
+            }
+            return sb.toString();
+        }
+    }
+
+    private final ConcurrentHashMap<Key, List<Entry>> artifacts = new ConcurrentHashMap<>();
+
+    private final Predicate<Artifact> filter;
+
+    private final Coordinates.Interner interner = new Coordinates.Interner();
+
+    ArtifactCollector() {
+        this(artifact -> true);
+    }
+
+    /**
+     * Creates a collector keeping only artifacts passing given filter, that must be thread safe.
+     */
+    ArtifactCollector(Predicate<Artifact> filter) {
+        this.filter = filter;
+    }
+
+    /**
+     * Returns a source with given index, artifacts of sources with lower indexes are encountered first.
+     */
+    Source source(int index) {
+        return new Source(index);
+    }
+
+    private void add(Coordinates artifact, long order) {
+        artifacts.compute(new Key(artifact), (k, existing) -> {
+            if (existing == null) {
+                return Collections.singletonList(new Entry(artifact, order));
+            }
+            ArrayList<Entry> versions = new ArrayList<>(existing.size() + 1);
+            for (Entry entry : existing) {
+                if (Objects.equals(entry.artifact.getVersion(), artifact.getVersion())) {
+                    if (entry.order <= order) {
+                        return existing;
+                    }
+                } else {
+                    versions.add(entry);
+                }
+            }
+            versions.add(new Entry(artifact, order));
+            return Collections.unmodifiableList(versions);
+        });
+    }
+
+    /**
+     * Returns the number of collected artifacts, including all collected versions.
+     */
+    int size() {
+        int size = 0;
+        for (List<Entry> versions : artifacts.values()) {
+            size += versions.size();
+        }
+        return size;
+    }
+
+    /**
+     * Returns collected artifacts in encounter order, including all collected versions.
+     */
+    List<Coordinates> toOrderedList() {
+        ArrayList<Entry> entries = new ArrayList<>(artifacts.size());
+        for (List<Entry> versions : artifacts.values()) {
+            entries.addAll(versions);
+        }
+        entries.sort(Comparator.comparingLong(e -> e.order));
+        ArrayList<Coordinates> result = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            result.add(entry.artifact);
+        }
+        return result;
+    }
+
+    /**
+     * Returns collected artifacts sorted by their natural order (and version string, for artifacts having equal
+     * versions by comparison, like {@code 1.0} and {@code 1.0.0}), including all collected versions.
+     */
+    List<Coordinates> toSortedList() {
+        ArrayList<Coordinates> result = new ArrayList<>(artifacts.size());
+        for (List<Entry> versions : artifacts.values()) {
+            for (Entry entry : versions) {
+                result.add(entry.artifact);
+            }
+        }
+        result.sort(ORDER);
+        return result;
+    }
+
+    /**
+     * Returns collected artifacts sorted by their natural order, with one version per key as chosen by given policy.
+     * Keys collected with more versions are reported to conflicts list, sorted by key. With
+     * {@link BuildBomMojo.ConflictPolicy#FAIL} conflicting keys are not part of result.
+     */
+    List<Coordinates> toSortedList(BuildBomMojo.ConflictPolicy policy, List<Conflict> conflicts) {
+        return toSortedList(policy, conflicts, ORDER);
+    }
+
+    /**
+     * Same as {@link #toSortedList(BuildBomMojo.ConflictPolicy, List)}, but sorts result by given order.
+     */
+    List<Coordinates> toSortedList(
+            BuildBomMojo.ConflictPolicy policy, List<Conflict> conflicts, Comparator<Coordinates> order) {
+        ArrayList<Coordinates> result = new ArrayList<>(artifacts.size());
+        ArrayList<Conflict> found = new ArrayList<>();
+        for (List<Entry> versions : artifacts.values()) {
+            if (versions.size() == 1) {
+                result.add(versions.get(0).artifact);
+                continue;
+            }
+            ArrayList<Entry> candidates = new ArrayList<>(versions);
+            candidates.sort(Comparator.comparingLong(e -> e.order));
+            Entry winner = policy == BuildBomMojo.ConflictPolicy.FAIL ? null : choose(policy, candidates);
+            ArrayList<Coordinates> candidateArtifacts = new ArrayList<>(candidates.size());
+            for (Entry candidate : candidates) {
+                candidateArtifacts.add(candidate.artifact);
+            }
+            found.add(new Conflict(
+                    versions.get(0).artifact.getKey(),
+                    Collections.unmodifiableList(candidateArtifacts),
+                    winner != null ? winner.artifact : null));
+            if (winner != null) {
+                result.add(winner.artifact);
+            }
+        }
+        result.sort(order);
+        found.sort(Comparator.comparing(Conflict::getKey));
+        conflicts.addAll(found);
+        return result;
+    }
+
+    /**
+     * Chooses one of candidates, that are in encounter order.
+     */
+    private static Entry choose(BuildBomMojo.ConflictPolicy policy, List<Entry> candidates) {
+        Comparator<Entry> highest = Comparator.comparing(e -> new ComparableVersion(e.artifact.getVersion()));
+        Comparator<Entry> comparator;
+        switch (policy) {
+            case HIGHEST:
+                comparator = highest.reversed();
+                break;
+            case NEAREST:
+                comparator =
+                        Comparator.<Entry>comparingInt(e -> e.artifact.getDepth()).thenComparing(highest.reversed());
+                break;
+            case FIRST:
+                return candidates.get(0);
+            default:
+                throw new IllegalArgumentException("Unsupported policy " + policy);
+        }
+        // stable sort: ties are won by the one encountered first
+        ArrayList<Entry> sorted = new ArrayList<>(candidates);
+        sorted.sort(comparator);
+        return sorted.get(0);
+    }
+
+    static String key(Artifact artifact) {
+        String classifier = artifact.getClassifier();
+        return artifact.getGroupId() + ":" + artifact.getArtifactId() + ":" + artifact.getType() + ":"
+                + (classifier == null ? "" : classifier);
+    }
+}
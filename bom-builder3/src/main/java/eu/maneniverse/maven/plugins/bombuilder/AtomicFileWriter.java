@@ -0,0 +1,83 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Writes files atomically and only if their content changed: the content is rendered into a temporary file in the
+ * same directory, which is then compared to the existing file (by size first, then by digest) and moved over it only
+ * if they differ. Hence, readers never see a partially written file, and an unchanged file keeps its modification
+ * time.
+ */
+final class AtomicFileWriter {
+
+    /**
+     * The content to write.
+     */
+    @FunctionalInterface
+    interface Content {
+        void writeTo(OutputStream outputStream) throws IOException;
+    }
+
+    private AtomicFileWriter() {}
+
+    /**
+     * Writes content to the target file, unless the file already has the very same content.
+     *
+     * @return {@code true} if the file was (re)written, {@code false} if it was left untouched.
+     */
+    static boolean write(Path target, Content content) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, "." + target.getFileName(), ".tmp");
+        try {
+            try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                content.writeTo(outputStream);
+            }
+            if (sameContent(temp, target)) {
+                return false;
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return true;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static boolean sameContent(Path file, Path other) throws IOException {
+        if (!Files.isRegularFile(other) || Files.size(file) != Files.size(other)) {
+            return false;
+        }
+        return Arrays.equals(digest(file), digest(other));
+    }
+
+    private static byte[] digest(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not supported", e);
+        }
+        byte[] buffer = new byte[8192];
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return digest.digest();
+    }
+}
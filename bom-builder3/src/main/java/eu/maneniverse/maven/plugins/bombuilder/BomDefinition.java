@@ -0,0 +1,111 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import java.util.List;
+
+/**
+ * A class to represent one of several BOMs generated by single execution of the BOM builder. Values that are not set
+ * are taken from the execution configuration, except for artifactId that is required, and outputFilename that
+ * defaults to {@code <artifactId>-pom.xml}.
+ */
+public class BomDefinition {
+
+    private String groupId;
+
+    private String artifactId;
+
+    private String version;
+
+    private String name;
+
+    private String description;
+
+    private String classifier;
+
+    private String outputFilename;
+
+    private List<DependencyExclusion> dependencyInclusions;
+
+    private List<DependencyExclusion> dependencyExclusions;
+
+    private List<BomExclusion> exclusions;
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(String groupId) {
+        this.groupId = groupId;
+    }
+
+    public String getArtifactId() {
+        return artifactId;
+    }
+
+    public void setArtifactId(String artifactId) {
+        this.artifactId = artifactId;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getClassifier() {
+        return classifier;
+    }
+
+    public void setClassifier(String classifier) {
+        this.classifier = classifier;
+    }
+
+    public String getOutputFilename() {
+        return outputFilename;
+    }
+
+    public void setOutputFilename(String outputFilename) {
+        this.outputFilename = outputFilename;
+    }
+
+    public List<DependencyExclusion> getDependencyInclusions() {
+        return dependencyInclusions;
+    }
+
+    public void setDependencyInclusions(List<DependencyExclusion> dependencyInclusions) {
+        this.dependencyInclusions = dependencyInclusions;
+    }
+
+    public List<DependencyExclusion> getDependencyExclusions() {
+        return dependencyExclusions;
+    }
+
+    public void setDependencyExclusions(List<DependencyExclusion> dependencyExclusions) {
+        this.dependencyExclusions = dependencyExclusions;
+    }
+
+    public List<BomExclusion> getExclusions() {
+        return exclusions;
+    }
+
+    public void setExclusions(List<BomExclusion> exclusions) {
+        this.exclusions = exclusions;
+    }
+}
@@ -0,0 +1,208 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * Compares BOM contents, the dependency management entries, as lists sorted by their
+ * {@code groupId:artifactId:type:classifier} key: a single merge pass over both lists finds additions, removals and
+ * version changes. BOM files are read with StAX, picking properties and dependency management entries only, without
+ * building their {@code Model}.
+ */
+final class BomDiff {
+
+    private static final Comparator<Entry> BY_KEY = Comparator.comparing(Entry::getKey);
+
+    /**
+     * A dependency management entry.
+     */
+    static final class Entry {
+        private final String key;
+
+        private final String version;
+
+        Entry(String key, String version) {
+            this.key = key;
+            this.version = version;
+        }
+
+        String getKey() {
+            return key;
+        }
+
+        String getVersion() {
+            return version;
+        }
+
+        @Override
+        public String toString() {
+            return key + ":" + version;
+        }
+    }
+
+    /**
+     * Receives the differences as they are found. Throwing stops the comparison.
+     */
+    interface Listener {
+        void added(Entry actual) throws MojoExecutionException;
+
+        void removed(Entry expected) throws MojoExecutionException;
+
+        void changed(Entry expected, Entry actual) throws MojoExecutionException;
+    }
+
+    private BomDiff() {}
+
+    /**
+     * Returns the entries of given artifacts, sorted by key.
+     */
+    static List<Entry> entries(List<Coordinates> artifacts) {
+        ArrayList<Entry> entries = new ArrayList<>(artifacts.size());
+        for (Coordinates artifact : artifacts) {
+            entries.add(new Entry(artifact.getKey(), artifact.getVersion()));
+        }
+        entries.sort(BY_KEY);
+        return entries;
+    }
+
+    /**
+     * Reads the dependency management entries of given BOM file, sorted by key. Versions referring to properties of
+     * the BOM (like {@code ${version.org.slf4j}}) are replaced with property values.
+     */
+    static List<Entry> read(Path bom) throws IOException {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        Map<String, String> properties = new HashMap<>();
+        ArrayList<String[]> dependencies = new ArrayList<>();
+        try (InputStream inputStream = Files.newInputStream(bom)) {
+            XMLStreamReader reader = factory.createXMLStreamReader(inputStream);
+            // element names of current path, up to dependency fields
+            String[] path = new String[5];
+            String[] dependency = null;
+            int depth = 0;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String name = reader.getLocalName();
+                    if (depth < path.length) {
+                        path[depth] = name;
+                    }
+                    if (depth == 1 && "version".equals(name)) {
+                        properties.put("project.version", reader.getElementText().trim());
+                    } else if (depth == 2 && "properties".equals(path[1])) {
+                        properties.put(name, reader.getElementText().trim());
+                    } else if (depth == 3 && isDependencyPath(path)) {
+                        dependency = new String[5];
+                        dependencies.add(dependency);
+                        depth++;
+                    } else if (depth == 4 && dependency != null && isDependencyPath(path)) {
+                        int field = field(name);
+                        if (field >= 0) {
+                            dependency[field] = reader.getElementText().trim();
+                        } else {
+                            depth++;
+                        }
+                    } else {
+                        depth++;
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth--;
+                    if (depth == 3) {
+                        dependency = null;
+                    }
+                }
+            }
+            reader.close();
+        } catch (XMLStreamException e) {
+            throw new IOException("Unable to parse BOM " + bom, e);
+        }
+        ArrayList<Entry> entries = new ArrayList<>(dependencies.size());
+        for (String[] d : dependencies) {
+            String key = d[0] + ":" + d[1] + ":" + (d[3] != null ? d[3] : "jar") + ":" + (d[4] != null ? d[4] : "");
+            entries.add(new Entry(key, interpolate(d[2], properties)));
+        }
+        entries.sort(BY_KEY);
+        return entries;
+    }
+
+    /**
+     * Compares sorted entries, reporting differences to listener.
+     *
+     * @return the number of differences
+     */
+    static int compare(List<Entry> expected, List<Entry> actual, Listener listener) throws MojoExecutionException {
+        int differences = 0;
+        int e = 0;
+        int a = 0;
+        while (e < expected.size() || a < actual.size()) {
+            int c = e == expected.size()
+                    ? 1
+                    : a == actual.size()
+                            ? -1
+                            : expected.get(e).getKey().compareTo(actual.get(a).getKey());
+            if (c < 0) {
+                differences++;
+                listener.removed(expected.get(e++));
+            } else if (c > 0) {
+                differences++;
+                listener.added(actual.get(a++));
+            } else {
+                Entry expectedEntry = expected.get(e++);
+                Entry actualEntry = actual.get(a++);
+                if (!Objects.equals(expectedEntry.getVersion(), actualEntry.getVersion())) {
+                    differences++;
+                    listener.changed(expectedEntry, actualEntry);
+                }
+            }
+        }
+        return differences;
+    }
+
+    /**
+     * Whether path is that of a dependency management entry: {@code project/dependencyManagement/dependencies}.
+     */
+    private static boolean isDependencyPath(String[] path) {
+        return "dependencyManagement".equals(path[1]) && "dependencies".equals(path[2]) && "dependency".equals(path[3]);
+    }
+
+    private static int field(String name) {
+        switch (name) {
+            case "groupId":
+                return 0;
+            case "artifactId":
+                return 1;
+            case "version":
+                return 2;
+            case "type":
+                return 3;
+            case "classifier":
+                return 4;
+            default:
+                return -1;
+        }
+    }
+
+    private static String interpolate(String version, Map<String, String> properties) {
+        if (version != null && version.startsWith("${") && version.endsWith("}")) {
+            String value = properties.get(version.substring(2, version.length() - 1));
+            if (value != null) {
+                return value;
+            }
+        }
+        return String.valueOf(version);
+    }
+}
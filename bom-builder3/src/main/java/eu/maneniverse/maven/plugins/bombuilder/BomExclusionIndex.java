@@ -0,0 +1,184 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.maven.model.Exclusion;
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * Index of configured {@link BomExclusion}s, grouped by the dependency they apply to. The dependency side may use
+ * {@code *} as groupId or artifactId (or both), to apply exclusion to every artifact in group, to given artifactId in
+ * any group, or to every dependency. Exclusions are created once and shared by all dependencies they apply to, hence
+ * they must not be modified.
+ */
+final class BomExclusionIndex {
+
+    private static final BomExclusionIndex EMPTY = new BomExclusionIndex();
+
+    private static final String ANY = "*";
+
+    /**
+     * An exclusion and the position of configuration it originates from.
+     */
+    private static final class Entry {
+        private final int order;
+
+        private final Exclusion exclusion;
+
+        private Entry(int order, Exclusion exclusion) {
+            this.order = order;
+            this.exclusion = exclusion;
+        }
+    }
+
+    /**
+     * Entries of one bucket, and their exclusions as immutable list.
+     */
+    private static final class Bucket {
+        private final ArrayList<Entry> entries = new ArrayList<>();
+
+        private List<Exclusion> exclusions;
+
+        private void add(Entry entry) {
+            entries.add(entry);
+        }
+
+        private Bucket seal() {
+            ArrayList<Exclusion> list = new ArrayList<>(entries.size());
+            for (Entry entry : entries) {
+                list.add(entry.exclusion);
+            }
+            exclusions = Collections.unmodifiableList(list);
+            return this;
+        }
+    }
+
+    private final boolean empty;
+
+    private final Map<String, Map<String, Bucket>> exact;
+
+    private final Map<String, Bucket> anyArtifactId;
+
+    private final Map<String, Bucket> anyGroupId;
+
+    private final Bucket any;
+
+    private BomExclusionIndex() {
+        this.empty = true;
+        this.exact = Collections.emptyMap();
+        this.anyArtifactId = Collections.emptyMap();
+        this.anyGroupId = Collections.emptyMap();
+        this.any = null;
+    }
+
+    private BomExclusionIndex(List<BomExclusion> exclusions) throws MojoExecutionException {
+        HashMap<String, Map<String, Bucket>> exactBuckets = new HashMap<>();
+        HashMap<String, Bucket> anyArtifactIdBuckets = new HashMap<>();
+        HashMap<String, Bucket> anyGroupIdBuckets = new HashMap<>();
+        Bucket anyBucket = null;
+        for (int i = 0; i < exclusions.size(); i++) {
+            BomExclusion bomExclusion = exclusions.get(i);
+            String groupId = bomExclusion.getDependencyGroupId();
+            String artifactId = bomExclusion.getDependencyArtifactId();
+            if (groupId == null || artifactId == null) {
+                throw new MojoExecutionException("Invalid exclusion: both dependencyGroupId and dependencyArtifactId"
+                        + " must be specified but they are '" + groupId + "' and '" + artifactId + "'");
+            }
+            Exclusion exclusion = new Exclusion();
+            exclusion.setGroupId(bomExclusion.getExclusionGroupId());
+            exclusion.setArtifactId(bomExclusion.getExclusionArtifactId());
+            Entry entry = new Entry(i, exclusion);
+            boolean anyGroup = ANY.equals(groupId);
+            boolean anyArtifact = ANY.equals(artifactId);
+            if (anyGroup && anyArtifact) {
+                if (anyBucket == null) {
+                    anyBucket = new Bucket();
+                }
+                anyBucket.add(entry);
+            } else if (anyArtifact) {
+                anyArtifactIdBuckets.computeIfAbsent(groupId, k -> new Bucket()).add(entry);
+            } else if (anyGroup) {
+                anyGroupIdBuckets.computeIfAbsent(artifactId, k -> new Bucket()).add(entry);
+            } else {
+                exactBuckets
+                        .computeIfAbsent(groupId, k -> new HashMap<>())
+                        .computeIfAbsent(artifactId, k -> new Bucket())
+                        .add(entry);
+            }
+        }
+        exactBuckets.values().forEach(m -> m.values().forEach(Bucket::seal));
+        anyArtifactIdBuckets.values().forEach(Bucket::seal);
+        anyGroupIdBuckets.values().forEach(Bucket::seal);
+        this.empty = exclusions.isEmpty();
+        this.exact = exactBuckets;
+        this.anyArtifactId = anyArtifactIdBuckets;
+        this.anyGroupId = anyGroupIdBuckets;
+        this.any = anyBucket != null ? anyBucket.seal() : null;
+    }
+
+    /**
+     * Compiles given exclusions, that may be {@code null}.
+     *
+     * @throws MojoExecutionException if an exclusion does not specify dependency it applies to.
+     */
+    static BomExclusionIndex compile(List<BomExclusion> exclusions) throws MojoExecutionException {
+        if (exclusions == null || exclusions.isEmpty()) {
+            return EMPTY;
+        }
+        return new BomExclusionIndex(exclusions);
+    }
+
+    /**
+     * Returns the exclusions to apply to given dependency, in order as they were configured. The returned list is
+     * immutable, and it is empty if there are no exclusions to apply.
+     */
+    List<Exclusion> exclusionsFor(String groupId, String artifactId) {
+        if (empty) {
+            return Collections.emptyList();
+        }
+        Map<String, Bucket> groupBuckets = exact.get(groupId);
+        Bucket exactBucket = groupBuckets != null ? groupBuckets.get(artifactId) : null;
+        Bucket anyArtifactIdBucket = anyArtifactId.get(groupId);
+        Bucket anyGroupIdBucket = anyGroupId.get(artifactId);
+
+        int found = count(exactBucket) + count(anyArtifactIdBucket) + count(anyGroupIdBucket) + count(any);
+        if (found == 0) {
+            return Collections.emptyList();
+        } else if (found == 1) {
+            if (exactBucket != null) {
+                return exactBucket.exclusions;
+            } else if (anyArtifactIdBucket != null) {
+                return anyArtifactIdBucket.exclusions;
+            } else if (anyGroupIdBucket != null) {
+                return anyGroupIdBucket.exclusions;
+            }
+            return any.exclusions;
+        }
+
+        // dependency is matched by several buckets: merge them back into configuration order
+        ArrayList<Entry> entries = new ArrayList<>();
+        addEntries(entries, exactBucket);
+        addEntries(entries, anyArtifactIdBucket);
+        addEntries(entries, anyGroupIdBucket);
+        addEntries(entries, any);
+        entries.sort((e1, e2) -> Integer.compare(e1.order, e2.order));
+        ArrayList<Exclusion> result = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            result.add(entry.exclusion);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private static int count(Bucket bucket) {
+        return bucket != null ? 1 : 0;
+    }
+
+    private static void addEntries(List<Entry> entries, Bucket bucket) {
+        if (bucket != null) {
+            entries.addAll(bucket.entries);
+        }
+    }
+}
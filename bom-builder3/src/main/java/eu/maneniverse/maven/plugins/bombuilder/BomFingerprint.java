@@ -0,0 +1,89 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Digest over everything that goes into a generated BOM: effective mojo parameters, the BOM header model, the
+ * collected GAVs and the plugin version. If the fingerprint persisted next to the BOM equals the current one, the BOM
+ * does not need to be regenerated.
+ */
+class BomFingerprint {
+
+    private final MessageDigest digest;
+
+    BomFingerprint() {
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not supported", e);
+        }
+    }
+
+    /**
+     * Adds a named value to the fingerprint.
+     */
+    BomFingerprint add(String name, Object value) {
+        digest.update(name.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '=');
+        digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\n');
+        return this;
+    }
+
+    /**
+     * Returns a stream that feeds everything written to it into the fingerprint.
+     */
+    OutputStream asOutputStream() {
+        return new OutputStream() {
+            @Override
+            public void write(int b) {
+                digest.update((byte) b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                digest.update(b, off, len);
+            }
+        };
+    }
+
+    /**
+     * Finishes the fingerprint and returns it as hex string. This method may be invoked only once.
+     */
+    String toHex() {
+        byte[] bytes = digest.digest();
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns {@code true} if given file exists and contains the given fingerprint.
+     */
+    static boolean matches(Path fingerprintFile, String fingerprint) {
+        if (!Files.isRegularFile(fingerprintFile)) {
+            return false;
+        }
+        try {
+            return fingerprint.equals(new String(Files.readAllBytes(fingerprintFile), StandardCharsets.UTF_8).trim());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Persists the fingerprint into given file.
+     */
+    static void write(Path fingerprintFile, String fingerprint) throws IOException {
+        Files.createDirectories(fingerprintFile.getParent());
+        Files.write(fingerprintFile, fingerprint.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,150 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timing and size metrics of BOM generation phases: how long each phase took, and how many items went in and out of
+ * it. Phases recorded more than once (like collection of reactor projects) are summed up, hence phases running in
+ * parallel may report more time than elapsed. This class is thread safe.
+ */
+final class BomMetrics {
+
+    /**
+     * Metrics of one phase.
+     */
+    static final class Phase {
+        private final String name;
+
+        private long nanos;
+
+        private long in;
+
+        private long out;
+
+        private Phase(String name) {
+            this.name = name;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        long getNanos() {
+            return nanos;
+        }
+
+        long getIn() {
+            return in;
+        }
+
+        long getOut() {
+            return out;
+        }
+    }
+
+    private final long startNanos = System.nanoTime();
+
+    private final LinkedHashMap<String, Phase> phases = new LinkedHashMap<>();
+
+    /**
+     * Returns current time, to be passed to {@link #record(String, long, long, long)} once phase ends.
+     */
+    static long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Records a phase that started at given time and ends now.
+     */
+    void record(String name, long startNanos, long in, long out) {
+        add(name, System.nanoTime() - startNanos, in, out);
+    }
+
+    /**
+     * Adds given duration and counts to phase.
+     */
+    synchronized void add(String name, long nanos, long in, long out) {
+        Phase phase = phases.computeIfAbsent(name, Phase::new);
+        phase.nanos += nanos;
+        phase.in += in;
+        phase.out += out;
+    }
+
+    /**
+     * Returns the recorded phases, in order they were first recorded.
+     */
+    synchronized List<Phase> getPhases() {
+        return new ArrayList<>(phases.values());
+    }
+
+    /**
+     * Returns the time elapsed since these metrics were created.
+     */
+    long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Returns one line summary, like {@code 12 ms [init 1 ms, collect 8 ms (0 -> 120), ...]}.
+     */
+    String summary(long elapsedNanos) {
+        StringBuilder sb = new StringBuilder().append(millis(elapsedNanos)).append(" ms [");
+        List<Phase> recorded = getPhases();
+        for (int i = 0; i < recorded.size(); i++) {
+            Phase phase = recorded.get(i);
+            sb.append(i > 0 ? ", " : "").append(phase.name).append(' ').append(millis(phase.nanos)).append(" ms");
+            if (phase.in != 0 || phase.out != 0) {
+                sb.append(" (").append(phase.in).append(" -> ").append(phase.out).append(')');
+            }
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Writes the metrics as JSON into given file.
+     */
+    void writeJson(Path file, String bom, long elapsedNanos) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\n");
+        sb.append("  \"bom\": \"").append(escape(bom)).append("\",\n");
+        sb.append("  \"elapsedNanos\": ").append(elapsedNanos).append(",\n");
+        sb.append("  \"phases\": [");
+        List<Phase> recorded = getPhases();
+        for (int i = 0; i < recorded.size(); i++) {
+            Phase phase = recorded.get(i);
+            sb.append(i > 0 ? ",\n" : "\n");
+            sb.append("    {\"name\": \"").append(escape(phase.name)).append("\", \"nanos\": ").append(phase.nanos);
+            sb.append(", \"in\": ").append(phase.in).append(", \"out\": ").append(phase.out).append('}');
+        }
+        sb.append(recorded.isEmpty() ? "]\n" : "\n  ]\n");
+        sb.append("}\n");
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.write(file, sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    static String escape(String value) {
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -1,39 +1,77 @@
 package eu.maneniverse.maven.plugins.bombuilder;
 
-import static org.codehaus.plexus.util.StringUtils.trim;
-
 import java.io.File;
 import java.io.IOException;
-import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import org.apache.maven.RepositoryUtils;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.DefaultArtifact;
 import org.apache.maven.artifact.handler.ArtifactHandler;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.execution.MavenExecutionRequest;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.model.Dependency;
 import org.apache.maven.model.DependencyManagement;
 import org.apache.maven.model.Exclusion;
 import org.apache.maven.model.Model;
 import org.apache.maven.model.Parent;
+import org.apache.maven.model.building.DefaultModelBuildingRequest;
+import org.apache.maven.model.building.FileModelSource;
+import org.apache.maven.model.building.ModelBuilder;
+import org.apache.maven.model.building.ModelBuildingException;
+import org.apache.maven.model.building.ModelBuildingRequest;
 import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
+import org.apache.maven.model.resolution.ModelResolver;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
-import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.DefaultDependencyResolutionRequest;
+import org.apache.maven.project.DependencyResolutionException;
+import org.apache.maven.project.DependencyResolutionResult;
 import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuildingRequest;
+import org.apache.maven.project.ProjectDependenciesResolver;
+import org.apache.maven.project.ProjectModelResolver;
 import org.codehaus.plexus.util.StringUtils;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.ArtifactTypeRegistry;
+import org.eclipse.aether.graph.DependencyFilter;
+import org.eclipse.aether.impl.RemoteRepositoryManager;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.util.artifact.JavaScopes;
+import org.eclipse.aether.util.filter.DependencyFilterUtils;
 
 /**
  * Generates a BOM based on the project/reactor and dependencies. The generated BOM may be attached to project w/
@@ -46,12 +84,9 @@ import org.codehaus.plexus.util.StringUtils;
 @Mojo(
         name = "build-bom",
         defaultPhase = LifecyclePhase.GENERATE_RESOURCES,
-        requiresDependencyResolution = ResolutionScope.COMPILE,
         threadSafe = true)
 public class BuildBomMojo extends AbstractMojo {
 
-    private static final String VERSION_PROPERTY_PREFIX = "version.";
-
     /**
      * BOM parent GAV, in form for {@code G:A:V}. If specified, the GAV will be set as parent of generated BOM.
      * See also {@link #useProjectParentAsParent}.
@@ -133,6 +168,23 @@ public class BuildBomMojo extends AbstractMojo {
     @Parameter(property = "bom.usePropertiesForVersion")
     boolean usePropertiesForVersion;
 
+    /**
+     * How version properties (see {@link #addVersionProperties} and {@link #usePropertiesForVersion}) are named.
+     * Possible values and their meaning:
+     * <ul>
+     *     <li>GROUP - one property per groupId, like {@code version.org.slf4j}, if all artifacts in group have same
+     *     version, otherwise one property per artifact, like {@code version.org.slf4j.slf4j-api}.</li>
+     *     <li>ARTIFACT - one property per artifact.</li>
+     *     <li>SHARED - like GROUP, but groups having same version and a common groupId prefix share one property,
+     *     like {@code version.org.eclipse.jetty} for {@code org.eclipse.jetty} and
+     *     {@code org.eclipse.jetty.websocket}. Shrinks the properties of large BOMs.</li>
+     * </ul>
+     *
+     * @since 1.3.5
+     */
+    @Parameter(property = "bom.versionPropertyNaming", defaultValue = "GROUP")
+    VersionPropertyNaming versionPropertyNaming = VersionPropertyNaming.GROUP;
+
     /**
      * BOM output file. If relative, is resolved from {@code ${project.build}} directory.
      */
@@ -143,23 +195,50 @@ public class BuildBomMojo extends AbstractMojo {
      * Whether the BOM should include the dependency exclusions that
      * are present in the source POM.  By default, the exclusions
      * will not be copied to the new BOM.
+     * <p>
+     * The dependencyGroupId and dependencyArtifactId may be {@code *} to apply exclusion to any dependency in given
+     * group, or to given artifact in any group.
      */
     @Parameter
-    private List<BomExclusion> exclusions;
+    List<BomExclusion> exclusions;
 
     /**
-     * List of dependencies which should be excluded from BOM.
+     * List of dependencies which should be excluded from BOM. Both, groupId and artifactId may be {@code *} to match
+     * any value, or a glob pattern like {@code org.apache.*} or {@code maven-*}.
      */
     @Parameter
-    private List<DependencyExclusion> dependencyExclusions;
+    List<DependencyExclusion> dependencyExclusions;
 
     /**
-     * List of dependencies which should be included in BOM. If set, only included ones will be added to BOM.
+     * List of dependencies which should be included in BOM. If set, only included ones will be added to BOM. Patterns
+     * are same as for {@link #dependencyExclusions}.
      *
      * @since 1.2.1
      */
     @Parameter
-    private List<DependencyExclusion> dependencyInclusions;
+    List<DependencyExclusion> dependencyInclusions;
+
+    /**
+     * The BOMs to generate, all of them from the same collected artifacts. If set, only these BOMs are generated, and
+     * the parameters above ({@link #bomGroupId}, {@link #bomVersion}, {@link #bomName}, {@link #bomDescription},
+     * {@link #bomClassifier}, {@link #dependencyInclusions}, {@link #dependencyExclusions} and {@link #exclusions})
+     * provide defaults for values the definitions do not set. The BOMs are rendered in parallel.
+     *
+     * @since 1.3.5
+     */
+    @Parameter
+    List<BomDefinition> boms;
+
+    /**
+     * Imported BOMs to flatten into generated BOM: managed dependencies of BOMs imported (with {@code import} scope)
+     * by collected projects or their parents, matching any of these patterns, are added to BOM unless an artifact
+     * with same key is collected. Patterns are same as for {@link #dependencyExclusions}. Imported BOMs are resolved
+     * and built once per session, see {@link ImportedBoms}.
+     *
+     * @since 1.3.5
+     */
+    @Parameter
+    List<DependencyExclusion> importedBoms;
 
     /**
      * The scope of dependencies getting into BOM.
@@ -172,11 +251,75 @@ public class BuildBomMojo extends AbstractMojo {
         CURRENT_PROJECT
     }
 
+    /**
+     * The policy of choosing one of more collected versions of an artifact.
+     *
+     * @since 1.3.5
+     */
+    public enum ConflictPolicy {
+        HIGHEST,
+        NEAREST,
+        FIRST,
+        FAIL
+    }
+
+    /**
+     * How to handle BOM entries that are not resolvable, see {@link ResolvabilityChecker}.
+     *
+     * @since 1.3.5
+     */
+    public enum ResolvabilityCheck {
+        NONE,
+        WARN,
+        FAIL
+    }
+
+    /**
+     * The formats BOM is rendered in, besides POM, see {@link CatalogWriter}.
+     *
+     * @since 1.3.5
+     */
+    public enum CatalogFormat {
+        VERSION_CATALOG("versions.toml", "toml"),
+        GRADLE_MODULE("module", "module"),
+        JSON_INDEX("index.json", "json");
+
+        private final String suffix;
+
+        private final String extension;
+
+        CatalogFormat(String suffix, String extension) {
+            this.suffix = suffix;
+            this.extension = extension;
+        }
+
+        /**
+         * Returns the name of file of this format, next to given BOM output file.
+         */
+        String filename(String outputFilename) {
+            String base = outputFilename.endsWith(".xml")
+                    ? outputFilename.substring(0, outputFilename.length() - ".xml".length())
+                    : outputFilename;
+            return base + "." + suffix;
+        }
+    }
+
+    /**
+     * The naming of version properties.
+     *
+     * @since 1.3.5
+     */
+    public enum VersionPropertyNaming {
+        GROUP,
+        ARTIFACT,
+        SHARED
+    }
+
     /**
      * The projects of the reactor to be included in generated BOM. Possible values and their meaning:
      * <ul>
      *     <li>NONE - will result that no reactor project are included in BOM.</li>
-     *     <li>REACTOR - will include whole reactor into BOM. <em>Warning: if reactor is any way "limited", it will affect this mojo output!</em></li>
+     *     <li>REACTOR - will include whole reactor into BOM. <em>Warning: if reactor is any way "limited", it will affect this mojo output, unless {@link #reactorIndex} is used!</em></li>
      *     <li>CURRENT_PROJECT - will include only current project into BOM.</li>
      * </ul>
      *
@@ -191,7 +334,7 @@ public class BuildBomMojo extends AbstractMojo {
      * The direct dependencies to be included in generated BOM. Possible values and their meaning:
      * <ul>
      *     <li>NONE - will result that no direct dependencies are included in BOM.</li>
-     *     <li>REACTOR - will include whole reactor direct dependencies into BOM. <em>Warning: if reactor is any way "limited", it will affect this mojo output!</em></li>
+     *     <li>REACTOR - will include whole reactor direct dependencies into BOM. <em>Warning: if reactor is any way "limited", it will affect this mojo output, unless {@link #reactorIndex} is used!</em></li>
      *     <li>CURRENT_PROJECT - will include direct dependencies of only current project into BOM.</li>
      * </ul>
      *
@@ -204,7 +347,7 @@ public class BuildBomMojo extends AbstractMojo {
      * The transitive dependencies to be included in generated BOM. Possible values and their meaning:
      * <ul>
      *     <li>NONE - will result that no transitive dependencies are included in BOM.</li>
-     *     <li>REACTOR - will include whole reactor transitive dependencies into BOM. <em>Warning: if reactor is any way "limited", it will affect this mojo output!</em></li>
+     *     <li>REACTOR - will include whole reactor transitive dependencies into BOM, collected as one dependency graph of all reactor projects. <em>Warning: if reactor is any way "limited", it will affect this mojo output (not covered by {@link #reactorIndex})!</em></li>
      *     <li>CURRENT_PROJECT - will include transitive dependencies of only current project into BOM.</li>
      * </ul>
      *
@@ -213,6 +356,48 @@ public class BuildBomMojo extends AbstractMojo {
     @Parameter(property = "bom.transitiveDependencies", defaultValue = "NONE")
     Scope transitiveDependencies;
 
+    /**
+     * Whether dependencies of current project should be only collected (by reading their POMs), instead of being
+     * resolved. As BOM needs dependency coordinates only, this saves downloading of dependency artifacts. Direct
+     * dependencies are taken from project models.
+     * <p>
+     * Transitive dependencies of whole reactor ({@link #transitiveDependencies} REACTOR) are always collected at once,
+     * as one dependency graph of all reactor projects, regardless of this parameter: resolved artifacts of other
+     * reactor projects are not read, as those are being written by the threads building them (with {@code -T}).
+     *
+     * @since 1.3.5
+     */
+    @Parameter(property = "bom.collectOnly")
+    boolean collectOnly;
+
+    /**
+     * The scopes of transitive dependencies included in BOM. With {@link #collectOnly}, direct dependencies out of
+     * these scopes are not collected from either.
+     *
+     * @since 1.3.5
+     */
+    @Parameter(property = "bom.dependencyScopes", defaultValue = "compile,provided,runtime,system")
+    List<String> dependencyScopes =
+            Arrays.asList(JavaScopes.COMPILE, JavaScopes.PROVIDED, JavaScopes.RUNTIME, JavaScopes.SYSTEM);
+
+    /**
+     * Whether optional transitive dependencies (the optional direct dependencies of projects) are included in BOM.
+     *
+     * @since 1.3.5
+     */
+    @Parameter(property = "bom.includeOptional", defaultValue = "true")
+    boolean includeOptional = true;
+
+    /**
+     * The depth of deepest transitive dependencies included in BOM, where 1 means direct dependencies of projects,
+     * 2 their dependencies and so on. Values lower than 1 mean no limit. With {@link #collectOnly}, deeper dependencies
+     * are not collected at all.
+     *
+     * @since 1.3.5
+     */
+    @Parameter(property = "bom.maxDepth", defaultValue = "0")
+    int maxDepth;
+
     /**
      * Whether generated BOM contain reactor artifacts with packaging "pom" as well, when a {@link #reactorDependencies}
      * value is set that pulls in reactor artifacts.
@@ -220,6 +405,38 @@ public class BuildBomMojo extends AbstractMojo {
     @Parameter(property = "bom.includePoms")
     boolean includePoms;
 
+    /**
+     * How to handle artifacts collected in more than one version, as dependency management may contain only one
+     * version per {@code groupId:artifactId:type:classifier}. Possible values and their meaning:
+     * <ul>
+     *     <li>HIGHEST - the highest version wins.</li>
+     *     <li>NEAREST - the version nearest to reactor wins (reactor artifacts, then direct dependencies and so on),
+     *     and the highest one of equally near versions.</li>
+     *     <li>FIRST - the version encountered first wins, in reactor order.</li>
+     *     <li>FAIL - the build fails.</li>
+     * </ul>
+     * Resolved conflicts are reported.
+     *
+     * @since 1.3.5
+     */
+    @Parameter(property = "bom.conflictPolicy", defaultValue = "HIGHEST")
+    ConflictPolicy conflictPolicy = ConflictPolicy.HIGHEST;
+
+    /**
+     * Whether every entry of generated BOM is checked to be resolvable: to be an artifact of a reactor project, or to
+     * be present in local repository. Only local repository is looked up, nothing is resolved or downloaded, and
+     * entries are checked using {@link #parallelism} threads. Possible values and their meaning:
+     * <ul>
+     *     <li>NONE - entries are not checked.</li>
+     *     <li>WARN - unresolvable entries are reported.</li>
+     *     <li>FAIL - the build fails if there are unresolvable entries.</li>
+     * </ul>
+     *
+     * @since 1.3.5
+     */
+    @Parameter(property = "bom.resolvabilityCheck", defaultValue = "NONE")
+    ResolvabilityCheck resolvabilityCheck = ResolvabilityCheck.NONE;
+
     /**
      * Should the generated BOM use project parent, if applicable, as parent? Ignored if {@link #bomParentGav} specified.
      */
@@ -240,6 +457,80 @@ public class BuildBomMojo extends AbstractMojo {
     @Parameter(property = "bom.attach")
     boolean attach;
 
+    /**
+     * Whether to write the BOM in streaming manner: dependency management entries are written as they are iterated,
+     * without building the BOM model in memory. Output is same as without streaming, but memory use stays flat, which
+     * matters for BOMs with tens of thousands of entries.
+     *
+     * @since 1.3.5
+     */
+    @Parameter(property = "bom.streamingOutput")
+    boolean streamingOutput;
+
+    /**
+     * The number of threads used to collect artifacts of reactor projects, and to check BOM entries (see
+     * {@link #resolvabilityCheck}, capped at the number of available processors). Values greater than 1 make collection
+     * fan out across projects, which pays off in large reactors. The generated BOM is same, regardless of this value.
+     *
+     * @since 1.3.5
+     */
+    @Parameter(property = "bom.parallelism", defaultValue = "1")
+    int parallelism;
+
+    /**
+     * Additional formats to render each generated BOM in, from the same collected artifacts: VERSION_CATALOG (a
+     * Gradle version catalog), GRADLE_MODULE (Gradle module metadata of a platform) and JSON_INDEX (a compact JSON
+     * index of entries). The files are written next to BOM concurrently, named after {@link #outputFilename} (like
+     * {@code bom-pom.versions.toml}, {@code bom-pom.module} and {@code bom-pom.index.json}), and if {@link #attach} is
+     * set, they are attached with BOM classifier and extensions {@code toml}, {@code module} and {@code json}.
+     *
+     * @since 1.3.5
+     */
+    @Parameter(property = "bom.catalogFormats")
+    List<CatalogFormat> catalogFormats;
+
+    /**
+     * Whether the BOM output is reproducible: byte identical for same collected artifacts and configuration,
+     * regardless of machine and build. Entries are ordered by groupId, artifactId, type, classifier and version,
+     * properties are sorted by name, line endings and trailing whitespace are normalized, and modification time of
+     * written files is {@link #outputTimestamp}.
+     *
+     * @since 1.3.5
+     */
+    @Parameter(property = "bom.reproducible")
+    boolean reproducible;
+
+    /**
+     * Timestamp for reproducible output, either formatted as ISO 8601 {@code yyyy-MM-dd'T'HH:mm:ssXXX} or as an int
+     * representing seconds since the epoch. Used only if {@link #reproducible} is set.
+     *
+     * @since 1.3.5
+     */
+    @Parameter(defaultValue = "${project.build.outputTimestamp}")
+    String outputTimestamp;
+
+    /**
+     * Whether the index of whole reactor is persisted by full builds, and used by partial builds (limited with
+     * {@code -pl}, {@code -rf} and alike), so that BOMs made of REACTOR scoped artifacts stay complete when only some
+     * of reactor projects are built. The index holds artifacts and direct dependencies of reactor projects, and hash
+     * of their POM files: indexed projects whose POM changed since index was written are not used. Transitive
+     * dependencies of projects not being built are not indexed.
+     *
+     * @since 1.3.5
+     */
+    @Parameter(property = "bom.reactorIndex")
+    boolean reactorIndex;
+
+    /**
+     * The file of {@link #reactorIndex}.
+     *
+     * @since 1.3.5
+     */
+    @Parameter(
+            property = "bom.reactorIndexFile",
+            defaultValue = "${session.executionRootDirectory}/target/bom-builder/reactor-index.txt")
+    File reactorIndexFile;
+
     /**
      * The current session
      */
@@ -252,8 +543,100 @@ public class BuildBomMojo extends AbstractMojo {
     @Parameter(defaultValue = "${session.allProjects}")
     List<MavenProject> allProjects;
 
+    /**
+     * Whether the BOM should be generated incrementally. If enabled, a fingerprint of all inputs (collected artifacts,
+     * effective configuration and plugin version) is persisted next to the generated BOM, and if on next invocation
+     * the fingerprint is unchanged, the existing BOM is reused as is (is not rewritten).
+     *
+     * @since 1.3.5
+     */
+    @Parameter(property = "bom.incremental")
+    boolean incremental;
+
+    /**
+     * Whether collected artifacts and rendered BOMs are cached in memory for as long as the plugin class loader lives.
+     * With mvnd (or embedded Maven) plugin class loaders survive between builds, so repeated builds of a reactor
+     * whose POM files and user properties did not change reuse them, instead of collecting artifacts and rendering
+     * BOMs again. See {@link #daemonCacheSize} and {@link #daemonCacheMaxAge}.
+     * <p>
+     * Changes outside of reactor (like a changed SNAPSHOT parent or imported BOM, or changed local repository) are
+     * not noticed until entries expire, hence this is disabled by default.
+     *
+     * @since 1.3.5
+     */
+    @Parameter(property = "bom.daemonCache")
+    boolean daemonCache;
+
+    /**
+     * The maximum number of reactor and configuration states kept by {@link #daemonCache}, the least recently used
+     * ones are evicted.
+     *
+     * @since 1.3.5
+     */
+    @Parameter(property = "bom.daemonCacheSize", defaultValue = "16")
+    int daemonCacheSize = 16;
+
+    /**
+     * The maximum age, in minutes, of artifacts kept by {@link #daemonCache}. As remote dependencies (like snapshots
+     * or version ranges) may change without reactor changing, older ones are collected again.
+     *
+     * @since 1.3.5
+     */
+    @Parameter(property = "bom.daemonCacheMaxAge", defaultValue = "60")
+    int daemonCacheMaxAge = 60;
+
+    /**
+     * The plugin descriptor, used to make plugin version part of the fingerprint.
+     */
+    @Parameter(defaultValue = "${plugin}", readonly = true)
+    PluginDescriptor pluginDescriptor;
+
+    /**
+     * Resolves dependencies of current project, as this mojo does not require dependency resolution.
+     */
+    @Component
+    ProjectDependenciesResolver projectDependenciesResolver;
+
+    /**
+     * Collects dependencies, see {@link #collectOnly}.
+     */
+    @Component
+    RepositorySystem repositorySystem;
+
+    /**
+     * Builds the effective models of imported BOMs, see {@link #importedBoms}.
+     */
+    @Component
+    ModelBuilder modelBuilder;
+
+    /**
+     * Resolves parents and imports of imported BOMs, see {@link #importedBoms}.
+     */
+    @Component
+    RemoteRepositoryManager remoteRepositoryManager;
+
     private final PomDependencyVersionsTransformer versionsTransformer;
     private final ModelWriter modelWriter;
+    private final StreamingBomWriter streamingBomWriter = new StreamingBomWriter();
+
+    private BomMetrics metrics = new BomMetrics();
+
+    DaemonBomCache bomCache = DaemonBomCache.INSTANCE;
+    private DaemonBomCache.Entry daemonCacheEntry;
+
+    private DependencyMatcher inclusionMatcher;
+    private DependencyMatcher exclusionMatcher;
+    private BomExclusionIndex bomExclusionIndex;
+    private CollectionFilter collectionFilter;
+
+    /**
+     * The dependencies of current project resolved by this mojo, if Maven did not resolve them, see
+     * {@link #resolveCurrentProjectDependencies}. They are not set on the project, so that later mojos see it as Maven
+     * set it up.
+     */
+    private Set<Artifact> resolvedArtifacts;
+
+    private Set<Artifact> resolvedDependencyArtifacts;
 
     public BuildBomMojo() {
         this(new ModelWriter(), new PomDependencyVersionsTransformer());
@@ -267,67 +650,570 @@ public class BuildBomMojo extends AbstractMojo {
     @Override
     public void execute() throws MojoExecutionException {
         getLog().debug("Generating BOM");
-        Model model = initializeModel();
-        addDependencyManagement(model);
-        if (usePropertiesForVersion) {
-            model = versionsTransformer.transformPomModel(model);
-            getLog().debug("Dependencies versions converted to properties");
-        }
+        List<Bom> targets = initialize();
+        List<Coordinates> projectArtifacts = collectArtifacts(targets);
         MavenProject mavenProject = mavenSession.getCurrentProject();
-        Path outputFile = Paths.get(mavenProject.getBuild().getDirectory()).resolve(outputFilename);
-        modelWriter.writeModel(model, outputFile.toFile());
+        Path buildDirectory = Paths.get(mavenProject.getBuild().getDirectory());
+        List<List<Coordinates>> includedArtifacts = generate(targets, projectArtifacts, buildDirectory);
+        writeCatalogs(targets, includedArtifacts, buildDirectory);
+        long start = BomMetrics.start();
         if (attach) {
-            if (bomClassifier != null && !bomClassifier.trim().isEmpty()) {
-                getLog().debug("Attaching BOM w/ classifier: " + bomClassifier);
-                DefaultArtifact artifact = new DefaultArtifact(
-                        bomGroupId, bomArtifactId, bomVersion, null, "pom", bomClassifier, new PomArtifactHandler());
-                artifact.setFile(outputFile.toFile());
-                mavenProject.addAttachedArtifact(artifact);
-            } else if (Objects.equals("pom", mavenProject.getPackaging())
-                    && mavenProject.getModules().isEmpty()) {
-                getLog().debug("Replacing module POM w/ generated BOM");
-                mavenProject.setFile(outputFile.toFile());
-                // Maven 4 consumer POM compatibility: Maven 4's consumer POM transformer
-                // captures the source POM path eagerly (before mojos run) and lazily reads
-                // its content at install time. The setFile() call above has no effect on the
-                // consumer POM because its TransformedArtifact reads from the captured path.
-                //
-                // Fix: if Maven 4 has attached a consumer POM artifact (classifier="consumer"),
-                // replace it with a plain artifact pointing to our generated BOM.
-                // MavenProject.addAttachedArtifact() replaces existing artifacts with the same
-                // coordinates via indexOf+set on the internal mutable list, so this effectively
-                // swaps the TransformedArtifact for our BOM. At install time, Maven 4's
-                // remapInstallArtifacts() promotes the consumer-classified artifact to the main
-                // .pom, so consumers will see the generated BOM.
-                boolean consumerPomReplaced = false;
-                for (Artifact attached : mavenProject.getAttachedArtifacts()) {
-                    if ("consumer".equals(attached.getClassifier()) && "pom".equals(attached.getType())) {
-                        DefaultArtifact consumerArtifact = new DefaultArtifact(
-                                mavenProject.getGroupId(),
-                                mavenProject.getArtifactId(),
-                                mavenProject.getVersion(),
-                                null,
-                                "pom",
-                                "consumer",
-                                attached.getArtifactHandler());
-                        consumerArtifact.setFile(outputFile.toFile());
-                        mavenProject.addAttachedArtifact(consumerArtifact);
-                        consumerPomReplaced = true;
-                        getLog().debug("Replaced consumer POM artifact for Maven 4 compatibility");
-                        break;
-                    }
+            for (Bom bom : targets) {
+                attach(bom, buildDirectory.resolve(bom.outputFilename));
+                attachCatalogs(bom, buildDirectory);
+            }
+        }
+        metrics.record("attach", start, 0, 0);
+        reportMetrics(targets, buildDirectory.resolve(outputFilename + ".metrics.json"));
+    }
+
+    /**
+     * Collects the artifacts of given BOMs, or takes them from {@link #daemonCache}, if enabled and the reactor and
+     * configuration did not change since they were collected.
+     */
+    private List<Coordinates> collectArtifacts(List<Bom> targets) throws MojoExecutionException {
+        daemonCacheEntry = null;
+        String key = null;
+        if (daemonCache) {
+            long start = BomMetrics.start();
+            key = daemonCacheKey(targets);
+            daemonCacheEntry = bomCache.get(key, TimeUnit.MINUTES.toMillis(daemonCacheMaxAge));
+            metrics.record("daemonCache", start, 0, daemonCacheEntry != null ? 1 : 0);
+            getLog().debug("BOM daemon cache " + (daemonCacheEntry != null ? "hit" : "miss") + " (hits="
+                    + bomCache.getHits() + ", misses=" + bomCache.getMisses() + ", entries=" + bomCache.size() + ")");
+            if (daemonCacheEntry != null) {
+                return daemonCacheEntry.getArtifacts();
+            }
+        }
+        resolveCurrentProjectDependencies();
+        List<Coordinates> projectArtifacts = collectArtifacts();
+        if (key != null) {
+            daemonCacheEntry = bomCache.put(key, projectArtifacts, daemonCacheSize);
+        }
+        return projectArtifacts;
+    }
+
+    /**
+     * Returns the key of {@link #daemonCache} entry: fingerprint of configuration, of user properties and local
+     * repository, and of POM files of reactor projects, as artifacts of an unchanged reactor are same, unless remote
+     * dependencies changed.
+     */
+    private String daemonCacheKey(List<Bom> targets) throws MojoExecutionException {
+        BomFingerprint key = new BomFingerprint();
+        MavenProject mavenProject = mavenSession.getCurrentProject();
+        key.add("project", mavenProject.getId() + "@" + stamp(mavenProject.getFile()));
+        for (Bom bom : targets) {
+            addConfiguration(key, bom);
+            key.add("outputFilename", bom.outputFilename);
+        }
+        if (importedBoms != null) {
+            for (DependencyExclusion importedBom : importedBoms) {
+                key.add("importedBom", importedBom.getGroupId() + ":" + importedBom.getArtifactId());
+            }
+        }
+        for (MavenProject prj : allProjects) {
+            key.add("reactorProject", prj.getId() + "@" + stamp(prj.getFile()));
+        }
+        Properties userProperties = mavenSession.getUserProperties();
+        if (userProperties != null) {
+            for (String name : new TreeSet<>(userProperties.stringPropertyNames())) {
+                key.add("userProperty", name + "=" + userProperties.getProperty(name));
+            }
+        }
+        RepositorySystemSession repositorySession = mavenSession.getRepositorySession();
+        if (repositorySession != null && repositorySession.getLocalRepository() != null) {
+            key.add("localRepository", repositorySession.getLocalRepository().getBasedir());
+        }
+        if (reactorIndex && !isFullReactor()) {
+            key.add("reactorIndex", stamp(reactorIndexFile));
+        }
+        return key.toHex();
+    }
+
+    private static String stamp(File file) {
+        return file == null ? "none" : file.getAbsolutePath() + ":" + file.lastModified() + ":" + file.length();
+    }
+
+    /**
+     * Resets the metrics, compiles inclusions and exclusions, and returns the BOMs to generate.
+     */
+    List<Bom> initialize() throws MojoExecutionException {
+        metrics = new BomMetrics();
+        long start = BomMetrics.start();
+        inclusionMatcher = DependencyMatcher.compile(dependencyInclusions);
+        exclusionMatcher = DependencyMatcher.compile(dependencyExclusions);
+        bomExclusionIndex = BomExclusionIndex.compile(exclusions);
+        List<Bom> targets = targets();
+        collectionFilter = new CollectionFilter(targets);
+        metrics.record("init", start, 0, targets.size());
+        return targets;
+    }
+
+    /**
+     * Generates given BOMs from the collected artifacts, in parallel if there are more of them.
+     *
+     * @return the artifacts included in each of given BOMs, in order of BOMs
+     */
+    private List<List<Coordinates>> generate(List<Bom> targets, List<Coordinates> projectArtifacts, Path buildDirectory)
+            throws MojoExecutionException {
+        if (targets.size() == 1) {
+            return Collections.singletonList(
+                    generate(targets.get(0), projectArtifacts, buildDirectory.resolve(targets.get(0).outputFilename)));
+        }
+        getLog().debug("Generating " + targets.size() + " BOMs");
+        ForkJoinPool pool = new ForkJoinPool(Math.min(targets.size(), Runtime.getRuntime().availableProcessors()));
+        try {
+            List<Future<List<Coordinates>>> futures = new ArrayList<>(targets.size());
+            for (Bom bom : targets) {
+                futures.add(pool.submit(
+                        () -> generate(bom, projectArtifacts, buildDirectory.resolve(bom.outputFilename))));
+            }
+            List<List<Coordinates>> includedArtifacts = new ArrayList<>(targets.size());
+            for (Future<List<Coordinates>> future : futures) {
+                includedArtifacts.add(future.get());
+            }
+            return includedArtifacts;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while generating BOMs", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof MojoExecutionException) {
+                throw (MojoExecutionException) e.getCause();
+            }
+            throw new MojoExecutionException("Unable to generate BOMs", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Generates given BOM from the collected artifacts, unless its inputs did not change since it was generated.
+     *
+     * @return the artifacts included in BOM, filtered once for the writers, resolvability check and catalogs
+     */
+    private List<Coordinates> generate(Bom bom, List<Coordinates> projectArtifacts, Path outputFile)
+            throws MojoExecutionException {
+        List<Coordinates> includedArtifacts = includedArtifacts(bom, projectArtifacts);
+        // entries may have disappeared from local repository even if BOM is reused, hence they are always checked
+        checkResolvable(includedArtifacts);
+        Path fingerprintFile = outputFile.resolveSibling(outputFile.getFileName() + ".fingerprint");
+        String fingerprint = incremental ? fingerprint(bom, projectArtifacts) : null;
+        if (fingerprint != null
+                && Files.isRegularFile(outputFile)
+                && BomFingerprint.matches(fingerprintFile, fingerprint)) {
+            getLog().info("BOM inputs unchanged, reusing " + outputFile);
+            cacheBom(outputFile);
+        } else if (daemonCacheEntry != null && daemonCacheEntry.getBom(outputFile.toString()) != null) {
+            byte[] content = daemonCacheEntry.getBom(outputFile.toString());
+            long start = BomMetrics.start();
+            try {
+                logWritten(AtomicFileWriter.write(outputFile, outputStream -> outputStream.write(content)), outputFile);
+            } catch (IOException e) {
+                throw new MojoExecutionException("Unable to write pom file.", e);
+            }
+            writeFingerprint(fingerprintFile, fingerprint);
+            metrics.record("write", start, 0, 0);
+        } else if (streamingOutput) {
+            logWritten(writeStreaming(bom, includedArtifacts, outputFile), outputFile);
+            writeFingerprint(fingerprintFile, fingerprint);
+            cacheBom(outputFile);
+        } else {
+            // BOM is immutable, hence dependency management is added to a copy of its header model
+            Model model = bom.model.clone();
+            addDependencyManagement(bom, model, includedArtifacts);
+            if (usePropertiesForVersion) {
+                long start = BomMetrics.start();
+                model = versionsTransformer.transformPomModel(model, versionPropertyNaming);
+                metrics.record("properties", start, 0, 0);
+                getLog().debug("Dependencies versions converted to properties");
+            }
+            long start = BomMetrics.start();
+            if (reproducible) {
+                logWritten(
+                        modelWriter.writeModel(ReproducibleOutput.normalize(model), outputFile.toFile(), true),
+                        outputFile);
+            } else {
+                logWritten(modelWriter.writeModel(model, outputFile.toFile()), outputFile);
+            }
+            writeFingerprint(fingerprintFile, fingerprint);
+            metrics.record("write", start, 0, 0);
+            cacheBom(outputFile);
+        }
+        touch(outputFile);
+        return includedArtifacts;
+    }
+
+    /**
+     * Checks that given entries of BOM are resolvable, if requested with {@link #resolvabilityCheck}.
+     */
+    void checkResolvable(List<Coordinates> includedArtifacts) throws MojoExecutionException {
+        if (resolvabilityCheck == null || resolvabilityCheck == ResolvabilityCheck.NONE) {
+            return;
+        }
+        long start = BomMetrics.start();
+        int threads = Math.min(parallelism, Runtime.getRuntime().availableProcessors());
+        List<Coordinates> unresolvable;
+        try {
+            unresolvable = new ResolvabilityChecker(mavenSession.getRepositorySession(), allProjects)
+                    .unresolvable(includedArtifacts, threads);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while checking BOM entries", e);
+        } catch (ExecutionException e) {
+            throw new MojoExecutionException("Unable to check BOM entries", e.getCause());
+        }
+        metrics.record("resolvable", start, includedArtifacts.size(), unresolvable.size());
+        if (unresolvable.isEmpty()) {
+            getLog().debug("All " + includedArtifacts.size() + " BOM entries are resolvable");
+            return;
+        }
+        StringBuilder message = new StringBuilder()
+                .append(unresolvable.size())
+                .append(" BOM entries are neither reactor artifacts nor present in local repository:");
+        for (Coordinates artifact : unresolvable) {
+            message.append(System.lineSeparator()).append("  ").append(artifact.getId());
+        }
+        if (resolvabilityCheck == ResolvabilityCheck.FAIL) {
+            throw new MojoExecutionException(message.toString());
+        }
+        getLog().warn(message.toString());
+    }
+
+    /**
+     * Sets modification time of given file to {@link #outputTimestamp}, if output is {@link #reproducible}.
+     */
+    private void touch(Path file) throws MojoExecutionException {
+        if (reproducible) {
+            try {
+                ReproducibleOutput.touch(file, ReproducibleOutput.outputTimestamp(outputTimestamp));
+            } catch (IllegalArgumentException | IOException e) {
+                throw new MojoExecutionException("Unable to set modification time of " + file, e);
+            }
+        }
+    }
+
+    /**
+     * Keeps the content of BOM written into given file in {@link #daemonCache} entry, if there is one.
+     */
+    private void cacheBom(Path outputFile) throws MojoExecutionException {
+        if (daemonCacheEntry != null && Files.isRegularFile(outputFile)) {
+            try {
+                daemonCacheEntry.putBom(outputFile.toString(), Files.readAllBytes(outputFile));
+            } catch (IOException e) {
+                throw new MojoExecutionException("Unable to read pom file.", e);
+            }
+        }
+    }
+
+    /**
+     * Writes given BOMs, having given artifacts included, in each of {@link #catalogFormats}, all files concurrently.
+     */
+    private void writeCatalogs(List<Bom> targets, List<List<Coordinates>> includedArtifacts, Path buildDirectory)
+            throws MojoExecutionException {
+        if (catalogFormats == null || catalogFormats.isEmpty()) {
+            return;
+        }
+        long start = BomMetrics.start();
+        int files = targets.size() * catalogFormats.size();
+        ForkJoinPool pool = new ForkJoinPool(Math.min(files, Runtime.getRuntime().availableProcessors()));
+        try {
+            List<Future<Void>> futures = new ArrayList<>(files);
+            for (int i = 0; i < targets.size(); i++) {
+                Bom bom = targets.get(i);
+                List<Coordinates> artifacts = includedArtifacts.get(i);
+                for (CatalogFormat format : catalogFormats) {
+                    Path file = buildDirectory.resolve(format.filename(bom.outputFilename));
+                    futures.add(pool.submit(() -> {
+                        if (CatalogWriter.write(format, bom.groupId, bom.artifactId, bom.version, artifacts, file)) {
+                            getLog().info(format + " written to " + file);
+                        } else {
+                            getLog().info(format + " content unchanged, left " + file + " untouched");
+                        }
+                        touch(file);
+                        return null;
+                    }));
                 }
-                if (!consumerPomReplaced) {
-                    getLog().debug("No consumer POM artifact found (Maven 3 or consumer POM disabled)");
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while writing BOM catalogs", e);
+        } catch (ExecutionException e) {
+            throw new MojoExecutionException("Unable to write BOM catalogs.", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        metrics.record("catalogs", start, 0, files);
+    }
+
+    /**
+     * Attaches the files of {@link #catalogFormats} of given BOM, with BOM classifier.
+     */
+    private void attachCatalogs(Bom bom, Path buildDirectory) {
+        if (catalogFormats == null) {
+            return;
+        }
+        MavenProject mavenProject = mavenSession.getCurrentProject();
+        for (CatalogFormat format : catalogFormats) {
+            DefaultArtifactHandler handler = new DefaultArtifactHandler(format.extension);
+            handler.setExtension(format.extension);
+            handler.setLanguage("none");
+            DefaultArtifact artifact = new DefaultArtifact(
+                    bom.groupId,
+                    bom.artifactId,
+                    bom.version,
+                    null,
+                    format.extension,
+                    StringUtils.isBlank(bom.classifier) ? null : bom.classifier,
+                    handler);
+            artifact.setFile(buildDirectory.resolve(format.filename(bom.outputFilename)).toFile());
+            getLog().debug("Attaching " + format + " w/ extension: " + format.extension);
+            mavenProject.addAttachedArtifact(artifact);
+        }
+    }
+
+    /**
+     * Attaches the generated BOM to project, or replaces project POM with it, see {@link #attach}.
+     */
+    private void attach(Bom bom, Path outputFile) throws MojoExecutionException {
+        MavenProject mavenProject = mavenSession.getCurrentProject();
+        if (bom.classifier != null && !bom.classifier.trim().isEmpty()) {
+            getLog().debug("Attaching BOM w/ classifier: " + bom.classifier);
+            DefaultArtifact artifact = new DefaultArtifact(
+                    bom.groupId, bom.artifactId, bom.version, null, "pom", bom.classifier, new PomArtifactHandler());
+            artifact.setFile(outputFile.toFile());
+            mavenProject.addAttachedArtifact(artifact);
+        } else if (Objects.equals("pom", mavenProject.getPackaging())
+                && mavenProject.getModules().isEmpty()) {
+            getLog().debug("Replacing module POM w/ generated BOM");
+            mavenProject.setFile(outputFile.toFile());
+            // Maven 4 consumer POM compatibility: Maven 4's consumer POM transformer
+            // captures the source POM path eagerly (before mojos run) and lazily reads
+            // its content at install time. The setFile() call above has no effect on the
+            // consumer POM because its TransformedArtifact reads from the captured path.
+            //
+            // Fix: if Maven 4 has attached a consumer POM artifact (classifier="consumer"),
+            // replace it with a plain artifact pointing to our generated BOM.
+            // MavenProject.addAttachedArtifact() replaces existing artifacts with the same
+            // coordinates via indexOf+set on the internal mutable list, so this effectively
+            // swaps the TransformedArtifact for our BOM. At install time, Maven 4's
+            // remapInstallArtifacts() promotes the consumer-classified artifact to the main
+            // .pom, so consumers will see the generated BOM.
+            boolean consumerPomReplaced = false;
+            for (Artifact attached : mavenProject.getAttachedArtifacts()) {
+                if ("consumer".equals(attached.getClassifier()) && "pom".equals(attached.getType())) {
+                    DefaultArtifact consumerArtifact = new DefaultArtifact(
+                            mavenProject.getGroupId(),
+                            mavenProject.getArtifactId(),
+                            mavenProject.getVersion(),
+                            null,
+                            "pom",
+                            "consumer",
+                            attached.getArtifactHandler());
+                    consumerArtifact.setFile(outputFile.toFile());
+                    mavenProject.addAttachedArtifact(consumerArtifact);
+                    consumerPomReplaced = true;
+                    getLog().debug("Replaced consumer POM artifact for Maven 4 compatibility");
+                    break;
                 }
-            } else {
-                throw new MojoExecutionException(
-                        "Cannot replace project POM: invalid project (packaging=pom w/o modules)");
             }
+            if (!consumerPomReplaced) {
+                getLog().debug("No consumer POM artifact found (Maven 3 or consumer POM disabled)");
+            }
+        } else {
+            throw new MojoExecutionException(
+                    "Cannot replace project POM: invalid project (packaging=pom w/o modules)");
         }
     }
 
-    private Model initializeModel() throws MojoExecutionException {
+    /**
+     * Returns the BOMs to generate: the ones of {@link #boms}, or the one configured by parameters of this mojo.
+     */
+    private List<Bom> targets() throws MojoExecutionException {
+        if (boms == null || boms.isEmpty()) {
+            Bom bom = primaryBom();
+            bom.model = initializeModel(bom);
+            return Collections.singletonList(bom);
+        }
+        ArrayList<Bom> result = new ArrayList<>(boms.size());
+        Set<String> outputFilenames = new HashSet<>();
+        int replacing = 0;
+        for (BomDefinition definition : boms) {
+            if (StringUtils.isBlank(definition.getArtifactId())) {
+                throw new MojoExecutionException("BOM definition is missing artifactId");
+            }
+            Bom bom = new Bom(
+                    definition.getGroupId() != null ? definition.getGroupId() : bomGroupId,
+                    definition.getArtifactId(),
+                    definition.getVersion() != null ? definition.getVersion() : bomVersion,
+                    definition.getName() != null ? definition.getName() : bomName,
+                    definition.getDescription() != null ? definition.getDescription() : bomDescription,
+                    definition.getClassifier() != null ? definition.getClassifier() : bomClassifier,
+                    definition.getOutputFilename() != null
+                            ? definition.getOutputFilename()
+                            : definition.getArtifactId() + "-pom.xml",
+                    definition.getDependencyInclusions() != null
+                            ? definition.getDependencyInclusions()
+                            : dependencyInclusions,
+                    definition.getDependencyExclusions() != null
+                            ? definition.getDependencyExclusions()
+                            : dependencyExclusions,
+                    definition.getExclusions() != null ? definition.getExclusions() : exclusions);
+            if (!outputFilenames.add(bom.outputFilename)) {
+                throw new MojoExecutionException("BOM definitions must have distinct output files, but "
+                        + bom.outputFilename + " is used more than once");
+            }
+            if (StringUtils.isBlank(bom.classifier)) {
+                replacing++;
+            }
+            bom.model = initializeModel(bom);
+            result.add(bom);
+        }
+        if (attach && replacing > 1) {
+            throw new MojoExecutionException(
+                    "Only one attached BOM may replace project POM, other BOM definitions must have classifier");
+        }
+        return result;
+    }
+
+    /**
+     * Returns the BOM configured by parameters of this mojo, without its model.
+     */
+    private Bom primaryBom() throws MojoExecutionException {
+        return new Bom(
+                bomGroupId,
+                bomArtifactId,
+                bomVersion,
+                bomName,
+                bomDescription,
+                bomClassifier,
+                outputFilename,
+                dependencyInclusions,
+                dependencyExclusions,
+                exclusions,
+                inclusionMatcher(),
+                exclusionMatcher(),
+                bomExclusionIndex());
+    }
+
+    /**
+     * A BOM generated by this mojo, with its inclusions and exclusions compiled. Once the model (the BOM header,
+     * without dependency management) is initialized, instances are immutable and may be generated concurrently.
+     */
+    static final class Bom {
+        final String groupId;
+        final String artifactId;
+        final String version;
+        final String name;
+        final String description;
+        final String classifier;
+        final String outputFilename;
+        final List<DependencyExclusion> dependencyInclusions;
+        final List<DependencyExclusion> dependencyExclusions;
+        final List<BomExclusion> exclusions;
+        final DependencyMatcher inclusionMatcher;
+        final DependencyMatcher exclusionMatcher;
+        final BomExclusionIndex bomExclusionIndex;
+        Model model;
+
+        private Bom(
+                String groupId,
+                String artifactId,
+                String version,
+                String name,
+                String description,
+                String classifier,
+                String outputFilename,
+                List<DependencyExclusion> dependencyInclusions,
+                List<DependencyExclusion> dependencyExclusions,
+                List<BomExclusion> exclusions)
+                throws MojoExecutionException {
+            this(
+                    groupId,
+                    artifactId,
+                    version,
+                    name,
+                    description,
+                    classifier,
+                    outputFilename,
+                    dependencyInclusions,
+                    dependencyExclusions,
+                    exclusions,
+                    DependencyMatcher.compile(dependencyInclusions),
+                    DependencyMatcher.compile(dependencyExclusions),
+                    BomExclusionIndex.compile(exclusions));
+        }
+
+        private Bom(
+                String groupId,
+                String artifactId,
+                String version,
+                String name,
+                String description,
+                String classifier,
+                String outputFilename,
+                List<DependencyExclusion> dependencyInclusions,
+                List<DependencyExclusion> dependencyExclusions,
+                List<BomExclusion> exclusions,
+                DependencyMatcher inclusionMatcher,
+                DependencyMatcher exclusionMatcher,
+                BomExclusionIndex bomExclusionIndex) {
+            this.groupId = groupId;
+            this.artifactId = artifactId;
+            this.version = version;
+            this.name = name;
+            this.description = description;
+            this.classifier = classifier;
+            this.outputFilename = outputFilename;
+            this.dependencyInclusions = dependencyInclusions;
+            this.dependencyExclusions = dependencyExclusions;
+            this.exclusions = exclusions;
+            this.inclusionMatcher = inclusionMatcher;
+            this.exclusionMatcher = exclusionMatcher;
+            this.bomExclusionIndex = bomExclusionIndex;
+        }
+    }
+
+    /**
+     * Logs the metrics summary, and writes the metrics report as JSON into given file.
+     */
+    private void reportMetrics(List<Bom> targets, Path metricsFile) throws MojoExecutionException {
+        long elapsedNanos = metrics.getElapsedNanos();
+        StringBuilder gavs = new StringBuilder();
+        for (Bom bom : targets) {
+            gavs.append(gavs.length() > 0 ? ", " : "").append(bom.groupId).append(':').append(bom.artifactId);
+            gavs.append(':').append(bom.version);
+        }
+        getLog().info((targets.size() > 1 ? "BOMs " : "BOM ") + gavs + " generated in "
+                + metrics.summary(elapsedNanos));
+        try {
+            metrics.writeJson(metricsFile, gavs.toString(), elapsedNanos);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Unable to write BOM metrics file.", e);
+        }
+    }
+
+    private void logWritten(boolean written, Path outputFile) {
+        if (written) {
+            getLog().info("BOM written to " + outputFile);
+        } else {
+            getLog().info("BOM content unchanged, left " + outputFile + " untouched");
+        }
+    }
+
+    private void writeFingerprint(Path fingerprintFile, String fingerprint) throws MojoExecutionException {
+        if (fingerprint != null) {
+            try {
+                BomFingerprint.write(fingerprintFile, fingerprint);
+            } catch (IOException e) {
+                throw new MojoExecutionException("Unable to write BOM fingerprint file.", e);
+            }
+        }
+    }
+
+    private Model initializeModel(Bom bom) throws MojoExecutionException {
         MavenProject mavenProject = mavenSession.getCurrentProject();
         Model pomModel = new Model();
         pomModel.setModelVersion("4.0.0");
@@ -349,22 +1235,22 @@ public class BuildBomMojo extends AbstractMojo {
             pomModel.getParent().setRelativePath(null);
         }
 
-        pomModel.setGroupId(bomGroupId);
-        pomModel.setArtifactId(bomArtifactId);
-        pomModel.setVersion(bomVersion);
+        pomModel.setGroupId(bom.groupId);
+        pomModel.setArtifactId(bom.artifactId);
+        pomModel.setVersion(bom.version);
         pomModel.setPackaging("pom");
 
-        if (bomName != null) {
-            pomModel.setName(bomName);
+        if (bom.name != null) {
+            pomModel.setName(bom.name);
         }
-        if (bomDescription != null) {
-            pomModel.setDescription(bomDescription);
+        if (bom.description != null) {
+            pomModel.setDescription(bom.description);
         }
 
         // if attached (maybe even published) and not using parent and will be standalone POM: inherit required things
         if (attach
                 && !useProjectParentAsParent
-                && (bomClassifier == null || bomClassifier.trim().isEmpty())) {
+                && (bom.classifier == null || bom.classifier.trim().isEmpty())) {
             if ("top".equals(inheritFrom)) {
                 mavenProject = mavenSession.getTopLevelProject();
             } else if ("this".equals(inheritFrom)) {
@@ -374,165 +1260,866 @@ public class BuildBomMojo extends AbstractMojo {
                         + "\"; Supported values are \"top\" (default) and \"this\"");
             }
 
-            if (bomName == null) {
+            if (bom.name == null) {
                 pomModel.setName(mavenProject.getModel().getName());
             }
-            if (bomDescription == null) {
+            if (bom.description == null) {
                 pomModel.setDescription(mavenProject.getModel().getDescription());
             }
             pomModel.setUrl(mavenProject.getModel().getUrl());
-            pomModel.setLicenses(mavenProject.getModel().getLicenses());
-            pomModel.setDevelopers(mavenProject.getModel().getDevelopers());
-            pomModel.setScm(mavenProject.getModel().getScm());
+            // deep copies, so BOM model does not share (possibly later modified) parts with reactor models
+            Model inherited = mavenProject.getModel().clone();
+            pomModel.setLicenses(inherited.getLicenses());
+            pomModel.setDevelopers(inherited.getDevelopers());
+            pomModel.setScm(inherited.getScm());
         }
 
         return pomModel;
     }
 
-    private void addDependencyManagement(Model pomModel) {
+    /**
+     * Resolves the compile scoped dependencies of current project, if any dependencies are to be included in BOM and
+     * Maven did not resolve them. This mojo does not require dependency resolution, so that BOMs made of reactor
+     * projects only are generated without resolving (and downloading) anything. The resolved dependencies are kept by
+     * this mojo, no project is written to, see {@link #currentProjectArtifacts}.
+     */
+    void resolveCurrentProjectDependencies() throws MojoExecutionException {
+        resolvedArtifacts = null;
+        resolvedDependencyArtifacts = null;
         MavenProject mavenProject = mavenSession.getCurrentProject();
-        HashSet<Artifact> projectArtifactsSet = new HashSet<>();
-        if (reactorDependencies == Scope.REACTOR) {
-            for (MavenProject prj : allProjects) {
-                if (includePoms || !"pom".equals(prj.getArtifact().getType())) {
-                    projectArtifactsSet.add(prj.getArtifact());
-                }
+        boolean dependenciesNeeded = directDependencies == Scope.REACTOR
+                || directDependencies == Scope.CURRENT_PROJECT
+                || transitiveDependencies == Scope.CURRENT_PROJECT;
+        if (collectOnly || !dependenciesNeeded || mavenProject.getDependencyArtifacts() != null) {
+            return;
+        }
+        long start = BomMetrics.start();
+        getLog().debug("Resolving dependencies of " + mavenProject.getId());
+        DependencyFilter filter = DependencyFilterUtils.classpathFilter(JavaScopes.COMPILE);
+        DependencyResolutionResult result;
+        try {
+            result = projectDependenciesResolver.resolve(
+                    new DefaultDependencyResolutionRequest(mavenProject, mavenSession.getRepositorySession())
+                            .setResolutionFilter(filter));
+        } catch (DependencyResolutionException e) {
+            throw new MojoExecutionException("Unable to resolve dependencies of " + mavenProject.getId(), e);
+        }
+        Set<Artifact> artifacts = new LinkedHashSet<>();
+        if (result.getDependencyGraph() != null) {
+            RepositoryUtils.toArtifacts(
+                    artifacts,
+                    result.getDependencyGraph().getChildren(),
+                    Collections.singletonList(mavenProject.getArtifact().getId()),
+                    filter);
+        }
+        Set<Artifact> dependencyArtifacts = new LinkedHashSet<>();
+        for (Artifact artifact : artifacts) {
+            // trail is the project and the artifact itself
+            if (artifact.getDependencyTrail().size() == 2) {
+                dependencyArtifacts.add(artifact);
             }
-        } else if (reactorDependencies == Scope.CURRENT_PROJECT
-                && (includePoms || !"pom".equals(mavenProject.getArtifact().getType()))) {
-            projectArtifactsSet.add(mavenProject.getArtifact());
         }
+        resolvedArtifacts = Collections.unmodifiableSet(artifacts);
+        resolvedDependencyArtifacts = Collections.unmodifiableSet(dependencyArtifacts);
+        metrics.record("resolve", start, 0, artifacts.size());
+    }
 
-        if (directDependencies == Scope.REACTOR) {
-            for (MavenProject prj : allProjects) {
-                if (includePoms || !"pom".equals(prj.getArtifact().getType())) {
-                    projectArtifactsSet.addAll(prj.getDependencyArtifacts());
+    /**
+     * Returns the resolved dependencies of current project: the ones resolved by this mojo, or by Maven.
+     */
+    private Collection<Artifact> currentProjectArtifacts(MavenProject mavenProject) {
+        return resolvedArtifacts != null ? resolvedArtifacts : mavenProject.getArtifacts();
+    }
+
+    /**
+     * Collects the artifacts of all requested scopes, that pass the inclusions and exclusions of at least one BOM to
+     * generate. Artifacts are filtered as they are collected, so that deduplication and sorting cost depends on the
+     * size of generated BOMs, not on the number of encountered artifacts.
+     */
+    List<Coordinates> collectArtifacts() throws MojoExecutionException {
+        MavenProject mavenProject = mavenSession.getCurrentProject();
+        CollectionFilter filter = collectionFilter();
+        ArtifactCollector collector = new ArtifactCollector(filter);
+        long start = BomMetrics.start();
+        if (filter.rejectsAll()) {
+            getLog().debug("Dependency exclusions exclude all artifacts, nothing to collect");
+        } else if (reactorDependencies == Scope.REACTOR
+                || directDependencies == Scope.REACTOR
+                || transitiveDependencies == Scope.REACTOR) {
+            String key = "includePoms=" + includePoms + ",reactorDependencies=" + (reactorDependencies == Scope.REACTOR)
+                    + ",directDependencies=" + (directDependencies == Scope.REACTOR)
+                    + ",transitiveDependencies=" + (transitiveDependencies == Scope.REACTOR)
+                    + ",collectOnly=" + collectOnly + ",dependencyScopes=" + new TreeSet<>(dependencyScopes)
+                    + ",includeOptional=" + includeOptional + ",maxDepth=" + maxDepth + ",filter=" + filter.key
+                    + ",reactorIndex=" + (reactorIndex ? reactorIndexFile.getAbsolutePath() : "none");
+            List<Coordinates> reactorArtifacts = ReactorArtifacts.forSession(mavenSession.getRepositorySession(), key)
+                    .get(this::reactorStamp, () -> collectReactorArtifacts(filter));
+            collector.source(0).addCollected(reactorArtifacts);
+            metrics.record("collect.reactor", start, allProjects.size(), reactorArtifacts.size());
+        }
+        if (!filter.rejectsAll()
+                && (reactorDependencies == Scope.CURRENT_PROJECT
+                        || directDependencies == Scope.CURRENT_PROJECT
+                        || transitiveDependencies == Scope.CURRENT_PROJECT)) {
+            collectCurrentProject(mavenProject, collector.source(1));
+        }
+        if (!filter.rejectsAll() && importedBoms != null && !importedBoms.isEmpty()) {
+            collectImportedBoms(collector.toOrderedList(), collector.source(2));
+        }
+        int collected = collector.size();
+        metrics.record("collect", start, 0, collected);
+
+        // Sort the artifacts for readability
+        start = BomMetrics.start();
+        List<ArtifactCollector.Conflict> conflicts = new ArrayList<>();
+        List<Coordinates> artifacts = reproducible
+                ? collector.toSortedList(conflictPolicy, conflicts, ReproducibleOutput.ARTIFACT_ORDER)
+                : collector.toSortedList(conflictPolicy, conflicts);
+        metrics.record("sort", start, collected, artifacts.size());
+        if (!conflicts.isEmpty()) {
+            if (conflictPolicy == ConflictPolicy.FAIL) {
+                StringBuilder message = new StringBuilder("Artifacts collected in more than one version:");
+                for (ArtifactCollector.Conflict conflict : conflicts) {
+                    message.append(System.lineSeparator()).append("  ").append(conflict);
                 }
+                throw new MojoExecutionException(message.toString());
+            }
+            getLog().info("Resolved " + conflicts.size() + " version conflicts using " + conflictPolicy + " policy:");
+            for (ArtifactCollector.Conflict conflict : conflicts) {
+                getLog().info("  " + conflict);
             }
-        } else if (directDependencies == Scope.CURRENT_PROJECT) {
-            projectArtifactsSet.addAll(mavenProject.getDependencyArtifacts());
         }
+        return artifacts;
+    }
 
+    /**
+     * Collects the union of artifacts requested with {@link Scope#REACTOR} from all reactor projects, in reactor order.
+     */
+    private List<Coordinates> collectReactorArtifacts(CollectionFilter filter) throws MojoExecutionException {
+        ArtifactCollector collector = new ArtifactCollector(filter);
+        if (parallelism > 1 && allProjects.size() > 1) {
+            getLog().debug("Collecting artifacts of " + allProjects.size() + " projects using " + parallelism
+                    + " threads");
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                pool.submit(() -> IntStream.range(0, allProjects.size())
+                                .parallel()
+                                .forEach(i -> collectReactorProject(allProjects.get(i), collector.source(i))))
+                        .get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new MojoExecutionException("Interrupted while collecting artifacts", e);
+            } catch (ExecutionException e) {
+                throw new MojoExecutionException("Unable to collect artifacts", e.getCause());
+            } finally {
+                pool.shutdown();
+            }
+        } else {
+            for (int i = 0; i < allProjects.size(); i++) {
+                collectReactorProject(allProjects.get(i), collector.source(i));
+            }
+        }
         if (transitiveDependencies == Scope.REACTOR) {
+            long start = BomMetrics.start();
+            List<MavenProject> projects = new ArrayList<>(allProjects.size());
             for (MavenProject prj : allProjects) {
                 if (includePoms || !"pom".equals(prj.getArtifact().getType())) {
-                    prj.setArtifactFilter(a -> !"test".equals(a.getScope()));
-                    projectArtifactsSet.addAll(prj.getArtifacts());
+                    projects.add(prj);
                 }
             }
-        } else if (transitiveDependencies == Scope.CURRENT_PROJECT) {
-            mavenProject.setArtifactFilter(a -> !"test".equals(a.getScope()));
-            projectArtifactsSet.addAll(mavenProject.getArtifacts());
+            List<Artifact> artifacts = dependencyGraphCollector().collect(projects);
+            collector.source(allProjects.size()).addAll(artifacts);
+            metrics.record("collect.transitiveDependencies", start, projects.size(), artifacts.size());
         }
+        getLog().debug("Collected artifacts of " + allProjects.size() + " reactor projects");
+        if (reactorIndex) {
+            useReactorIndex(collector.source(allProjects.size() + 1));
+        }
+        return Collections.unmodifiableList(collector.toOrderedList());
+    }
 
-        // Sort the artifacts for readability
-        ArrayList<Artifact> projectArtifacts = new ArrayList<>(projectArtifactsSet);
-        projectArtifacts.sort(Comparator.naturalOrder());
+    /**
+     * Writes the {@link #reactorIndex} if whole reactor is built, or collects the artifacts of indexed projects not
+     * being built otherwise.
+     */
+    private void useReactorIndex(ArtifactCollector.Source collector) throws MojoExecutionException {
+        long start = BomMetrics.start();
+        Path indexFile = reactorIndexFile.toPath();
+        Path root = Paths.get(mavenSession.getExecutionRootDirectory());
+        try {
+            if (isFullReactor()) {
+                ReactorIndex index = ReactorIndex.of(allProjects, root);
+                if (index.write(indexFile)) {
+                    getLog().debug("Reactor index written to " + indexFile);
+                }
+                metrics.record("reactorIndex.write", start, index.getModules().size(), 0);
+                return;
+            }
+            ReactorIndex index = ReactorIndex.read(indexFile);
+            if (index == null) {
+                getLog().warn("Partial reactor build without reactor index " + indexFile
+                        + ", BOM may be incomplete; build whole reactor to create the index");
+                return;
+            }
+            Set<String> built = new HashSet<>();
+            for (MavenProject prj : mavenSession.getProjects()) {
+                built.add(prj.getGroupId() + ":" + prj.getArtifactId());
+            }
+            int used = 0;
+            int collected = 0;
+            for (ReactorIndex.Module module : index.getModules()) {
+                if (built.contains(module.getKey())) {
+                    continue;
+                }
+                if (module.isStale(root)) {
+                    getLog().warn("Reactor index entry of " + module.getKey()
+                            + " is stale (POM changed since index was written), BOM may be incomplete");
+                    continue;
+                }
+                if (!includePoms && "pom".equals(module.getType())) {
+                    continue;
+                }
+                if (reactorDependencies == Scope.REACTOR) {
+                    collector.add(module.getArtifact());
+                    collected++;
+                }
+                if (directDependencies == Scope.REACTOR) {
+                    List<Artifact> artifacts = module.getDirectDependencies();
+                    collector.addAll(artifacts);
+                    collected += artifacts.size();
+                }
+                used++;
+            }
+            getLog().debug("Used " + used + " reactor index entries of projects not being built");
+            metrics.record("reactorIndex.read", start, used, collected);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Unable to use reactor index " + indexFile, e);
+        }
+    }
 
-        LinkedHashMap<String, String> versionProperties = new LinkedHashMap<>();
-        DependencyManagement depMgmt = new DependencyManagement();
-        for (Artifact artifact : projectArtifacts) {
-            if (!isIncludedDependency(artifact)) {
-                continue;
+    /**
+     * Returns {@code true} if the reactor is not limited by project selection, exclusion, resuming or non recursive
+     * build, hence reactor index written from it is complete.
+     */
+    private boolean isFullReactor() {
+        MavenExecutionRequest request = mavenSession.getRequest();
+        return request.isRecursive()
+                && isEmpty(request.getSelectedProjects())
+                && isEmpty(request.getExcludedProjects())
+                && (request.getResumeFrom() == null || request.getResumeFrom().isEmpty())
+                && mavenSession.getProjects().size() == allProjects.size();
+    }
+
+    private static boolean isEmpty(Collection<?> collection) {
+        return collection == null || collection.isEmpty();
+    }
+
+    /**
+     * Returns the stamp of reactor state the reactor artifacts are collected from: the projects and their dependency
+     * artifact sets, that are replaced when project dependencies are resolved.
+     */
+    private List<Object> reactorStamp() {
+        ArrayList<Object> stamp = new ArrayList<>(allProjects.size() * 2);
+        for (MavenProject prj : allProjects) {
+            stamp.add(prj);
+            if (directDependencies == Scope.REACTOR && !collectOnly) {
+                stamp.add(prj.getDependencyArtifacts());
+            }
+        }
+        return stamp;
+    }
+
+    /**
+     * Collects the artifacts of a reactor project, that are requested with {@link Scope#REACTOR}.
+     */
+    private void collectReactorProject(MavenProject prj, ArtifactCollector.Source collector) {
+        if (!includePoms && "pom".equals(prj.getArtifact().getType())) {
+            return;
+        }
+        if (reactorDependencies == Scope.REACTOR) {
+            long start = BomMetrics.start();
+            collector.add(prj.getArtifact());
+            metrics.record("collect.reactorDependencies", start, 1, 1);
+        }
+        if (directDependencies == Scope.REACTOR) {
+            long start = BomMetrics.start();
+            Collection<Artifact> artifacts = directDependencies(prj);
+            collector.addAll(artifacts);
+            metrics.record("collect.directDependencies", start, 1, size(artifacts));
+        }
+    }
+
+    /**
+     * Collects the artifacts of current project, that are requested with {@link Scope#CURRENT_PROJECT}.
+     */
+    private void collectCurrentProject(MavenProject mavenProject, ArtifactCollector.Source collector)
+            throws MojoExecutionException {
+        if (reactorDependencies == Scope.CURRENT_PROJECT
+                && (includePoms || !"pom".equals(mavenProject.getArtifact().getType()))) {
+            long start = BomMetrics.start();
+            collector.add(mavenProject.getArtifact());
+            metrics.record("collect.reactorDependencies", start, 1, 1);
+        }
+        if (directDependencies == Scope.CURRENT_PROJECT) {
+            long start = BomMetrics.start();
+            Collection<Artifact> artifacts = directDependencies(mavenProject);
+            collector.addAll(artifacts);
+            metrics.record("collect.directDependencies", start, 1, size(artifacts));
+        }
+        if (transitiveDependencies == Scope.CURRENT_PROJECT) {
+            long start = BomMetrics.start();
+            Collection<Artifact> artifacts;
+            if (collectOnly) {
+                artifacts = dependencyGraphCollector().collect(Collections.singletonList(mavenProject));
+            } else {
+                artifacts = filter(currentProjectArtifacts(mavenProject), this::includesTransitive);
+            }
+            collector.addAll(artifacts);
+            metrics.record("collect.transitiveDependencies", start, 1, size(artifacts));
+        }
+    }
+
+    /**
+     * Returns the direct dependencies of project: the resolved ones, or the ones of project model with
+     * {@link #collectOnly}.
+     */
+    private Collection<Artifact> directDependencies(MavenProject prj) {
+        if (collectOnly) {
+            return dependencyGraphCollector().directDependencies(prj);
+        } else if (resolvedDependencyArtifacts != null && prj == mavenSession.getCurrentProject()) {
+            return resolvedDependencyArtifacts;
+        }
+        // replaced (never modified) by Maven when resolving project, hence safe to copy while project is building
+        Set<Artifact> artifacts = prj.getDependencyArtifacts();
+        return artifacts != null ? new ArrayList<>(artifacts) : Collections.emptyList();
+    }
+
+    private static List<Artifact> filter(Collection<Artifact> artifacts, Predicate<Artifact> filter) {
+        ArrayList<Artifact> result = new ArrayList<>(artifacts.size());
+        for (Artifact artifact : artifacts) {
+            if (filter.test(artifact)) {
+                result.add(artifact);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Whether resolved transitive dependency is to be included in BOM, see {@link #dependencyScopes},
+     * {@link #includeOptional} and {@link #maxDepth}.
+     */
+    private boolean includesTransitive(Artifact artifact) {
+        String scope = artifact.getScope() == null ? Artifact.SCOPE_COMPILE : artifact.getScope();
+        if (!dependencyScopes.contains(scope) || (!includeOptional && artifact.isOptional())) {
+            return false;
+        }
+        // trail is the project, dependencies leading to the artifact and the artifact itself
+        List<String> trail = artifact.getDependencyTrail();
+        return maxDepth < 1 || trail == null || trail.size() - 1 <= maxDepth;
+    }
+
+    /**
+     * Collects the managed dependencies of imported BOMs matching {@link #importedBoms}, having keys other than the
+     * given collected artifacts.
+     */
+    private void collectImportedBoms(List<Coordinates> collected, ArtifactCollector.Source collector)
+            throws MojoExecutionException {
+        long start = BomMetrics.start();
+        DependencyMatcher matcher = DependencyMatcher.compile(importedBoms);
+        // imported BOM key -> importing project, whose repositories are used to resolve the BOM
+        Map<String, MavenProject> imports = new LinkedHashMap<>();
+        Map<String, Dependency> importDependencies = new HashMap<>();
+        for (MavenProject project : importingProjects()) {
+            for (Dependency dependency : declaredDependencyManagement(project)) {
+                if ("import".equals(dependency.getScope())
+                        && "pom".equals(dependency.getType())
+                        && matcher.matches(dependency.getGroupId(), dependency.getArtifactId())) {
+                    String key =
+                            dependency.getGroupId() + ":" + dependency.getArtifactId() + ":" + dependency.getVersion();
+                    if (imports.putIfAbsent(key, project) == null) {
+                        importDependencies.put(key, dependency);
+                    }
+                }
             }
-            if (isExcludedDependency(artifact)) {
-                continue;
+        }
+        Set<String> keys = new HashSet<>();
+        for (Coordinates artifact : collected) {
+            keys.add(artifact.getKey());
+        }
+        ImportedBoms cache = ImportedBoms.forSession(mavenSession.getRepositorySession());
+        ArtifactTypeRegistry stereotypes = mavenSession.getRepositorySession().getArtifactTypeRegistry();
+        int added = 0;
+        for (Map.Entry<String, MavenProject> entry : imports.entrySet()) {
+            String key = entry.getKey();
+            getLog().debug("Flattening imported BOM " + key);
+            List<Dependency> managed =
+                    cache.get(key, () -> loadImportedBom(entry.getValue(), key, importDependencies.get(key)));
+            for (Dependency dependency : managed) {
+                Artifact artifact = RepositoryUtils.toArtifact(
+                        RepositoryUtils.toDependency(dependency, stereotypes).getArtifact());
+                if (keys.add(ArtifactCollector.key(artifact))) {
+                    collector.add(artifact);
+                    added++;
+                }
             }
+        }
+        getLog().debug("Imported BOM cache (hits=" + cache.hits() + ", misses=" + cache.misses() + ", entries="
+                + cache.size() + ")");
+        metrics.record("collect.importedBoms", start, imports.size(), added);
+    }
+
+    /**
+     * Returns the projects whose imported BOMs are flattened: the projects artifacts are collected from.
+     */
+    private Set<MavenProject> importingProjects() {
+        Set<MavenProject> projects = new LinkedHashSet<>();
+        if (reactorDependencies == Scope.REACTOR
+                || directDependencies == Scope.REACTOR
+                || transitiveDependencies == Scope.REACTOR) {
+            projects.addAll(allProjects);
+        }
+        if (reactorDependencies == Scope.CURRENT_PROJECT
+                || directDependencies == Scope.CURRENT_PROJECT
+                || transitiveDependencies == Scope.CURRENT_PROJECT) {
+            projects.add(mavenSession.getCurrentProject());
+        }
+        return projects;
+    }
 
-            String versionPropertyName = VERSION_PROPERTY_PREFIX + artifact.getGroupId();
-            if (versionProperties.get(versionPropertyName) != null
-                    && !versionProperties.get(versionPropertyName).equals(artifact.getVersion())) {
-                versionPropertyName = VERSION_PROPERTY_PREFIX + artifact.getGroupId() + "." + artifact.getArtifactId();
+    /**
+     * Returns the managed dependencies declared by project and its parents, interpolated by the model builder, but
+     * with imports not replaced yet (as model is built up to the first phase only).
+     */
+    private List<Dependency> declaredDependencyManagement(MavenProject project) throws MojoExecutionException {
+        ModelBuildingRequest request = new DefaultModelBuildingRequest()
+                .setValidationLevel(ModelBuildingRequest.VALIDATION_LEVEL_MINIMAL)
+                .setProcessPlugins(false)
+                .setTwoPhaseBuilding(true)
+                .setSystemProperties(mavenSession.getSystemProperties())
+                .setUserProperties(mavenSession.getUserProperties())
+                .setActiveProfileIds(mavenSession.getRequest().getActiveProfiles())
+                .setInactiveProfileIds(mavenSession.getRequest().getInactiveProfiles())
+                .setRawModel(project.getOriginalModel().clone())
+                .setPomFile(project.getFile())
+                .setModelResolver(modelResolver(remoteRepositories(project)));
+        try {
+            DependencyManagement depMgmt =
+                    modelBuilder.build(request).getEffectiveModel().getDependencyManagement();
+            return depMgmt != null ? depMgmt.getDependencies() : Collections.emptyList();
+        } catch (ModelBuildingException e) {
+            throw new MojoExecutionException("Unable to build model of " + project.getId(), e);
+        }
+    }
+
+    /**
+     * Returns the managed dependencies of effective model of imported BOM: the one of reactor project, if the BOM is
+     * part of reactor, or the one built from BOM resolved from repositories of importing project.
+     */
+    private List<Dependency> loadImportedBom(MavenProject project, String key, Dependency dependency)
+            throws MojoExecutionException {
+        for (MavenProject prj : allProjects) {
+            if (dependency.getGroupId().equals(prj.getGroupId())
+                    && dependency.getArtifactId().equals(prj.getArtifactId())
+                    && dependency.getVersion().equals(prj.getVersion())) {
+                return prj.getDependencyManagement() != null
+                        ? new ArrayList<>(prj.getDependencyManagement().getDependencies())
+                        : new ArrayList<>();
             }
-            versionProperties.put(versionPropertyName, artifact.getVersion());
+        }
+        RepositorySystemSession session = mavenSession.getRepositorySession();
+        List<RemoteRepository> repositories = remoteRepositories(project);
+        File pomFile;
+        try {
+            pomFile = repositorySystem
+                    .resolveArtifact(
+                            session,
+                            new ArtifactRequest(
+                                    new org.eclipse.aether.artifact.DefaultArtifact(
+                                            dependency.getGroupId(),
+                                            dependency.getArtifactId(),
+                                            "",
+                                            "pom",
+                                            dependency.getVersion()),
+                                    repositories,
+                                    "project"))
+                    .getArtifact()
+                    .getFile();
+        } catch (ArtifactResolutionException e) {
+            throw new MojoExecutionException("Unable to resolve imported BOM " + key, e);
+        }
+        ModelBuildingRequest request = new DefaultModelBuildingRequest()
+                .setValidationLevel(ModelBuildingRequest.VALIDATION_LEVEL_MINIMAL)
+                .setProcessPlugins(false)
+                .setTwoPhaseBuilding(false)
+                .setSystemProperties(mavenSession.getSystemProperties())
+                .setUserProperties(mavenSession.getUserProperties())
+                .setModelSource(new FileModelSource(pomFile))
+                .setModelResolver(modelResolver(repositories));
+        try {
+            DependencyManagement depMgmt =
+                    modelBuilder.build(request).getEffectiveModel().getDependencyManagement();
+            return depMgmt != null ? new ArrayList<>(depMgmt.getDependencies()) : new ArrayList<>();
+        } catch (ModelBuildingException e) {
+            throw new MojoExecutionException("Unable to build imported BOM " + key, e);
+        }
+    }
+
+    private static List<RemoteRepository> remoteRepositories(MavenProject project) {
+        return project.getRemoteProjectRepositories() != null
+                ? project.getRemoteProjectRepositories()
+                : Collections.emptyList();
+    }
+
+    private ModelResolver modelResolver(List<RemoteRepository> repositories) {
+        return new ProjectModelResolver(
+                mavenSession.getRepositorySession(),
+                null,
+                repositorySystem,
+                remoteRepositoryManager,
+                repositories,
+                ProjectBuildingRequest.RepositoryMerging.REQUEST_DOMINANT,
+                null);
+    }
+
+    private DependencyGraphCollector dependencyGraphCollector() {
+        return new DependencyGraphCollector(
+                repositorySystem,
+                mavenSession.getRepositorySession(),
+                new LinkedHashSet<>(dependencyScopes),
+                includeOptional,
+                maxDepth);
+    }
+
+    private static int size(Collection<?> collection) {
+        return collection != null ? collection.size() : 0;
+    }
+
+    /**
+     * Calculates the fingerprint of BOM inputs: the plugin version, the effective parameters, the BOM header
+     * (as initialized, without dependency management) and the collected artifacts.
+     */
+    private String fingerprint(Bom bom, List<Coordinates> projectArtifacts) throws MojoExecutionException {
+        BomFingerprint fingerprint = new BomFingerprint();
+        addConfiguration(fingerprint, bom);
+        for (Coordinates artifact : projectArtifacts) {
+            fingerprint.add(
+                    "artifact",
+                    artifact.getGroupId() + ":" + artifact.getArtifactId() + ":" + artifact.getVersion() + ":"
+                            + artifact.getType() + ":" + artifact.getClassifier());
+        }
+        return fingerprint.toHex();
+    }
 
-            Dependency dep = new Dependency();
-            dep.setGroupId(artifact.getGroupId());
-            dep.setArtifactId(artifact.getArtifactId());
-            dep.setVersion(artifact.getVersion());
-            if (!StringUtils.isEmpty(artifact.getClassifier())) {
-                dep.setClassifier(artifact.getClassifier());
+    /**
+     * Adds the effective configuration of given BOM, and its header model, to fingerprint.
+     */
+    private void addConfiguration(BomFingerprint fingerprint, Bom bom) throws MojoExecutionException {
+        fingerprint.add("pluginVersion", pluginDescriptor != null ? pluginDescriptor.getVersion() : null);
+        if (pluginDescriptor != null && pluginDescriptor.getPluginArtifact() != null) {
+            // SNAPSHOT rebuilds of plugin keep its version
+            fingerprint.add("pluginFile", stamp(pluginDescriptor.getPluginArtifact().getFile()));
+        }
+        fingerprint.add("bomParentGav", bomParentGav);
+        fingerprint.add("bomClassifier", bom.classifier);
+        fingerprint.add("reactorDependencies", reactorDependencies);
+        fingerprint.add("directDependencies", directDependencies);
+        fingerprint.add("transitiveDependencies", transitiveDependencies);
+        fingerprint.add("collectOnly", collectOnly);
+        fingerprint.add("dependencyScopes", dependencyScopes);
+        fingerprint.add("includeOptional", includeOptional);
+        fingerprint.add("maxDepth", maxDepth);
+        fingerprint.add("includePoms", includePoms);
+        fingerprint.add("conflictPolicy", conflictPolicy);
+        fingerprint.add("resolvabilityCheck", resolvabilityCheck);
+        fingerprint.add("addVersionProperties", addVersionProperties);
+        fingerprint.add("usePropertiesForVersion", usePropertiesForVersion);
+        fingerprint.add("versionPropertyNaming", versionPropertyNaming);
+        fingerprint.add("reproducible", reproducible);
+        fingerprint.add("outputTimestamp", reproducible ? outputTimestamp : null);
+        if (bom.dependencyInclusions != null) {
+            for (DependencyExclusion inclusion : bom.dependencyInclusions) {
+                fingerprint.add("dependencyInclusion", inclusion.getGroupId() + ":" + inclusion.getArtifactId());
             }
-            if (!StringUtils.isEmpty(artifact.getType())) {
-                dep.setType(artifact.getType());
+        }
+        if (bom.dependencyExclusions != null) {
+            for (DependencyExclusion exclusion : bom.dependencyExclusions) {
+                fingerprint.add("dependencyExclusion", exclusion.getGroupId() + ":" + exclusion.getArtifactId());
             }
-            if (exclusions != null) {
-                applyExclusions(artifact, dep);
+        }
+        if (bom.exclusions != null) {
+            for (BomExclusion exclusion : bom.exclusions) {
+                fingerprint.add(
+                        "exclusion",
+                        exclusion.getDependencyGroupId() + ":" + exclusion.getDependencyArtifactId() + ":"
+                                + exclusion.getExclusionGroupId() + ":" + exclusion.getExclusionArtifactId());
             }
-            depMgmt.addDependency(dep);
+        }
+        try {
+            new MavenXpp3Writer().write(fingerprint.asOutputStream(), bom.model);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Unable to calculate BOM fingerprint.", e);
+        }
+    }
+
+    void addDependencyManagement(Model pomModel, List<Coordinates> projectArtifacts) throws MojoExecutionException {
+        Bom bom = primaryBom();
+        addDependencyManagement(bom, pomModel, includedArtifacts(bom, projectArtifacts));
+    }
+
+    private void addDependencyManagement(Bom bom, Model pomModel, List<Coordinates> includedArtifacts) {
+        long start = BomMetrics.start();
+        DependencyManagement depMgmt = new DependencyManagement();
+        for (Coordinates artifact : includedArtifacts) {
+            depMgmt.addDependency(toDependency(artifact, bom.bomExclusionIndex));
         }
         pomModel.setDependencyManagement(depMgmt);
+        metrics.record("exclusions", start, includedArtifacts.size(), depMgmt.getDependencies().size());
         if (addVersionProperties) {
-            Properties props = pomModel.getProperties();
-            for (Map.Entry<String, String> entry : versionProperties.entrySet()) {
-                props.setProperty(entry.getKey(), entry.getValue());
+            start = BomMetrics.start();
+            Map<String, String> properties = versionProperties(includedArtifacts).getProperties();
+            pomModel.getProperties().putAll(properties);
+            metrics.record("properties", start, includedArtifacts.size(), properties.size());
+        }
+        getLog().debug("Added " + includedArtifacts.size() + " dependencies.");
+    }
+
+    /**
+     * Writes the BOM using {@link StreamingBomWriter}: dependency management entries are not collected into model,
+     * but are created and written one by one.
+     */
+    private boolean writeStreaming(Bom bom, List<Coordinates> includedArtifacts, Path outputFile)
+            throws MojoExecutionException {
+        long start = BomMetrics.start();
+        Properties properties = reproducible ? ReproducibleOutput.sorted(null) : new Properties();
+        VersionProperties versionProperties = addVersionProperties || usePropertiesForVersion
+                ? versionProperties(includedArtifacts)
+                : null;
+        if (versionProperties != null) {
+            properties.putAll(versionProperties.getProperties());
+            metrics.record("properties", start, includedArtifacts.size(), properties.size());
+        }
+        long[] exclusionsNanos = new long[1];
+        Iterable<Dependency> dependencies = () -> IntStream.range(0, includedArtifacts.size())
+                .mapToObj(i -> {
+                    long exclusionsStart = BomMetrics.start();
+                    Dependency dep = toDependency(includedArtifacts.get(i), bom.bomExclusionIndex);
+                    exclusionsNanos[0] += System.nanoTime() - exclusionsStart;
+                    if (usePropertiesForVersion && versionProperties.getPropertyName(i) != null) {
+                        dep.setVersion("${" + versionProperties.getPropertyName(i) + "}");
+                    }
+                    return dep;
+                })
+                .iterator();
+        start = BomMetrics.start();
+        Model header = reproducible ? ReproducibleOutput.normalize(bom.model) : bom.model;
+        boolean written =
+                streamingBomWriter.write(header, properties, dependencies, outputFile.toFile(), reproducible);
+        long writeNanos = System.nanoTime() - start;
+        metrics.add("exclusions", exclusionsNanos[0], includedArtifacts.size(), includedArtifacts.size());
+        metrics.add("write", writeNanos - exclusionsNanos[0], includedArtifacts.size(), includedArtifacts.size());
+        getLog().debug("Streamed " + includedArtifacts.size() + " dependencies.");
+        return written;
+    }
+
+    /**
+     * Returns the filter of collected artifacts: the one of BOMs to generate, or the one of BOM configured by
+     * parameters of this mojo, if the BOMs are not initialized.
+     */
+    private CollectionFilter collectionFilter() throws MojoExecutionException {
+        return collectionFilter != null
+                ? collectionFilter
+                : new CollectionFilter(Collections.singletonList(primaryBom()));
+    }
+
+    /**
+     * Accepts artifacts passing inclusions and exclusions of at least one of BOMs. The key identifies the filter in
+     * the session wide cache of reactor artifacts.
+     */
+    static final class CollectionFilter implements Predicate<Artifact> {
+        private final List<Bom> boms;
+        private final boolean acceptsAll;
+        private final boolean rejectsAll;
+        private final String key;
+
+        CollectionFilter(List<Bom> boms) {
+            this.boms = boms;
+            boolean all = false;
+            boolean none = true;
+            StringBuilder sb = new StringBuilder();
+            for (Bom bom : boms) {
+                all |= bom.inclusionMatcher.isEmpty() && bom.exclusionMatcher.isEmpty();
+                none &= bom.exclusionMatcher.matchesAll();
+                sb.append('[');
+                appendRules(sb, bom.dependencyInclusions);
+                sb.append('|');
+                appendRules(sb, bom.dependencyExclusions);
+                sb.append(']');
+            }
+            this.acceptsAll = all;
+            this.rejectsAll = none;
+            this.key = all ? "*" : sb.toString();
+        }
+
+        /**
+         * Whether no artifact passes this filter, so that there is nothing to collect.
+         */
+        boolean rejectsAll() {
+            return rejectsAll;
+        }
+
+        @Override
+        public boolean test(Artifact artifact) {
+            if (acceptsAll) {
+                return true;
+            }
+            for (Bom bom : boms) {
+                if ((bom.inclusionMatcher.isEmpty()
+                                || bom.inclusionMatcher.matches(artifact.getGroupId(), artifact.getArtifactId()))
+                        && !bom.exclusionMatcher.matches(artifact.getGroupId(), artifact.getArtifactId())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static void appendRules(StringBuilder sb, List<DependencyExclusion> rules) {
+            if (rules != null) {
+                for (DependencyExclusion rule : rules) {
+                    sb.append(rule.getGroupId()).append(':').append(rule.getArtifactId()).append(',');
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the artifacts that pass inclusions and exclusions of given BOM.
+     */
+    List<Coordinates> includedArtifacts(Bom bom, List<Coordinates> projectArtifacts) {
+        long start = BomMetrics.start();
+        ArrayList<Coordinates> result = new ArrayList<>(projectArtifacts.size());
+        for (Coordinates artifact : projectArtifacts) {
+            if (isIncludedDependency(bom.inclusionMatcher, artifact.getGroupId(), artifact.getArtifactId())
+                    && !isExcludedDependency(bom.exclusionMatcher, artifact.getGroupId(), artifact.getArtifactId())) {
+                result.add(artifact);
             }
         }
-        getLog().debug("Added " + projectArtifacts.size() + " dependencies.");
+        metrics.record("filter", start, projectArtifacts.size(), result.size());
+        return result;
+    }
+
+    private VersionProperties versionProperties(List<Coordinates> artifacts) {
+        return VersionProperties.of(
+                artifacts,
+                Coordinates::getGroupId,
+                Coordinates::getArtifactId,
+                Coordinates::getVersion,
+                versionPropertyNaming);
+    }
+
+    private Dependency toDependency(Coordinates artifact, BomExclusionIndex bomExclusionIndex) {
+        Dependency dep = new Dependency();
+        dep.setGroupId(artifact.getGroupId());
+        dep.setArtifactId(artifact.getArtifactId());
+        dep.setVersion(artifact.getVersion());
+        if (!StringUtils.isEmpty(artifact.getClassifier())) {
+            dep.setClassifier(artifact.getClassifier());
+        }
+        if (!StringUtils.isEmpty(artifact.getType())) {
+            dep.setType(artifact.getType());
+        }
+        List<Exclusion> exclusionsToApply =
+                bomExclusionIndex.exclusionsFor(artifact.getGroupId(), artifact.getArtifactId());
+        if (!exclusionsToApply.isEmpty()) {
+            dep.setExclusions(new ArrayList<>(exclusionsToApply));
+        }
+        return dep;
     }
 
     boolean isIncludedDependency(Artifact artifact) {
-        if (dependencyInclusions == null || dependencyInclusions.isEmpty()) {
+        return isIncludedDependency(inclusionMatcher(), artifact.getGroupId(), artifact.getArtifactId());
+    }
+
+    private boolean isIncludedDependency(DependencyMatcher matcher, String groupId, String artifactId) {
+        if (matcher.isEmpty()) {
             return true;
         }
-        for (DependencyExclusion inclusion : dependencyInclusions) {
-            if (matchesExcludedDependency(artifact, inclusion)) {
-                getLog().debug("Artifact " + artifact.getGroupId() + ":" + artifact.getArtifactId()
-                        + " matches included dependency " + inclusion.getGroupId() + ":" + inclusion.getArtifactId());
-                return true;
-            }
+        DependencyExclusion inclusion = matcher.match(groupId, artifactId);
+        if (inclusion != null && getLog().isDebugEnabled()) {
+            getLog().debug("Artifact " + groupId + ":" + artifactId
+                    + " matches included dependency " + inclusion.getGroupId() + ":" + inclusion.getArtifactId());
         }
-        return false;
+        return inclusion != null;
     }
 
     boolean isExcludedDependency(Artifact artifact) {
-        if (dependencyExclusions == null || dependencyExclusions.isEmpty()) {
-            return false;
-        }
-        for (DependencyExclusion exclusion : dependencyExclusions) {
-            if (matchesExcludedDependency(artifact, exclusion)) {
-                getLog().debug("Artifact " + artifact.getGroupId() + ":" + artifact.getArtifactId()
-                        + " matches excluded dependency " + exclusion.getGroupId() + ":" + exclusion.getArtifactId());
-                return true;
-            }
+        return isExcludedDependency(exclusionMatcher(), artifact.getGroupId(), artifact.getArtifactId());
+    }
+
+    private boolean isExcludedDependency(DependencyMatcher matcher, String groupId, String artifactId) {
+        DependencyExclusion exclusion = matcher.match(groupId, artifactId);
+        if (exclusion != null && getLog().isDebugEnabled()) {
+            getLog().debug("Artifact " + groupId + ":" + artifactId
+                    + " matches excluded dependency " + exclusion.getGroupId() + ":" + exclusion.getArtifactId());
         }
-        return false;
+        return exclusion != null;
     }
 
     boolean matchesExcludedDependency(Artifact artifact, DependencyExclusion exclusion) {
-        String groupId = defaultAndTrim(artifact.getGroupId());
-        String artifactId = defaultAndTrim(artifact.getArtifactId());
-        String exclusionGroupId = defaultAndTrim(exclusion.getGroupId());
-        String exclusionArtifactId = defaultAndTrim(exclusion.getArtifactId());
-        boolean groupIdMatched = ("*".equals(exclusionGroupId) || groupId.equals(exclusionGroupId));
-        boolean artifactIdMatched = ("*".equals(exclusionArtifactId) || artifactId.equals(exclusionArtifactId));
-        return groupIdMatched && artifactIdMatched;
+        return DependencyMatcher.compile(Collections.singletonList(exclusion))
+                .matches(artifact.getGroupId(), artifact.getArtifactId());
     }
 
-    private String defaultAndTrim(String string) {
-        return Objects.toString(trim(string), "");
+    private BomExclusionIndex bomExclusionIndex() throws MojoExecutionException {
+        if (bomExclusionIndex == null) {
+            bomExclusionIndex = BomExclusionIndex.compile(exclusions);
+        }
+        return bomExclusionIndex;
     }
 
-    private void applyExclusions(Artifact artifact, Dependency dep) {
-        for (BomExclusion exclusion : exclusions) {
-            if (exclusion.getDependencyGroupId().equals(artifact.getGroupId())
-                    && exclusion.getDependencyArtifactId().equals(artifact.getArtifactId())) {
-                Exclusion ex = new Exclusion();
-                ex.setGroupId(exclusion.getExclusionGroupId());
-                ex.setArtifactId(exclusion.getExclusionArtifactId());
-                dep.addExclusion(ex);
-            }
+    private DependencyMatcher inclusionMatcher() {
+        if (inclusionMatcher == null) {
+            inclusionMatcher = DependencyMatcher.compile(dependencyInclusions);
         }
+        return inclusionMatcher;
+    }
+
+    private DependencyMatcher exclusionMatcher() {
+        if (exclusionMatcher == null) {
+            exclusionMatcher = DependencyMatcher.compile(dependencyExclusions);
+        }
+        return exclusionMatcher;
     }
 
     static class ModelWriter {
-        void writeModel(Model pomModel, File outputFile) throws MojoExecutionException {
-            if (!outputFile.getParentFile().exists()) {
-                outputFile.getParentFile().mkdirs();
+        /**
+         * Writes model to given file, unless the file already has the very same content.
+         *
+         * @return {@code true} if the file was (re)written, {@code false} if it was left untouched
+         */
+        boolean writeModel(Model pomModel, File outputFile) throws MojoExecutionException {
+            try {
+                return AtomicFileWriter.write(
+                        outputFile.toPath(), outputStream -> new MavenXpp3Writer().write(outputStream, pomModel));
+            } catch (IOException e) {
+                throw new MojoExecutionException("Unable to write pom file.", e);
+            }
+        }
+
+        /**
+         * Same as {@link #writeModel(Model, File)}, but if reproducible, line endings are normalized while writing,
+         * see {@link ReproducibleOutput}.
+         */
+        boolean writeModel(Model pomModel, File outputFile, boolean reproducible) throws MojoExecutionException {
+            if (!reproducible) {
+                return writeModel(pomModel, outputFile);
             }
-            try (OutputStream outputStream = Files.newOutputStream(outputFile.toPath())) {
-                MavenXpp3Writer mavenWriter = new MavenXpp3Writer();
-                mavenWriter.write(outputStream, pomModel);
+            try {
+                return AtomicFileWriter.write(outputFile.toPath(), outputStream -> {
+                    Writer writer = ReproducibleOutput.normalizing(
+                            new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+                    new MavenXpp3Writer().write(writer, pomModel);
+                    writer.flush();
+                });
             } catch (IOException e) {
                 throw new MojoExecutionException("Unable to write pom file.", e);
             }
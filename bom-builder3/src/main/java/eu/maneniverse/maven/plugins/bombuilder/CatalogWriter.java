@@ -0,0 +1,193 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Renders the artifacts of a BOM in formats of other build tools, see {@link BuildBomMojo.CatalogFormat}. Artifacts
+ * are expected to be sorted and to have one version per key, as collected for BOM, and are written in given order.
+ * <ul>
+ *     <li>VERSION_CATALOG - Gradle version catalog ({@code libs.versions.toml}), one library per
+ *     {@code groupId:artifactId}, as catalogs have no classifiers.</li>
+ *     <li>GRADLE_MODULE - Gradle module metadata of a platform, with dependency constraints for API and runtime
+ *     variants.</li>
+ *     <li>JSON_INDEX - compact JSON index of all BOM entries, one entry per line.</li>
+ * </ul>
+ */
+final class CatalogWriter {
+
+    private CatalogWriter() {}
+
+    /**
+     * Writes artifacts of BOM with given coordinates in given format, unless the file already has the very same
+     * content.
+     *
+     * @return {@code true} if the file was (re)written, {@code false} if it was left untouched
+     */
+    static boolean write(
+            BuildBomMojo.CatalogFormat format,
+            String groupId,
+            String artifactId,
+            String version,
+            List<Coordinates> artifacts,
+            Path outputFile)
+            throws IOException {
+        String content = render(format, groupId, artifactId, version, artifacts);
+        return AtomicFileWriter.write(
+                outputFile, outputStream -> outputStream.write(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    static String render(
+            BuildBomMojo.CatalogFormat format,
+            String groupId,
+            String artifactId,
+            String version,
+            List<Coordinates> artifacts) {
+        switch (format) {
+            case VERSION_CATALOG:
+                return versionCatalog(groupId, artifactId, version, artifacts);
+            case GRADLE_MODULE:
+                return gradleModule(groupId, artifactId, version, artifacts);
+            case JSON_INDEX:
+                return jsonIndex(groupId, artifactId, version, artifacts);
+            default:
+                throw new IllegalArgumentException("Unsupported format " + format);
+        }
+    }
+
+    private static String versionCatalog(
+            String groupId, String artifactId, String version, List<Coordinates> artifacts) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("# Generated from BOM ")
+                .append(groupId)
+                .append(':')
+                .append(artifactId)
+                .append(':')
+                .append(version)
+                .append('\n');
+        sb.append("[libraries]\n");
+        Set<String> aliases = new HashSet<>();
+        for (Map.Entry<String, Coordinates> entry : modules(artifacts).entrySet()) {
+            Coordinates artifact = entry.getValue();
+            String alias = alias(artifact.getArtifactId());
+            if (!aliases.add(alias)) {
+                alias = alias(artifact.getGroupId() + "-" + artifact.getArtifactId());
+                for (int i = 2; !aliases.add(alias); i++) {
+                    alias = alias(artifact.getGroupId() + "-" + artifact.getArtifactId() + "-" + i);
+                }
+            }
+            sb.append(alias).append(" = { module = \"").append(BomMetrics.escape(entry.getKey()));
+            sb.append("\", version = \"").append(BomMetrics.escape(artifact.getVersion())).append("\" }\n");
+        }
+        return sb.toString();
+    }
+
+    private static String gradleModule(
+            String groupId, String artifactId, String version, List<Coordinates> artifacts) {
+        StringBuilder constraints = new StringBuilder();
+        boolean first = true;
+        for (Coordinates artifact : modules(artifacts).values()) {
+            constraints.append(first ? "\n" : ",\n");
+            constraints.append("        {\"group\": \"").append(BomMetrics.escape(artifact.getGroupId()));
+            constraints.append("\", \"module\": \"").append(BomMetrics.escape(artifact.getArtifactId()));
+            constraints.append("\", \"version\": {\"requires\": \"").append(BomMetrics.escape(artifact.getVersion()));
+            constraints.append("\"}}");
+            first = false;
+        }
+        constraints.append(first ? "]" : "\n      ]");
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\n");
+        sb.append("  \"formatVersion\": \"1.1\",\n");
+        sb.append("  \"component\": {\n");
+        sb.append("    \"group\": \"").append(BomMetrics.escape(groupId)).append("\",\n");
+        sb.append("    \"module\": \"").append(BomMetrics.escape(artifactId)).append("\",\n");
+        sb.append("    \"version\": \"").append(BomMetrics.escape(version)).append("\"\n");
+        sb.append("  },\n");
+        sb.append("  \"variants\": [\n");
+        gradleVariant(sb, "apiElements", "java-api", constraints);
+        sb.append(",\n");
+        gradleVariant(sb, "runtimeElements", "java-runtime", constraints);
+        sb.append("\n  ]\n");
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private static void gradleVariant(StringBuilder sb, String name, String usage, CharSequence constraints) {
+        sb.append("    {\n");
+        sb.append("      \"name\": \"").append(name).append("\",\n");
+        sb.append("      \"attributes\": {\"org.gradle.category\": \"platform\", \"org.gradle.usage\": \"")
+                .append(usage)
+                .append("\"},\n");
+        sb.append("      \"dependencyConstraints\": [").append(constraints).append('\n');
+        sb.append("    }");
+    }
+
+    private static String jsonIndex(
+            String groupId, String artifactId, String version, List<Coordinates> artifacts) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"groupId\": \"").append(BomMetrics.escape(groupId));
+        sb.append("\", \"artifactId\": \"").append(BomMetrics.escape(artifactId));
+        sb.append("\", \"version\": \"").append(BomMetrics.escape(version));
+        sb.append("\", \"dependencies\": [");
+        for (int i = 0; i < artifacts.size(); i++) {
+            Coordinates artifact = artifacts.get(i);
+            sb.append(i > 0 ? ",\n" : "\n");
+            sb.append("  {\"groupId\": \"").append(BomMetrics.escape(artifact.getGroupId()));
+            sb.append("\", \"artifactId\": \"").append(BomMetrics.escape(artifact.getArtifactId()));
+            sb.append("\", \"version\": \"").append(BomMetrics.escape(artifact.getVersion())).append('"');
+            if (artifact.getType() != null && !"jar".equals(artifact.getType())) {
+                sb.append(", \"type\": \"").append(BomMetrics.escape(artifact.getType())).append('"');
+            }
+            if (artifact.getClassifier() != null && !artifact.getClassifier().isEmpty()) {
+                sb.append(", \"classifier\": \"")
+                        .append(BomMetrics.escape(artifact.getClassifier()))
+                        .append('"');
+            }
+            sb.append('}');
+        }
+        sb.append(artifacts.isEmpty() ? "]}\n" : "\n]}\n");
+        return sb.toString();
+    }
+
+    /**
+     * Returns the artifacts without classifier, keyed by {@code groupId:artifactId}, the first one of each key.
+     */
+    private static Map<String, Coordinates> modules(List<Coordinates> artifacts) {
+        LinkedHashMap<String, Coordinates> result = new LinkedHashMap<>();
+        for (Coordinates artifact : artifacts) {
+            if (artifact.getClassifier() == null || artifact.getClassifier().isEmpty()) {
+                result.putIfAbsent(artifact.getGroupId() + ":" + artifact.getArtifactId(), artifact);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a valid version catalog alias: lower case letters and digits, separated by dashes, starting with a
+     * letter.
+     */
+    static String alias(String name) {
+        StringBuilder sb = new StringBuilder(name.length());
+        for (char c : name.toLowerCase(Locale.ROOT).toCharArray()) {
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                sb.append(c);
+            } else if (sb.length() > 0 && sb.charAt(sb.length() - 1) != '-') {
+                sb.append('-');
+            }
+        }
+        if (sb.length() > 0 && sb.charAt(sb.length() - 1) == '-') {
+            sb.setLength(sb.length() - 1);
+        }
+        if (sb.length() == 0 || sb.charAt(0) < 'a' || sb.charAt(0) > 'z') {
+            sb.insert(0, "lib-");
+        }
+        return sb.toString();
+    }
+}
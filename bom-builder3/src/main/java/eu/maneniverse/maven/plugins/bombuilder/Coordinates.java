@@ -0,0 +1,182 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+
+/**
+ * Immutable coordinates of a collected artifact: all that BOM generation needs of it. Collected artifacts are
+ * converted into coordinates as they are collected, so that the collected, cached and written artifacts do not retain
+ * {@link Artifact} instances, with their handlers, files, metadata, version ranges and dependency trails (of which
+ * only the depth is kept). Coordinates are converted to model objects only when BOM is written.
+ * <p>
+ * Group ids, versions, types and classifiers are shared through an {@link Interner}, as there are few distinct ones
+ * (like a few hundred groups across tens of thousands of artifacts). Natural order is the same as of
+ * {@link org.apache.maven.artifact.DefaultArtifact}.
+ */
+final class Coordinates implements Comparable<Coordinates> {
+
+    /**
+     * Thread safe pool of strings, that returns the same instance for equal strings.
+     */
+    static final class Interner {
+        private final ConcurrentHashMap<String, String> strings = new ConcurrentHashMap<>();
+
+        String intern(String value) {
+            if (value == null) {
+                return null;
+            }
+            String existing = strings.putIfAbsent(value, value);
+            return existing != null ? existing : value;
+        }
+
+        int size() {
+            return strings.size();
+        }
+    }
+
+    private final String groupId;
+
+    private final String artifactId;
+
+    private final String version;
+
+    private final String type;
+
+    private final String classifier;
+
+    private final int depth;
+
+    Coordinates(String groupId, String artifactId, String version, String type, String classifier, int depth) {
+        this.groupId = Objects.requireNonNull(groupId, "groupId");
+        this.artifactId = Objects.requireNonNull(artifactId, "artifactId");
+        this.version = version;
+        this.type = type;
+        this.classifier = classifier;
+        this.depth = depth;
+    }
+
+    /**
+     * Returns coordinates of given artifact, with strings shared through given interner.
+     */
+    static Coordinates of(Artifact artifact, Interner interner) {
+        List<String> trail = artifact.getDependencyTrail();
+        return new Coordinates(
+                interner.intern(artifact.getGroupId()),
+                artifact.getArtifactId(),
+                interner.intern(artifact.getVersion()),
+                interner.intern(artifact.getType()),
+                interner.intern(artifact.getClassifier()),
+                trail == null || trail.isEmpty() ? 0 : trail.size() - 1);
+    }
+
+    String getGroupId() {
+        return groupId;
+    }
+
+    String getArtifactId() {
+        return artifactId;
+    }
+
+    String getVersion() {
+        return version;
+    }
+
+    String getType() {
+        return type;
+    }
+
+    String getClassifier() {
+        return classifier;
+    }
+
+    /**
+     * Returns the depth of artifact in dependency graph: 0 for reactor artifacts (and other artifacts without
+     * dependency trail), 1 for direct dependencies and so on.
+     */
+    int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Returns the {@code groupId:artifactId:type:classifier} key, same as {@link ArtifactCollector#key(Artifact)}.
+     */
+    String getKey() {
+        return groupId + ":" + artifactId + ":" + type + ":" + (classifier == null ? "" : classifier);
+    }
+
+    /**
+     * Returns the id, in format of {@link Artifact#getId()}.
+     */
+    String getId() {
+        StringBuilder sb = new StringBuilder(groupId).append(':').append(artifactId).append(':').append(type);
+        if (classifier != null && !classifier.isEmpty()) {
+            sb.append(':').append(classifier);
+        }
+        return sb.append(':').append(version).toString();
+    }
+
+    /**
+     * Compares like {@link org.apache.maven.artifact.DefaultArtifact}, while nullable type, classifier and version
+     * are compared null-safely, {@code null} sorting last.
+     */
+    @Override
+    public int compareTo(Coordinates other) {
+        int result = groupId.compareTo(other.groupId);
+        if (result == 0) {
+            result = artifactId.compareTo(other.artifactId);
+        }
+        if (result == 0) {
+            result = compareNullable(type, other.type);
+        }
+        if (result == 0) {
+            result = compareNullable(classifier, other.classifier);
+        }
+        if (result == 0) {
+            if (version == null || other.version == null) {
+                result = compareNullable(version, other.version);
+            } else {
+                result = new DefaultArtifactVersion(version).compareTo(new DefaultArtifactVersion(other.version));
+            }
+        }
+        return result;
+    }
+
+    private static int compareNullable(String a, String b) {
+        if (a == null) {
+            return b != null ? 1 : 0;
+        }
+        return b != null ? a.compareTo(b) : -1;
+    }
+
+    /**
+     * Coordinates are equal if they have equal key and version, regardless of their depth.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Coordinates)) {
+            return false;
+        }
+        Coordinates other = (Coordinates) o;
+        return groupId.equals(other.groupId)
+                && artifactId.equals(other.artifactId)
+                && Objects.equals(version, other.version)
+                && Objects.equals(type, other.type)
+                && Objects.equals(classifier, other.classifier);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(groupId, artifactId, version, type, classifier);
+    }
+
+    @Override
+    public String toString() {
+        return getId();
+    }
+}
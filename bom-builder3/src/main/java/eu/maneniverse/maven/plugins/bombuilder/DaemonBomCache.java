@@ -0,0 +1,114 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache of collected artifacts and rendered BOMs, keyed by fingerprint of the reactor and configuration. The
+ * {@link #INSTANCE} lives as long as the plugin class loader: with plain Maven that is one build, but with mvnd (or
+ * embedded Maven) class loaders are reused, hence repeated builds of an unchanged reactor reuse the artifacts
+ * collected and the BOMs rendered by previous ones.
+ * <p>
+ * Entries are evicted when they get older than given maximum age (as remote dependencies may change without reactor
+ * changing), and least recently used ones are evicted when there are more entries than given maximum size. This class
+ * is thread safe.
+ */
+final class DaemonBomCache {
+
+    static final DaemonBomCache INSTANCE = new DaemonBomCache(System::currentTimeMillis);
+
+    /**
+     * Cached state of one reactor and configuration: the collected artifacts, and BOMs rendered from them, keyed by
+     * their output file.
+     */
+    static final class Entry {
+        private final List<Coordinates> artifacts;
+
+        private final long created;
+
+        private final ConcurrentHashMap<String, byte[]> boms = new ConcurrentHashMap<>();
+
+        private Entry(List<Coordinates> artifacts, long created) {
+            this.artifacts = Collections.unmodifiableList(artifacts);
+            this.created = created;
+        }
+
+        List<Coordinates> getArtifacts() {
+            return artifacts;
+        }
+
+        /**
+         * Returns the content of BOM rendered into given file, or {@code null} if it was not rendered yet.
+         */
+        byte[] getBom(String outputFile) {
+            return boms.get(outputFile);
+        }
+
+        void putBom(String outputFile, byte[] content) {
+            boms.put(outputFile, content);
+        }
+    }
+
+    private final LongSupplier clock;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long hits;
+
+    private long misses;
+
+    DaemonBomCache(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the entry of given key, or {@code null} if there is none, or it is older than given maximum age.
+     */
+    synchronized Entry get(String key, long maxAgeMillis) {
+        evictExpired(maxAgeMillis);
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return entry;
+    }
+
+    /**
+     * Creates and returns an entry with given artifacts, evicting least recently used entries above given maximum
+     * size.
+     */
+    synchronized Entry put(String key, List<Coordinates> artifacts, int maxSize) {
+        Entry entry = new Entry(artifacts, clock.getAsLong());
+        entries.put(key, entry);
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (entries.size() > Math.max(maxSize, 0) && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+        return entry;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long getHits() {
+        return hits;
+    }
+
+    synchronized long getMisses() {
+        return misses;
+    }
+
+    private void evictExpired(long maxAgeMillis) {
+        long now = clock.getAsLong();
+        entries.values().removeIf(entry -> now - entry.created > maxAgeMillis);
+    }
+}
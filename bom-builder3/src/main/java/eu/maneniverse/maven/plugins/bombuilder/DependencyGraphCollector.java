@@ -0,0 +1,199 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.apache.maven.RepositoryUtils;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.ArtifactTypeRegistry;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.CollectResult;
+import org.eclipse.aether.collection.DependencyCollectionContext;
+import org.eclipse.aether.collection.DependencyCollectionException;
+import org.eclipse.aether.collection.DependencySelector;
+import org.eclipse.aether.graph.DependencyFilter;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.util.artifact.JavaScopes;
+import org.eclipse.aether.util.graph.selector.AndDependencySelector;
+import org.eclipse.aether.util.graph.selector.ScopeDependencySelector;
+
+/**
+ * Collects dependencies of projects with {@link RepositorySystem#collectDependencies}, that reads POMs only, instead
+ * of resolving them: no artifact files are downloaded, as BOM needs coordinates only.
+ * <p>
+ * Dependencies of all given projects are collected at once, as one graph having direct dependencies of all projects
+ * as its direct dependencies, and dependency management of all projects (first project wins) as its dependency
+ * management. Scopes, optionality and depth are pushed down to collection: direct dependencies out of them are not
+ * collected from, and transitive ones are not selected, hence their POMs are not read at all.
+ */
+final class DependencyGraphCollector {
+
+    private final RepositorySystem repositorySystem;
+
+    private final RepositorySystemSession session;
+
+    private final Set<String> scopes;
+
+    private final boolean includeOptional;
+
+    private final int maxDepth;
+
+    /**
+     * @param scopes the scopes of collected dependencies
+     * @param maxDepth the depth of deepest collected dependencies (1 for direct dependencies), or 0 for no limit
+     */
+    DependencyGraphCollector(
+            RepositorySystem repositorySystem,
+            RepositorySystemSession session,
+            Set<String> scopes,
+            boolean includeOptional,
+            int maxDepth) {
+        this.repositorySystem = repositorySystem;
+        this.session = session;
+        this.scopes = scopes;
+        this.includeOptional = includeOptional;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Returns the direct dependencies of project as declared in its (effective) model, in all scopes, with dependency
+     * trail set as if they were resolved.
+     */
+    List<Artifact> directDependencies(MavenProject project) {
+        ArtifactTypeRegistry stereotypes = session.getArtifactTypeRegistry();
+        String projectId = project.getArtifact().getId();
+        ArrayList<Artifact> artifacts = new ArrayList<>(project.getDependencies().size());
+        for (Dependency dependency : project.getDependencies()) {
+            Artifact artifact = RepositoryUtils.toArtifact(
+                    RepositoryUtils.toDependency(dependency, stereotypes).getArtifact());
+            artifact.setScope(dependency.getScope() != null ? dependency.getScope() : JavaScopes.COMPILE);
+            artifact.setOptional(dependency.isOptional());
+            artifact.setDependencyTrail(new ArrayList<>(Arrays.asList(projectId, artifact.getId())));
+            artifacts.add(artifact);
+        }
+        return artifacts;
+    }
+
+    /**
+     * Collects the dependencies (both direct and transitive) of given projects, in graph order. Dependency trail of
+     * each artifact starts with the project, or with {@code reactor} if more projects are collected at once.
+     */
+    List<Artifact> collect(List<MavenProject> projects) throws MojoExecutionException {
+        if (projects.isEmpty()) {
+            return Collections.emptyList();
+        }
+        ArtifactTypeRegistry stereotypes = session.getArtifactTypeRegistry();
+        Map<String, org.eclipse.aether.graph.Dependency> dependencies = new LinkedHashMap<>();
+        Map<String, org.eclipse.aether.graph.Dependency> managedDependencies = new LinkedHashMap<>();
+        Map<String, RemoteRepository> repositories = new LinkedHashMap<>();
+        for (MavenProject project : projects) {
+            for (Dependency dependency : project.getDependencies()) {
+                if (included(dependency.getScope(), dependency.isOptional())) {
+                    dependencies.putIfAbsent(
+                            dependency.getManagementKey() + ":" + dependency.getVersion(),
+                            RepositoryUtils.toDependency(dependency, stereotypes));
+                }
+            }
+            if (project.getDependencyManagement() != null) {
+                for (Dependency dependency : project.getDependencyManagement().getDependencies()) {
+                    managedDependencies.putIfAbsent(
+                            dependency.getManagementKey(), RepositoryUtils.toDependency(dependency, stereotypes));
+                }
+            }
+            if (project.getRemoteProjectRepositories() != null) {
+                for (RemoteRepository repository : project.getRemoteProjectRepositories()) {
+                    repositories.putIfAbsent(repository.getId(), repository);
+                }
+            }
+        }
+        CollectRequest request = new CollectRequest(
+                        new ArrayList<>(dependencies.values()),
+                        new ArrayList<>(managedDependencies.values()),
+                        new ArrayList<>(repositories.values()))
+                .setRequestContext("project");
+        String rootId = projects.size() == 1 ? projects.get(0).getArtifact().getId() : "reactor";
+        CollectResult result;
+        try {
+            result = repositorySystem.collectDependencies(collectingSession(), request);
+        } catch (DependencyCollectionException e) {
+            throw new MojoExecutionException("Unable to collect dependencies of " + rootId, e);
+        }
+        Set<Artifact> artifacts = new LinkedHashSet<>();
+        // scopes of transitive dependencies are derived while collecting, hence they are checked again
+        DependencyFilter filter = (node, parents) -> node.getDependency() != null
+                && included(node.getDependency().getScope(), node.getDependency().isOptional());
+        RepositoryUtils.toArtifacts(
+                artifacts, result.getRoot().getChildren(), Collections.singletonList(rootId), filter);
+        return new ArrayList<>(artifacts);
+    }
+
+    private boolean included(String scope, boolean optional) {
+        return scopes.contains(scope == null || scope.isEmpty() ? JavaScopes.COMPILE : scope)
+                && (includeOptional || !optional);
+    }
+
+    private RepositorySystemSession collectingSession() {
+        List<DependencySelector> selectors = new ArrayList<>();
+        if (session.getDependencySelector() != null) {
+            selectors.add(session.getDependencySelector());
+        }
+        selectors.add(new ScopeDependencySelector(scopes, null));
+        if (maxDepth > 0) {
+            selectors.add(new DepthDependencySelector(0, maxDepth));
+        }
+        return new DefaultRepositorySystemSession(session).setDependencySelector(new AndDependencySelector(selectors));
+    }
+
+    /**
+     * Selects dependencies up to given depth, so that POMs of deeper dependencies are not read.
+     */
+    static final class DepthDependencySelector implements DependencySelector {
+        private final int depth;
+
+        private final int maxDepth;
+
+        DepthDependencySelector(int depth, int maxDepth) {
+            this.depth = depth;
+            this.maxDepth = maxDepth;
+        }
+
+        @Override
+        public boolean selectDependency(org.eclipse.aether.graph.Dependency dependency) {
+            return depth <= maxDepth;
+        }
+
+        @Override
+        public DependencySelector deriveChildSelector(DependencyCollectionContext context) {
+            return depth > maxDepth ? this : new DepthDependencySelector(depth + 1, maxDepth);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            DepthDependencySelector that = (DepthDependencySelector) o;
+            return depth == that.depth && maxDepth == that.maxDepth;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(depth, maxDepth);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled form of a list of {@link DependencyExclusion} rules (as used by {@code dependencyInclusions} and
+ * {@code dependencyExclusions}), to be compiled once and then used to match many artifacts. Supported patterns are:
+ * <ul>
+ *     <li>{@code G:A} - exact match, looked up by hash</li>
+ *     <li>{@code G:*} and {@code *:A} - any artifactId in group or any groupId with artifactId, looked up by hash</li>
+ *     <li>{@code *:*} - matches everything</li>
+ *     <li>globs, where {@code *} matches any sequence of characters, like {@code org.apache.*:maven-*} - looked up
+ *     by a prefix trie keyed on the literal groupId prefix</li>
+ * </ul>
+ * Pattern values and artifact coordinates are trimmed, and {@code null} equals to empty string. If more rules match
+ * an artifact, the one declared first is reported. Matching does not allocate.
+ */
+final class DependencyMatcher {
+
+    private static final DependencyMatcher EMPTY = new DependencyMatcher();
+
+    private static final String ANY = "*";
+
+    /**
+     * A compiled rule: trimmed patterns and the position of rule in configuration.
+     */
+    private static final class Rule {
+        private final int order;
+
+        private final DependencyExclusion source;
+
+        private final String groupId;
+
+        private final String artifactId;
+
+        private Rule(int order, DependencyExclusion source, String groupId, String artifactId) {
+            this.order = order;
+            this.source = source;
+            this.groupId = groupId;
+            this.artifactId = artifactId;
+        }
+    }
+
+    /**
+     * Trie node: children are kept in arrays sorted by character to allow allocation free lookup.
+     */
+    private static final class Node {
+        private char[] keys = new char[0];
+
+        private Node[] children = new Node[0];
+
+        private Rule[] rules = new Rule[0];
+
+        private Node child(char c) {
+            int idx = Arrays.binarySearch(keys, c);
+            return idx < 0 ? null : children[idx];
+        }
+
+        private Node getOrCreateChild(char c) {
+            int idx = Arrays.binarySearch(keys, c);
+            if (idx >= 0) {
+                return children[idx];
+            }
+            int ins = -idx - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, ins);
+            System.arraycopy(children, 0, newChildren, 0, ins);
+            newKeys[ins] = c;
+            newChildren[ins] = new Node();
+            System.arraycopy(keys, ins, newKeys, ins + 1, keys.length - ins);
+            System.arraycopy(children, ins, newChildren, ins + 1, children.length - ins);
+            keys = newKeys;
+            children = newChildren;
+            return newChildren[ins];
+        }
+
+        private void addRule(Rule rule) {
+            rules = Arrays.copyOf(rules, rules.length + 1);
+            rules[rules.length - 1] = rule;
+        }
+    }
+
+    private final int size;
+
+    private final Rule matchAll;
+
+    private final Map<String, Map<String, Rule>> exact;
+
+    private final Map<String, Rule> anyArtifactId;
+
+    private final Map<String, Rule> anyGroupId;
+
+    private final Node globs;
+
+    private final boolean hasGlobs;
+
+    private DependencyMatcher() {
+        this.size = 0;
+        this.matchAll = null;
+        this.exact = Collections.emptyMap();
+        this.anyArtifactId = Collections.emptyMap();
+        this.anyGroupId = Collections.emptyMap();
+        this.globs = new Node();
+        this.hasGlobs = false;
+    }
+
+    private DependencyMatcher(List<DependencyExclusion> rules) {
+        Rule all = null;
+        HashMap<String, Map<String, Rule>> exactRules = new HashMap<>();
+        HashMap<String, Rule> anyArtifactIdRules = new HashMap<>();
+        HashMap<String, Rule> anyGroupIdRules = new HashMap<>();
+        Node root = new Node();
+        boolean globRules = false;
+        for (int i = 0; i < rules.size(); i++) {
+            DependencyExclusion source = rules.get(i);
+            Rule rule = new Rule(i, source, defaultAndTrim(source.getGroupId()), defaultAndTrim(source.getArtifactId()));
+            boolean anyGroup = ANY.equals(rule.groupId);
+            boolean anyArtifact = ANY.equals(rule.artifactId);
+            if (anyGroup && anyArtifact) {
+                if (all == null) {
+                    all = rule;
+                }
+            } else if ((anyGroup || isLiteral(rule.groupId)) && (anyArtifact || isLiteral(rule.artifactId))) {
+                if (anyArtifact) {
+                    anyArtifactIdRules.putIfAbsent(rule.groupId, rule);
+                } else if (anyGroup) {
+                    anyGroupIdRules.putIfAbsent(rule.artifactId, rule);
+                } else {
+                    exactRules.computeIfAbsent(rule.groupId, k -> new HashMap<>()).putIfAbsent(rule.artifactId, rule);
+                }
+            } else {
+                Node node = root;
+                int literalPrefix = rule.groupId.indexOf('*');
+                if (literalPrefix < 0) {
+                    literalPrefix = rule.groupId.length();
+                }
+                for (int c = 0; c < literalPrefix; c++) {
+                    node = node.getOrCreateChild(rule.groupId.charAt(c));
+                }
+                node.addRule(rule);
+                globRules = true;
+            }
+        }
+        this.size = rules.size();
+        this.matchAll = all;
+        this.exact = exactRules;
+        this.anyArtifactId = anyArtifactIdRules;
+        this.anyGroupId = anyGroupIdRules;
+        this.globs = root;
+        this.hasGlobs = globRules;
+    }
+
+    /**
+     * Compiles given rules, that may be {@code null}.
+     */
+    static DependencyMatcher compile(List<DependencyExclusion> rules) {
+        if (rules == null || rules.isEmpty()) {
+            return EMPTY;
+        }
+        return new DependencyMatcher(new ArrayList<>(rules));
+    }
+
+    /**
+     * Returns {@code true} if this matcher has no rules.
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns {@code true} if this matcher matches any coordinates, as it has a {@code *:*} rule.
+     */
+    boolean matchesAll() {
+        return matchAll != null;
+    }
+
+    /**
+     * Returns {@code true} if any rule matches given coordinates.
+     */
+    boolean matches(String groupId, String artifactId) {
+        return match(groupId, artifactId) != null;
+    }
+
+    /**
+     * Returns the first declared rule matching given coordinates, or {@code null} if none matches.
+     */
+    DependencyExclusion match(String groupId, String artifactId) {
+        if (size == 0) {
+            return null;
+        }
+        String g = defaultAndTrim(groupId);
+        String a = defaultAndTrim(artifactId);
+        Rule best = matchAll;
+        Map<String, Rule> groupRules = exact.get(g);
+        if (groupRules != null) {
+            best = first(best, groupRules.get(a));
+        }
+        best = first(best, anyArtifactId.get(g));
+        best = first(best, anyGroupId.get(a));
+        if (hasGlobs) {
+            Node node = globs;
+            int i = 0;
+            while (node != null) {
+                for (Rule rule : node.rules) {
+                    if ((best == null || rule.order < best.order)
+                            && glob(rule.groupId, g)
+                            && glob(rule.artifactId, a)) {
+                        best = rule;
+                    }
+                }
+                node = i < g.length() ? node.child(g.charAt(i++)) : null;
+            }
+        }
+        return best != null ? best.source : null;
+    }
+
+    private static Rule first(Rule current, Rule candidate) {
+        if (candidate == null) {
+            return current;
+        }
+        return current == null || candidate.order < current.order ? candidate : current;
+    }
+
+    private static boolean isLiteral(String pattern) {
+        return pattern.indexOf('*') < 0;
+    }
+
+    /**
+     * Matches text against glob pattern, where {@code *} stands for any sequence of characters.
+     */
+    static boolean glob(String pattern, String text) {
+        int p = 0;
+        int t = 0;
+        int star = -1;
+        int mark = 0;
+        while (t < text.length()) {
+            if (p < pattern.length() && pattern.charAt(p) == '*') {
+                star = p++;
+                mark = t;
+            } else if (p < pattern.length() && pattern.charAt(p) == text.charAt(t)) {
+                p++;
+                t++;
+            } else if (star >= 0) {
+                p = star + 1;
+                t = ++mark;
+            } else {
+                return false;
+            }
+        }
+        while (p < pattern.length() && pattern.charAt(p) == '*') {
+            p++;
+        }
+        return p == pattern.length();
+    }
+
+    private static String defaultAndTrim(String string) {
+        return string == null ? "" : string.trim();
+    }
+}
@@ -0,0 +1,94 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.eclipse.aether.RepositorySystemSession;
+
+/**
+ * Session wide cache of imported BOMs, that maps {@code groupId:artifactId:version} of an imported BOM to the
+ * dependency management of its effective model. A BOM imported by many reactor projects (or by many executions) is
+ * resolved and built once per session. Instances live in {@link RepositorySystemSession#getData()}, hence they are
+ * discarded with the session.
+ * <p>
+ * The cache is bounded: when more than {@link #MAX_ENTRIES} BOMs are cached, the least recently used one is evicted.
+ * <p>
+ * This class is thread safe. Loading is done outside of lock, so concurrent executions may load the same BOM twice,
+ * but do not wait for each other while loading different ones.
+ */
+final class ImportedBoms {
+
+    /**
+     * Loads the managed dependencies of an imported BOM.
+     */
+    @FunctionalInterface
+    interface Loader {
+        List<Dependency> load() throws MojoExecutionException;
+    }
+
+    static final int MAX_ENTRIES = 256;
+
+    private static final String KEY = ImportedBoms.class.getName();
+
+    private final Map<String, List<Dependency>> entries;
+
+    private int hits;
+
+    private int misses;
+
+    ImportedBoms(int maxEntries) {
+        this.entries = new LinkedHashMap<String, List<Dependency>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<Dependency>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the instance bound to given session, or a new, unshared instance if there is no session.
+     */
+    static ImportedBoms forSession(RepositorySystemSession session) {
+        if (session == null) {
+            return new ImportedBoms(MAX_ENTRIES);
+        }
+        return (ImportedBoms) session.getData().computeIfAbsent(KEY, () -> new ImportedBoms(MAX_ENTRIES));
+    }
+
+    /**
+     * Returns the managed dependencies of the imported BOM with given key, loading them if they are not cached.
+     *
+     * @param key the {@code groupId:artifactId:version} of imported BOM
+     * @return the immutable list of managed dependencies, which must not be modified
+     */
+    List<Dependency> get(String key, Loader loader) throws MojoExecutionException {
+        synchronized (this) {
+            List<Dependency> dependencies = entries.get(key);
+            if (dependencies != null) {
+                hits++;
+                return dependencies;
+            }
+            misses++;
+        }
+        List<Dependency> loaded = Collections.unmodifiableList(loader.load());
+        synchronized (this) {
+            List<Dependency> dependencies = entries.putIfAbsent(key, loaded);
+            return dependencies != null ? dependencies : loaded;
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized int hits() {
+        return hits;
+    }
+
+    synchronized int misses() {
+        return misses;
+    }
+}
@@ -0,0 +1,76 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import java.util.List;
+import java.util.function.Supplier;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.eclipse.aether.RepositorySystemSession;
+
+/**
+ * Reactor wide union of artifacts requested with {@link BuildBomMojo.Scope#REACTOR}, computed once per session and
+ * shared by all executions that collect the same kinds of artifacts, instead of walking all the reactor projects in
+ * each of them. Instances live in {@link RepositorySystemSession#getData()}, hence they are discarded with the session.
+ * <p>
+ * The union is stored along with a stamp of the reactor: the references to projects and their artifact sets. If the
+ * stamp differs on next use (projects were added or removed, or their dependencies were resolved again), the union
+ * is computed again. Stamps are compared by identity, as reactor projects do not implement equality.
+ * <p>
+ * This class is thread safe: concurrent executions (like in a parallel build) wait for the one computing the union.
+ */
+final class ReactorArtifacts {
+
+    /**
+     * Computes the union of reactor artifacts.
+     */
+    @FunctionalInterface
+    interface Loader {
+        List<Coordinates> load() throws MojoExecutionException;
+    }
+
+    private static final String KEY_PREFIX = ReactorArtifacts.class.getName() + ".";
+
+    private List<Object> stamp;
+
+    private List<Coordinates> artifacts;
+
+    /**
+     * Returns the instance for given key bound to given session, or a new, unshared instance if there is no session.
+     *
+     * @param key identifies the kinds of collected artifacts, executions using the same key share the instance
+     */
+    static ReactorArtifacts forSession(RepositorySystemSession session, String key) {
+        if (session == null) {
+            return new ReactorArtifacts();
+        }
+        return (ReactorArtifacts) session.getData().computeIfAbsent(KEY_PREFIX + key, ReactorArtifacts::new);
+    }
+
+    /**
+     * Returns the union of reactor artifacts, loading it if it was not loaded yet, or the reactor stamp changed since
+     * it was loaded. The stamp is taken again after loading, as loading may replace the stamped references.
+     *
+     * @return the immutable union of reactor artifacts
+     */
+    synchronized List<Coordinates> get(Supplier<List<Object>> reactorStamp, Loader loader)
+            throws MojoExecutionException {
+        if (artifacts != null && sameStamp(stamp, reactorStamp.get())) {
+            return artifacts;
+        }
+        artifacts = null;
+        List<Coordinates> loaded = loader.load();
+        stamp = reactorStamp.get();
+        artifacts = loaded;
+        return artifacts;
+    }
+
+    private static boolean sameStamp(List<Object> stamp, List<Object> other) {
+        if (stamp.size() != other.size()) {
+            return false;
+        }
+        for (int i = 0; i < stamp.size(); i++) {
+            if (stamp.get(i) != other.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,232 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Compact index of a whole reactor, persisted by full builds and read by partial ones (limited with {@code -pl},
+ * {@code -rf} and alike), so that BOMs made of {@link BuildBomMojo.Scope#REACTOR} artifacts stay complete when only
+ * some of reactor projects are built. For each project, the index holds its artifact coordinates, the direct
+ * dependencies declared in its effective model, and hash of its POM file.
+ * <p>
+ * A module of index is stale if its POM file changed (or is gone) since index was written, and stale modules are not
+ * used. The index is a plain tab separated text file:
+ * <pre>
+ * # bom-builder reactor index 1
+ * module     groupId:artifactId:type:version    pomHash    pomPath
+ * dependency groupId:artifactId:type:classifier:version    scope    optional
+ * </pre>
+ * where POM paths are relative to the reactor root directory, and dependency lines belong to preceding module.
+ */
+final class ReactorIndex {
+
+    private static final String HEADER = "# bom-builder reactor index 1";
+
+    /**
+     * An indexed reactor project.
+     */
+    static final class Module {
+        private final String groupId;
+
+        private final String artifactId;
+
+        private final String type;
+
+        private final String version;
+
+        private final String pomHash;
+
+        private final String pomPath;
+
+        private final List<String[]> dependencies = new ArrayList<>();
+
+        private Module(
+                String groupId, String artifactId, String type, String version, String pomHash, String pomPath) {
+            this.groupId = groupId;
+            this.artifactId = artifactId;
+            this.type = type;
+            this.version = version;
+            this.pomHash = pomHash;
+            this.pomPath = pomPath;
+        }
+
+        /**
+         * Returns the {@code groupId:artifactId} of module.
+         */
+        String getKey() {
+            return groupId + ":" + artifactId;
+        }
+
+        String getType() {
+            return type;
+        }
+
+        /**
+         * Returns a new artifact of module.
+         */
+        Artifact getArtifact() {
+            return new DefaultArtifact(
+                    groupId, artifactId, version, null, type, null, new DefaultArtifactHandler(type));
+        }
+
+        /**
+         * Returns new artifacts of direct dependencies of module, in all scopes, with dependency trail set as if they
+         * were resolved.
+         */
+        List<Artifact> getDirectDependencies() {
+            String moduleId = getArtifact().getId();
+            ArrayList<Artifact> artifacts = new ArrayList<>(dependencies.size());
+            for (String[] dependency : dependencies) {
+                String[] coordinates = dependency[0].split(":", -1);
+                DefaultArtifact artifact = new DefaultArtifact(
+                        coordinates[0],
+                        coordinates[1],
+                        coordinates[4],
+                        dependency[1],
+                        coordinates[2],
+                        coordinates[3].isEmpty() ? null : coordinates[3],
+                        new DefaultArtifactHandler(coordinates[2]));
+                artifact.setOptional(Boolean.parseBoolean(dependency[2]));
+                artifact.setDependencyTrail(new ArrayList<>(Arrays.asList(moduleId, artifact.getId())));
+                artifacts.add(artifact);
+            }
+            return artifacts;
+        }
+
+        /**
+         * Returns {@code true} if POM file of module, relative to given reactor root directory, is not the one
+         * indexed.
+         */
+        boolean isStale(Path root) {
+            try {
+                return !pomHash.equals(hash(root.resolve(pomPath)));
+            } catch (IOException e) {
+                return true;
+            }
+        }
+    }
+
+    private final List<Module> modules;
+
+    private ReactorIndex(List<Module> modules) {
+        this.modules = Collections.unmodifiableList(modules);
+    }
+
+    List<Module> getModules() {
+        return modules;
+    }
+
+    /**
+     * Creates index of given reactor projects, having their POM files under given reactor root directory.
+     */
+    static ReactorIndex of(List<MavenProject> projects, Path root) throws IOException {
+        ArrayList<Module> modules = new ArrayList<>(projects.size());
+        for (MavenProject prj : projects) {
+            File pom = prj.getFile();
+            if (pom == null) {
+                continue;
+            }
+            Artifact artifact = prj.getArtifact();
+            Module module = new Module(
+                    artifact.getGroupId(),
+                    artifact.getArtifactId(),
+                    artifact.getType(),
+                    artifact.getBaseVersion(),
+                    hash(pom.toPath()),
+                    root.toAbsolutePath()
+                            .relativize(pom.toPath().toAbsolutePath())
+                            .toString()
+                            .replace(File.separatorChar, '/'));
+            for (Dependency dependency : prj.getDependencies()) {
+                module.dependencies.add(new String[] {
+                    dependency.getGroupId() + ":" + dependency.getArtifactId() + ":" + dependency.getType() + ":"
+                            + (dependency.getClassifier() != null ? dependency.getClassifier() : "") + ":"
+                            + dependency.getVersion(),
+                    dependency.getScope() != null ? dependency.getScope() : Artifact.SCOPE_COMPILE,
+                    String.valueOf(dependency.isOptional())
+                });
+            }
+            modules.add(module);
+        }
+        return new ReactorIndex(modules);
+    }
+
+    /**
+     * Reads index from given file.
+     *
+     * @return the index, or {@code null} if the file does not exist, or is not a supported index
+     */
+    static ReactorIndex read(Path indexFile) throws IOException {
+        if (!Files.isRegularFile(indexFile)) {
+            return null;
+        }
+        ArrayList<Module> modules = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8)) {
+            if (!HEADER.equals(reader.readLine())) {
+                return null;
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t", -1);
+                if ("module".equals(fields[0]) && fields.length == 4) {
+                    String[] coordinates = fields[1].split(":", -1);
+                    if (coordinates.length != 4) {
+                        return null;
+                    }
+                    modules.add(new Module(
+                            coordinates[0], coordinates[1], coordinates[2], coordinates[3], fields[2], fields[3]));
+                } else if ("dependency".equals(fields[0])
+                        && fields.length == 4
+                        && !modules.isEmpty()
+                        && fields[1].split(":", -1).length == 5) {
+                    modules.get(modules.size() - 1).dependencies.add(Arrays.copyOfRange(fields, 1, 4));
+                } else if (!line.isEmpty()) {
+                    return null;
+                }
+            }
+        }
+        return new ReactorIndex(modules);
+    }
+
+    /**
+     * Writes index into given file, unless the file already has the very same content.
+     *
+     * @return {@code true} if the file was (re)written, {@code false} if it was left untouched
+     */
+    boolean write(Path indexFile) throws IOException {
+        return AtomicFileWriter.write(indexFile, outputStream -> {
+            Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+            writer.write(HEADER);
+            writer.write('\n');
+            for (Module module : modules) {
+                writer.write("module\t" + module.groupId + ":" + module.artifactId + ":" + module.type + ":"
+                        + module.version + "\t" + module.pomHash + "\t" + module.pomPath + "\n");
+                for (String[] dependency : module.dependencies) {
+                    writer.write("dependency\t" + String.join("\t", dependency) + "\n");
+                }
+            }
+            writer.flush();
+        });
+    }
+
+    private static String hash(Path file) throws IOException {
+        BomFingerprint fingerprint = new BomFingerprint();
+        Files.copy(file, fingerprint.asOutputStream());
+        return fingerprint.toHex();
+    }
+}
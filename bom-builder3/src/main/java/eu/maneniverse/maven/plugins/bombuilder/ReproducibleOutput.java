@@ -0,0 +1,179 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import org.apache.maven.model.Contributor;
+import org.apache.maven.model.Developer;
+import org.apache.maven.model.Model;
+
+/**
+ * Support of reproducible BOM output, see {@link BuildBomMojo#reproducible}: BOM content that depends only on the
+ * collected artifacts and configuration, and not on encounter order, platform or time of build.
+ * <ul>
+ *     <li>Artifacts are ordered by {@link #ARTIFACT_ORDER}, a total order over
+ *     {@code groupId:artifactId:type:classifier} and version.</li>
+ *     <li>Properties are written sorted by name.</li>
+ *     <li>Line endings are {@code \n}, trailing whitespace of lines is dropped, and encoding is UTF-8.</li>
+ *     <li>Inherited model parts are deep copies, not shared with reactor models.</li>
+ *     <li>Modification time of written files is {@code project.build.outputTimestamp}.</li>
+ * </ul>
+ */
+final class ReproducibleOutput {
+
+    /**
+     * Total order of artifacts, that does not depend on their version scheme nor their handlers.
+     */
+    static final Comparator<Coordinates> ARTIFACT_ORDER = Comparator.comparing(Coordinates::getGroupId)
+            .thenComparing(Coordinates::getArtifactId)
+            .thenComparing(a -> a.getType() == null ? "" : a.getType())
+            .thenComparing(a -> a.getClassifier() == null ? "" : a.getClassifier())
+            .thenComparing(a -> a.getVersion() == null ? "" : a.getVersion());
+
+    private ReproducibleOutput() {}
+
+    /**
+     * Returns a copy of model to be written: with sorted properties, UTF-8 encoding and trimmed texts.
+     */
+    static Model normalize(Model model) {
+        Model result = model.clone();
+        result.setModelEncoding("UTF-8");
+        result.setName(trim(result.getName()));
+        result.setDescription(trim(result.getDescription()));
+        result.setUrl(trim(result.getUrl()));
+        result.setProperties(sorted(model.getProperties()));
+        for (Developer developer : result.getDevelopers()) {
+            developer.setProperties(sorted(developer.getProperties()));
+        }
+        for (Contributor contributor : result.getContributors()) {
+            contributor.setProperties(sorted(contributor.getProperties()));
+        }
+        return result;
+    }
+
+    /**
+     * Returns a copy of properties, that iterates its names in sorted order.
+     */
+    static Properties sorted(Properties properties) {
+        SortedProperties result = new SortedProperties();
+        if (properties != null) {
+            result.putAll(properties);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a writer normalizing line endings to {@code \n}, and dropping trailing whitespace of lines.
+     */
+    static Writer normalizing(Writer writer) {
+        return new NormalizingWriter(writer);
+    }
+
+    /**
+     * Returns the instant of given {@code project.build.outputTimestamp} value, either seconds since epoch or ISO 8601
+     * date and time, or {@code null} if value is not set or is a single character (which disables it, same as for
+     * other plugins).
+     */
+    static Instant outputTimestamp(String value) {
+        if (value == null || value.trim().length() < 2) {
+            return null;
+        }
+        String trimmed = value.trim();
+        try {
+            if (trimmed.chars().allMatch(Character::isDigit)) {
+                return Instant.ofEpochSecond(Long.parseLong(trimmed));
+            }
+            return OffsetDateTime.parse(trimmed).toInstant();
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid project.build.outputTimestamp value '" + value + "'", e);
+        }
+    }
+
+    /**
+     * Sets modification time of given file to given instant, if file exists and instant is not {@code null}.
+     */
+    static void touch(Path file, Instant timestamp) throws IOException {
+        if (timestamp != null && Files.isRegularFile(file)) {
+            Files.setLastModifiedTime(file, FileTime.from(timestamp));
+        }
+    }
+
+    private static String trim(String value) {
+        return value == null ? null : value.trim();
+    }
+
+    /**
+     * Properties iterating their names in sorted order, as model writers iterate {@link #keySet()}.
+     */
+    private static final class SortedProperties extends Properties {
+        @Override
+        public synchronized Set<Object> keySet() {
+            return Collections.unmodifiableSet(new TreeSet<>(super.keySet()));
+        }
+
+        @Override
+        public synchronized Enumeration<Object> keys() {
+            return Collections.enumeration(keySet());
+        }
+    }
+
+    /**
+     * Writer converting {@code \r\n} and {@code \r} to {@code \n}, and dropping spaces and tabs before line ends.
+     */
+    private static final class NormalizingWriter extends FilterWriter {
+        private final StringBuilder whitespace = new StringBuilder();
+
+        private boolean afterCarriageReturn;
+
+        private NormalizingWriter(Writer out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            if (c == '\n' && afterCarriageReturn) {
+                afterCarriageReturn = false;
+                return;
+            }
+            afterCarriageReturn = c == '\r';
+            if (c == '\r' || c == '\n') {
+                whitespace.setLength(0);
+                out.write('\n');
+            } else if (c == ' ' || c == '\t') {
+                whitespace.append((char) c);
+            } else {
+                if (whitespace.length() > 0) {
+                    out.write(whitespace.toString());
+                    whitespace.setLength(0);
+                }
+                out.write(c);
+            }
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            for (int i = off; i < off + len; i++) {
+                write(cbuf[i]);
+            }
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            for (int i = off; i < off + len; i++) {
+                write(str.charAt(i));
+            }
+        }
+    }
+}
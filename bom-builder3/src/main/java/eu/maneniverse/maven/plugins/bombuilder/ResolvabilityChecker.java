@@ -0,0 +1,102 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.ArtifactType;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.LocalArtifactRequest;
+import org.eclipse.aether.repository.LocalRepositoryManager;
+
+/**
+ * Checks that BOM entries are resolvable: that they are artifacts of reactor projects, or are present in local
+ * repository. Local repository is only looked up with {@link LocalRepositoryManager#find}, nothing is resolved and no
+ * remote repository is accessed, hence checking thousands of entries is cheap, and is done concurrently.
+ * <p>
+ * Reactor projects are matched by {@code groupId:artifactId:version} only, as their attached artifacts (having any
+ * classifier and type) are not known before they are built.
+ */
+final class ResolvabilityChecker {
+
+    private final RepositorySystemSession session;
+
+    private final Set<String> reactorKeys = new HashSet<>();
+
+    ResolvabilityChecker(RepositorySystemSession session, Collection<MavenProject> reactorProjects) {
+        this.session = session;
+        if (reactorProjects != null) {
+            for (MavenProject prj : reactorProjects) {
+                reactorKeys.add(prj.getGroupId() + ":" + prj.getArtifactId() + ":" + prj.getVersion());
+            }
+        }
+    }
+
+    /**
+     * Returns {@code true} if artifact is an artifact of reactor project, or is present in local repository.
+     */
+    boolean isResolvable(Coordinates artifact) {
+        String gav = artifact.getGroupId() + ":" + artifact.getArtifactId() + ":" + artifact.getVersion();
+        if (reactorKeys.contains(gav)) {
+            return true;
+        }
+        LocalRepositoryManager localRepositoryManager = session.getLocalRepositoryManager();
+        return localRepositoryManager != null
+                && localRepositoryManager
+                                .find(session, new LocalArtifactRequest(toArtifact(artifact), null, null))
+                                .getFile()
+                        != null;
+    }
+
+    /**
+     * Returns the artifacts that are not resolvable, in given order, checking them using given number of threads.
+     */
+    List<Coordinates> unresolvable(List<Coordinates> artifacts, int threads)
+            throws InterruptedException, ExecutionException {
+        if (threads <= 1 || artifacts.size() <= 1) {
+            ArrayList<Coordinates> result = new ArrayList<>();
+            for (Coordinates artifact : artifacts) {
+                if (!isResolvable(artifact)) {
+                    result.add(artifact);
+                }
+            }
+            return result;
+        }
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return pool.submit(() -> artifacts.parallelStream()
+                            .filter(artifact -> !isResolvable(artifact))
+                            .collect(Collectors.toList()))
+                    .get();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Returns the resolver artifact of BOM entry, with extension (and default classifier) of its type, as it is
+     * stored in local repository.
+     */
+    private Artifact toArtifact(Coordinates artifact) {
+        String type = artifact.getType() != null ? artifact.getType() : "jar";
+        ArtifactType artifactType =
+                session.getArtifactTypeRegistry() != null ? session.getArtifactTypeRegistry().get(type) : null;
+        String classifier = artifact.getClassifier();
+        if ((classifier == null || classifier.isEmpty()) && artifactType != null) {
+            classifier = artifactType.getClassifier();
+        }
+        return new DefaultArtifact(
+                artifact.getGroupId(),
+                artifact.getArtifactId(),
+                classifier,
+                artifactType != null ? artifactType.getExtension() : type,
+                artifact.getVersion());
+    }
+}
@@ -0,0 +1,153 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Properties;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Exclusion;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * Writes BOM without having the whole BOM model in memory: the model without dependency management entries (the
+ * header and properties) is written using {@link MavenXpp3Writer}, with an empty dependency management, in whose place
+ * the entries are written as they are iterated. Hence everything but the entries is written by MavenXpp3Writer itself,
+ * in its order, and output formatting of entries is same as that of {@link MavenXpp3Writer}.
+ */
+class StreamingBomWriter {
+
+    /**
+     * The empty dependency management of project, as written by MavenXpp3Writer (profiles have deeper indentation).
+     */
+    private static final String EMPTY_DEPENDENCY_MANAGEMENT = "\n  <dependencyManagement />\n";
+
+    /**
+     * Writes BOM to given file, unless the file already has the very same content.
+     *
+     * @param header the BOM header model, its properties and dependency management are ignored
+     * @param properties the properties to write, may be empty
+     * @param dependencies the dependency management entries, are iterated only once
+     * @param outputFile the file to write to
+     * @return {@code true} if the file was (re)written, {@code false} if it was left untouched
+     */
+    boolean write(Model header, Properties properties, Iterable<Dependency> dependencies, File outputFile)
+            throws MojoExecutionException {
+        return write(header, properties, dependencies, outputFile, false);
+    }
+
+    /**
+     * Same as {@link #write(Model, Properties, Iterable, File)}, but if reproducible, line endings are normalized
+     * while writing, see {@link ReproducibleOutput}.
+     */
+    boolean write(
+            Model header,
+            Properties properties,
+            Iterable<Dependency> dependencies,
+            File outputFile,
+            boolean reproducible)
+            throws MojoExecutionException {
+        try {
+            return AtomicFileWriter.write(outputFile.toPath(), outputStream -> {
+                Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+                if (reproducible) {
+                    writer = ReproducibleOutput.normalizing(writer);
+                }
+                write(header, properties, dependencies, writer);
+                writer.flush();
+            });
+        } catch (IOException e) {
+            throw new MojoExecutionException("Unable to write pom file.", e);
+        }
+    }
+
+    void write(Model header, Properties properties, Iterable<Dependency> dependencies, Writer writer)
+            throws IOException {
+        // header is shared, hence a copy is completed; properties are not copied, to keep their order
+        Model model = header.clone();
+        model.setProperties(properties);
+        model.setDependencyManagement(new DependencyManagement());
+        StringWriter modelWriter = new StringWriter();
+        new MavenXpp3Writer().write(modelWriter, model);
+        String modelString = modelWriter.toString();
+        int start = modelString.indexOf(EMPTY_DEPENDENCY_MANAGEMENT);
+        if (start < 0) {
+            throw new IOException("Unexpected BOM model: " + modelString);
+        }
+        Iterator<Dependency> iterator = dependencies.iterator();
+        if (!iterator.hasNext()) {
+            // as written by MavenXpp3Writer for dependency management without entries
+            writer.write(modelString);
+            return;
+        }
+        writer.write(modelString, 0, start + 1);
+        writer.write("  <dependencyManagement>\n");
+        writer.write("    <dependencies>\n");
+        while (iterator.hasNext()) {
+            Dependency dependency = iterator.next();
+            writer.write("      <dependency>\n");
+            writeElement(writer, "        ", "groupId", dependency.getGroupId());
+            writeElement(writer, "        ", "artifactId", dependency.getArtifactId());
+            writeElement(writer, "        ", "version", dependency.getVersion());
+            if (!"jar".equals(dependency.getType())) {
+                writeElement(writer, "        ", "type", dependency.getType());
+            }
+            writeElement(writer, "        ", "classifier", dependency.getClassifier());
+            writeElement(writer, "        ", "scope", dependency.getScope());
+            writeElement(writer, "        ", "systemPath", dependency.getSystemPath());
+            if (!dependency.getExclusions().isEmpty()) {
+                writer.write("        <exclusions>\n");
+                for (Exclusion exclusion : dependency.getExclusions()) {
+                    writer.write("          <exclusion>\n");
+                    writeElement(writer, "            ", "groupId", exclusion.getGroupId());
+                    writeElement(writer, "            ", "artifactId", exclusion.getArtifactId());
+                    writer.write("          </exclusion>\n");
+                }
+                writer.write("        </exclusions>\n");
+            }
+            writeElement(writer, "        ", "optional", dependency.getOptional());
+            writer.write("      </dependency>\n");
+        }
+        writer.write("    </dependencies>\n");
+        writer.write("  </dependencyManagement>\n");
+        int end = start + EMPTY_DEPENDENCY_MANAGEMENT.length();
+        writer.write(modelString, end, modelString.length() - end);
+    }
+
+    private static void writeElement(Writer writer, String indent, String name, String value) throws IOException {
+        if (value != null) {
+            writer.write(indent);
+            writer.write('<');
+            writer.write(name);
+            writer.write('>');
+            writeText(writer, value);
+            writer.write("</");
+            writer.write(name);
+            writer.write(">\n");
+        }
+    }
+
+    /**
+     * Writes escaped text, the same way as MXSerializer does.
+     */
+    private static void writeText(Writer writer, String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '&') {
+                writer.write("&amp;");
+            } else if (c == '<') {
+                writer.write("&lt;");
+            } else if (c == '>' && i > 1 && text.charAt(i - 1) == ']' && text.charAt(i - 2) == ']') {
+                writer.write("&gt;");
+            } else {
+                writer.write(c);
+            }
+        }
+    }
+}
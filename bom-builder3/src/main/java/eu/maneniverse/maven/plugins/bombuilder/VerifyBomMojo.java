@@ -0,0 +1,177 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.versioning.ComparableVersion;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.LocalRepositoryManager;
+
+/**
+ * Verifies the BOM against a baseline: the dependencies are collected exactly as {@code build-bom} would collect them,
+ * but instead of writing the BOM, its entries are compared with the ones of an expected BOM file or of the last
+ * released BOM present in local repository. Additions, removals and version changes are reported, and the build fails
+ * on the first one that is not allowed.
+ */
+@Mojo(name = "verify-bom", defaultPhase = LifecyclePhase.VERIFY, threadSafe = true)
+public class VerifyBomMojo extends BuildBomMojo {
+
+    /**
+     * The expected BOM file. If there are more BOMs defined, a directory having the expected BOMs named as their
+     * output files. If not set, the highest released version of BOM that is lower than current one is looked up in
+     * local repository.
+     */
+    @Parameter(property = "bom.baseline")
+    File baseline;
+
+    /**
+     * The version of BOM in local repository to compare with, instead of the last released one. Ignored if
+     * {@link #baseline} is set.
+     */
+    @Parameter(property = "bom.baselineVersion")
+    String baselineVersion;
+
+    /**
+     * Whether dependencies missing in baseline are allowed.
+     */
+    @Parameter(property = "bom.allowAdditions")
+    boolean allowAdditions;
+
+    /**
+     * Whether baseline dependencies missing in BOM are allowed.
+     */
+    @Parameter(property = "bom.allowRemovals")
+    boolean allowRemovals;
+
+    /**
+     * Whether dependency versions different from baseline are allowed.
+     */
+    @Parameter(property = "bom.allowVersionChanges")
+    boolean allowVersionChanges;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        getLog().debug("Verifying BOM");
+        long start = System.nanoTime();
+        List<Bom> targets = initialize();
+        resolveCurrentProjectDependencies();
+        List<Coordinates> projectArtifacts = collectArtifacts();
+        for (Bom bom : targets) {
+            verify(bom, projectArtifacts, targets.size() > 1);
+        }
+        getLog().info("BOM verified in " + (System.nanoTime() - start) / 1_000_000L + " ms");
+    }
+
+    private void verify(Bom bom, List<Coordinates> projectArtifacts, boolean many) throws MojoExecutionException {
+        String gav = bom.groupId + ":" + bom.artifactId + ":" + bom.version;
+        Path baselineFile = baselineFile(bom, many);
+        if (baselineFile == null) {
+            getLog().warn("No baseline found for BOM " + gav + ", skipping verification");
+            return;
+        }
+        List<BomDiff.Entry> expected;
+        try {
+            expected = BomDiff.read(baselineFile);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Unable to read baseline " + baselineFile, e);
+        }
+        List<BomDiff.Entry> actual = BomDiff.entries(includedArtifacts(bom, projectArtifacts));
+        int differences = BomDiff.compare(expected, actual, new BomDiff.Listener() {
+            @Override
+            public void added(BomDiff.Entry entry) throws MojoExecutionException {
+                if (!allowAdditions) {
+                    throw drift(gav, baselineFile, "adds " + entry);
+                }
+                getLog().info("+ " + entry);
+            }
+
+            @Override
+            public void removed(BomDiff.Entry entry) throws MojoExecutionException {
+                if (!allowRemovals) {
+                    throw drift(gav, baselineFile, "removes " + entry);
+                }
+                getLog().info("- " + entry);
+            }
+
+            @Override
+            public void changed(BomDiff.Entry expected, BomDiff.Entry actual) throws MojoExecutionException {
+                if (!allowVersionChanges) {
+                    throw drift(
+                            gav,
+                            baselineFile,
+                            "changes " + expected.getKey() + " from " + expected.getVersion() + " to "
+                                    + actual.getVersion());
+                }
+                getLog().info("~ " + expected.getKey() + ": " + expected.getVersion() + " -> " + actual.getVersion());
+            }
+        });
+        getLog().info("BOM " + gav + " matches baseline " + baselineFile
+                + (differences > 0 ? " with " + differences + " allowed difference(s)" : ""));
+    }
+
+    private static MojoExecutionException drift(String gav, Path baselineFile, String difference) {
+        return new MojoExecutionException("BOM " + gav + " " + difference + ", compared to baseline " + baselineFile);
+    }
+
+    /**
+     * Returns the baseline of given BOM, or {@code null} if there is none.
+     */
+    private Path baselineFile(Bom bom, boolean many) throws MojoExecutionException {
+        if (baseline != null) {
+            Path file = baseline.toPath();
+            if (many || Files.isDirectory(file)) {
+                file = file.resolve(bom.outputFilename);
+            }
+            if (!Files.isRegularFile(file)) {
+                throw new MojoExecutionException("Baseline " + file + " does not exist");
+            }
+            return file;
+        }
+        LocalRepositoryManager localRepositoryManager =
+                mavenSession.getRepositorySession().getLocalRepositoryManager();
+        Path basedir = localRepositoryManager.getRepository().getBasedir().toPath();
+        String version = baselineVersion != null ? baselineVersion : lastReleasedVersion(bom, basedir);
+        if (version == null) {
+            return null;
+        }
+        Path file = basedir.resolve(localRepositoryManager.getPathForLocalArtifact(
+                new DefaultArtifact(bom.groupId, bom.artifactId, bom.classifier, "pom", version)));
+        return Files.isRegularFile(file) ? file : null;
+    }
+
+    /**
+     * Returns the highest non-snapshot version of BOM in local repository that is lower than the version of BOM, or
+     * {@code null} if there is none.
+     */
+    private String lastReleasedVersion(Bom bom, Path basedir) throws MojoExecutionException {
+        Path versions = basedir.resolve(bom.groupId.replace('.', '/')).resolve(bom.artifactId);
+        if (!Files.isDirectory(versions)) {
+            return null;
+        }
+        ComparableVersion current = new ComparableVersion(bom.version);
+        ComparableVersion last = null;
+        try (DirectoryStream<Path> directories = Files.newDirectoryStream(versions, Files::isDirectory)) {
+            for (Path directory : directories) {
+                String name = directory.getFileName().toString();
+                if (name.endsWith(Artifact.SNAPSHOT_VERSION)) {
+                    continue;
+                }
+                ComparableVersion version = new ComparableVersion(name);
+                if (version.compareTo(current) < 0 && (last == null || version.compareTo(last) > 0)) {
+                    last = version;
+                }
+            }
+        } catch (IOException e) {
+            throw new MojoExecutionException("Unable to list versions in " + versions, e);
+        }
+        return last != null ? last.toString() : null;
+    }
+}
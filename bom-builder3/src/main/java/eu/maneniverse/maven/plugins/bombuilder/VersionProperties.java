@@ -0,0 +1,259 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Version properties of BOM entries, as used by both {@code addVersionProperties} and {@code usePropertiesForVersion}.
+ * Entries are grouped by groupId in a single pass over them (sorted by groupId and artifactId, if they are not sorted
+ * yet), and property names are assigned according to {@link BuildBomMojo.VersionPropertyNaming}:
+ * <ul>
+ *     <li>GROUP - {@code version.groupId} if all artifacts in group have same version, otherwise
+ *     {@code version.groupId.artifactId} for each artifact in group</li>
+ *     <li>ARTIFACT - {@code version.groupId.artifactId} for each artifact</li>
+ *     <li>SHARED - as GROUP, but adjacent groups having same version and a common groupId prefix (of at least two
+ *     segments) share one property named after the common prefix, like {@code version.org.eclipse.jetty} for
+ *     {@code org.eclipse.jetty} and {@code org.eclipse.jetty.websocket}</li>
+ * </ul>
+ * An entry gets no property, if its artifact has more entries (like with different classifiers) with different
+ * versions.
+ */
+final class VersionProperties {
+
+    private static final String PREFIX = "version.";
+
+    private final LinkedHashMap<String, String> properties = new LinkedHashMap<>();
+
+    private final String[] propertyNames;
+
+    /**
+     * The artifacts of one groupId: their artifactIds, versions and the indexes of entries per artifact.
+     */
+    private static final class Group {
+        private final String groupId;
+
+        private final ArrayList<String> artifactIds = new ArrayList<>();
+
+        private final ArrayList<String> versions = new ArrayList<>();
+
+        private final ArrayList<int[]> entries = new ArrayList<>();
+
+        private boolean sameVersion = true;
+
+        private Group(String groupId) {
+            this.groupId = groupId;
+        }
+
+        private void add(int index, String artifactId, String version) {
+            int last = artifactIds.size() - 1;
+            if (last >= 0 && artifactIds.get(last).equals(artifactId)) {
+                int[] indexes = entries.get(last);
+                indexes = Arrays.copyOf(indexes, indexes.length + 1);
+                indexes[indexes.length - 1] = index;
+                entries.set(last, indexes);
+                if (!Objects.equals(versions.get(last), version)) {
+                    // artifact has entries with different versions, that cannot share a property
+                    versions.set(last, null);
+                    sameVersion = false;
+                }
+            } else {
+                if (last >= 0 && !Objects.equals(versions.get(0), version)) {
+                    sameVersion = false;
+                }
+                artifactIds.add(artifactId);
+                versions.add(version);
+                entries.add(new int[] {index});
+            }
+        }
+    }
+
+    private <T> VersionProperties(
+            List<T> items,
+            Function<T, String> groupIdFunction,
+            Function<T, String> artifactIdFunction,
+            Function<T, String> versionFunction,
+            BuildBomMojo.VersionPropertyNaming naming) {
+        this.propertyNames = new String[items.size()];
+        int[] order = order(items, groupIdFunction, artifactIdFunction);
+        Set<String> usedNames = new HashSet<>();
+        ArrayList<Group> run = new ArrayList<>();
+        String runPrefix = null;
+        Group group = null;
+        for (int index : order) {
+            T item = items.get(index);
+            String groupId = groupIdFunction.apply(item);
+            if (group == null || !group.groupId.equals(groupId)) {
+                if (group != null) {
+                    runPrefix = addGroup(group, naming, run, runPrefix, usedNames);
+                }
+                group = new Group(groupId);
+            }
+            group.add(index, artifactIdFunction.apply(item), versionFunction.apply(item));
+        }
+        if (group != null) {
+            runPrefix = addGroup(group, naming, run, runPrefix, usedNames);
+        }
+        flushRun(run, runPrefix, usedNames);
+    }
+
+    /**
+     * Computes version properties of given items (dependencies or artifacts, whose coordinates are provided by
+     * passed in functions).
+     */
+    static <T> VersionProperties of(
+            List<T> items,
+            Function<T, String> groupIdFunction,
+            Function<T, String> artifactIdFunction,
+            Function<T, String> versionFunction,
+            BuildBomMojo.VersionPropertyNaming naming) {
+        return new VersionProperties(items, groupIdFunction, artifactIdFunction, versionFunction, naming);
+    }
+
+    /**
+     * Returns the properties, names mapped to versions, sorted by groupId and artifactId they belong to.
+     */
+    Map<String, String> getProperties() {
+        return properties;
+    }
+
+    /**
+     * Returns the name of version property of item at given index, or {@code null} if item has no property.
+     */
+    String getPropertyName(int index) {
+        return propertyNames[index];
+    }
+
+    /**
+     * Returns the indexes of items sorted by groupId and artifactId, without sorting if they are sorted already.
+     */
+    private static <T> int[] order(
+            List<T> items, Function<T, String> groupIdFunction, Function<T, String> artifactIdFunction) {
+        int[] order = new int[items.size()];
+        boolean sorted = true;
+        String previousGroupId = null;
+        String previousArtifactId = null;
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+            String groupId = groupIdFunction.apply(items.get(i));
+            String artifactId = artifactIdFunction.apply(items.get(i));
+            if (sorted && previousGroupId != null) {
+                int c = previousGroupId.compareTo(groupId);
+                sorted = c < 0 || (c == 0 && previousArtifactId.compareTo(artifactId) <= 0);
+            }
+            previousGroupId = groupId;
+            previousArtifactId = artifactId;
+        }
+        if (sorted) {
+            return order;
+        }
+        Comparator<Integer> comparator = Comparator.<Integer, String>comparing(
+                        i -> groupIdFunction.apply(items.get(i)))
+                .thenComparing(i -> artifactIdFunction.apply(items.get(i)));
+        return Arrays.stream(order).boxed().sorted(comparator).mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Adds properties of a group. With SHARED naming, groups having same version are kept in run while they have a
+     * common prefix, and are added once the run ends.
+     *
+     * @return the common prefix of run
+     */
+    private String addGroup(
+            Group group,
+            BuildBomMojo.VersionPropertyNaming naming,
+            List<Group> run,
+            String runPrefix,
+            Set<String> usedNames) {
+        boolean groupProperty = group.sameVersion && naming != BuildBomMojo.VersionPropertyNaming.ARTIFACT;
+        if (naming != BuildBomMojo.VersionPropertyNaming.SHARED || !groupProperty) {
+            flushRun(run, runPrefix, usedNames);
+            addGroup(group, groupProperty, usedNames);
+            return null;
+        }
+        if (!run.isEmpty()) {
+            String prefix = commonPrefix(runPrefix, group.groupId);
+            if (prefix != null && Objects.equals(run.get(0).versions.get(0), group.versions.get(0))) {
+                run.add(group);
+                return prefix;
+            }
+            flushRun(run, runPrefix, usedNames);
+        }
+        run.add(group);
+        return group.groupId;
+    }
+
+    private void flushRun(List<Group> run, String runPrefix, Set<String> usedNames) {
+        if (run.size() > 1) {
+            String name = PREFIX + runPrefix;
+            if (usedNames.add(name)) {
+                properties.put(name, run.get(0).versions.get(0));
+                for (Group group : run) {
+                    for (int[] indexes : group.entries) {
+                        assign(indexes, name);
+                    }
+                }
+                run.clear();
+                return;
+            }
+        }
+        for (Group group : run) {
+            addGroup(group, true, usedNames);
+        }
+        run.clear();
+    }
+
+    private void addGroup(Group group, boolean groupProperty, Set<String> usedNames) {
+        if (groupProperty) {
+            String name = PREFIX + group.groupId;
+            usedNames.add(name);
+            properties.put(name, group.versions.get(0));
+            for (int[] indexes : group.entries) {
+                assign(indexes, name);
+            }
+        } else {
+            String groupPrefix = PREFIX + group.groupId + ".";
+            for (int i = 0; i < group.artifactIds.size(); i++) {
+                String version = group.versions.get(i);
+                if (version != null) {
+                    String name = groupPrefix + group.artifactIds.get(i);
+                    usedNames.add(name);
+                    properties.put(name, version);
+                    assign(group.entries.get(i), name);
+                }
+            }
+        }
+    }
+
+    private void assign(int[] indexes, String name) {
+        for (int index : indexes) {
+            propertyNames[index] = name;
+        }
+    }
+
+    /**
+     * Returns the common prefix of groupIds, made of whole segments, or {@code null} if it has less than two segments.
+     */
+    private static String commonPrefix(String prefix, String groupId) {
+        int end = 0;
+        int segments = 0;
+        int length = Math.min(prefix.length(), groupId.length());
+        int i = 0;
+        while (i < length && prefix.charAt(i) == groupId.charAt(i)) {
+            i++;
+            boolean prefixBoundary = i == prefix.length() || prefix.charAt(i) == '.';
+            if (prefixBoundary && (i == groupId.length() || groupId.charAt(i) == '.')) {
+                end = i;
+                segments++;
+            }
+        }
+        return segments >= 2 ? prefix.substring(0, end) : null;
+    }
+}
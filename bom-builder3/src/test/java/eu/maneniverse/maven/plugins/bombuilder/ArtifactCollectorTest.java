@@ -0,0 +1,151 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.ArtifactHandler;
+import org.junit.jupiter.api.Test;
+
+public class ArtifactCollectorTest {
+
+    @Test
+    public void testDistinctVersionsAreKept() {
+        ArtifactCollector collector = new ArtifactCollector();
+        ArtifactCollector.Source source = collector.source(0);
+        source.add(createArtifact("org.test", "test", "1.0", 1));
+        source.add(createArtifact("org.test", "test", "1.0", 2));
+        source.add(createArtifact("org.test", "test", "2.0", 1));
+        source.add(createArtifact("org.test", "other", "1.0", 1));
+
+        assertVersions(collector.toSortedList(), "org.test:other:1.0", "org.test:test:1.0", "org.test:test:2.0");
+    }
+
+    @Test
+    public void testNullClassifierEqualsEmptyOne() {
+        ArtifactCollector collector = new ArtifactCollector();
+        ArtifactCollector.Source source = collector.source(0);
+        source.add(createArtifact("org.test", "test", "1.0", 1));
+        source.addCollected(Arrays.asList(
+                new Coordinates("org.test", "test", "1.0", "jar", null, 1),
+                new Coordinates("org.test", "test", "1.0", "jar", "tests", 1)));
+
+        assertEquals(2, collector.size());
+    }
+
+    @Test
+    public void testFilteredArtifactsAreDropped() {
+        ArtifactCollector collector = new ArtifactCollector(artifact -> !"other".equals(artifact.getArtifactId()));
+        ArtifactCollector.Source source = collector.source(0);
+        source.add(createArtifact("org.test", "other", "1.0", 1));
+        source.add(createArtifact("org.test", "test", "1.0", 1));
+
+        assertEquals(1, collector.size());
+        assertVersions(collector.toOrderedList(), "org.test:test:1.0");
+    }
+
+    @Test
+    public void testOneVersionPerKey() {
+        ArtifactCollector collector = collect();
+        List<ArtifactCollector.Conflict> conflicts = new ArrayList<>();
+
+        collector.source(3).add(createArtifact("org.test", "other", "1.0", 0));
+
+        assertEquals(4, collector.toSortedList().size());
+        assertVersions(
+                collector.toSortedList(BuildBomMojo.ConflictPolicy.HIGHEST, conflicts),
+                "org.test:other:1.0",
+                "org.test:test:10.0");
+        assertEquals(1, conflicts.size());
+    }
+
+    @Test
+    public void testHighest() {
+        List<ArtifactCollector.Conflict> conflicts = new ArrayList<>();
+
+        assertVersions(
+                collect().toSortedList(BuildBomMojo.ConflictPolicy.HIGHEST, conflicts), "org.test:test:10.0");
+        assertEquals(1, conflicts.size());
+        assertEquals("org.test:test:jar:: 2.0, 10.0, 9.0 -> 10.0", conflicts.get(0).toString());
+    }
+
+    @Test
+    public void testNearest() {
+        List<ArtifactCollector.Conflict> conflicts = new ArrayList<>();
+
+        assertVersions(
+                collect().toSortedList(BuildBomMojo.ConflictPolicy.NEAREST, conflicts), "org.test:test:9.0");
+        assertEquals("9.0", conflicts.get(0).getWinner().getVersion());
+    }
+
+    @Test
+    public void testFirst() {
+        List<ArtifactCollector.Conflict> conflicts = new ArrayList<>();
+
+        assertVersions(collect().toSortedList(BuildBomMojo.ConflictPolicy.FIRST, conflicts), "org.test:test:2.0");
+    }
+
+    @Test
+    public void testFail() {
+        List<ArtifactCollector.Conflict> conflicts = new ArrayList<>();
+
+        assertTrue(collect().toSortedList(BuildBomMojo.ConflictPolicy.FAIL, conflicts).isEmpty());
+        assertEquals(1, conflicts.size());
+        assertNull(conflicts.get(0).getWinner());
+        assertEquals(3, conflicts.get(0).getCandidates().size());
+    }
+
+    @Test
+    public void testEncounterOrderDoesNotDependOnOrderOfAdding() {
+        ArtifactCollector collector = new ArtifactCollector();
+        ArtifactCollector.Source first = collector.source(0);
+        ArtifactCollector.Source second = collector.source(1);
+        second.add(createArtifact("org.test", "test", "2.0", 1));
+        first.add(createArtifact("org.test", "other", "1.0", 1));
+        first.add(createArtifact("org.test", "test", "1.0", 1));
+        second.add(createArtifact("org.test", "test", "1.0", 1));
+        List<ArtifactCollector.Conflict> conflicts = new ArrayList<>();
+
+        assertVersions(collector.toOrderedList(), "org.test:other:1.0", "org.test:test:1.0", "org.test:test:2.0");
+        assertVersions(
+                collector.toSortedList(BuildBomMojo.ConflictPolicy.FIRST, conflicts),
+                "org.test:other:1.0",
+                "org.test:test:1.0");
+    }
+
+    /**
+     * Collects three versions: 2.0 first and as transitive dependency, 10.0 highest, and 9.0 nearest.
+     */
+    private ArtifactCollector collect() {
+        ArtifactCollector collector = new ArtifactCollector();
+        collector.source(0).addAll(Arrays.asList(
+                createArtifact("org.test", "test", "2.0", 2), createArtifact("org.test", "test", "10.0", 2)));
+        collector.source(1).add(createArtifact("org.test", "test", "9.0", 1));
+        return collector;
+    }
+
+    private void assertVersions(List<Coordinates> artifacts, String... expected) {
+        assertEquals(expected.length, artifacts.size());
+        for (int i = 0; i < expected.length; i++) {
+            Coordinates artifact = artifacts.get(i);
+            assertEquals(
+                    expected[i], artifact.getGroupId() + ":" + artifact.getArtifactId() + ":" + artifact.getVersion());
+        }
+    }
+
+    private Artifact createArtifact(String groupId, String artifactId, String version, int depth) {
+        Artifact artifact =
+                new DefaultArtifact(groupId, artifactId, version, "compile", "jar", "", (ArtifactHandler) null);
+        List<String> trail = new ArrayList<>();
+        for (int i = 0; i <= depth; i++) {
+            trail.add("trail" + i);
+        }
+        artifact.setDependencyTrail(trail);
+        return artifact;
+    }
+}
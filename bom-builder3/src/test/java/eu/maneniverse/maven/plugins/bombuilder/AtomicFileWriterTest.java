@@ -0,0 +1,70 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class AtomicFileWriterTest {
+
+    @Test
+    public void testUnchangedFileIsLeftUntouched(@TempDir Path tempDir) throws Exception {
+        Path target = tempDir.resolve("sub").resolve("bom-pom.xml");
+
+        assertTrue(write(target, "<project/>"));
+        FileTime lastModified = FileTime.fromMillis(1000L);
+        Files.setLastModifiedTime(target, lastModified);
+
+        assertFalse(write(target, "<project/>"));
+        assertEquals(lastModified, Files.getLastModifiedTime(target));
+        assertOnlyTarget(target);
+    }
+
+    @Test
+    public void testChangedFileIsRewritten(@TempDir Path tempDir) throws Exception {
+        Path target = tempDir.resolve("bom-pom.xml");
+
+        assertTrue(write(target, "<project/>"));
+        // same size, different content
+        assertTrue(write(target, "<pr0ject/>"));
+        assertEquals("<pr0ject/>", new String(Files.readAllBytes(target), StandardCharsets.UTF_8));
+        assertTrue(write(target, "<project></project>"));
+        assertEquals("<project></project>", new String(Files.readAllBytes(target), StandardCharsets.UTF_8));
+        assertOnlyTarget(target);
+    }
+
+    @Test
+    public void testFailedWriteKeepsExistingFile(@TempDir Path tempDir) throws Exception {
+        Path target = tempDir.resolve("bom-pom.xml");
+        write(target, "<project/>");
+
+        IOException e = assertThrows(IOException.class, () -> AtomicFileWriter.write(target, outputStream -> {
+            outputStream.write("<proj".getBytes(StandardCharsets.UTF_8));
+            throw new IOException("failure");
+        }));
+
+        assertEquals("failure", e.getMessage());
+        assertEquals("<project/>", new String(Files.readAllBytes(target), StandardCharsets.UTF_8));
+        assertOnlyTarget(target);
+    }
+
+    private boolean write(Path target, String content) throws IOException {
+        return AtomicFileWriter.write(
+                target, outputStream -> outputStream.write(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private void assertOnlyTarget(Path target) throws IOException {
+        try (Stream<Path> files = Files.list(target.getParent())) {
+            assertEquals(1, files.count());
+        }
+    }
+}
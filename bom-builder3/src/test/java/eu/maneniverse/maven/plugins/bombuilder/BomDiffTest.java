@@ -0,0 +1,109 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class BomDiffTest {
+
+    @Test
+    public void testReadsDependencyManagementOnly(@TempDir Path tempDir) throws Exception {
+        Path bom = tempDir.resolve("bom.xml");
+        Files.write(
+                bom,
+                ("<project>\n"
+                                + "  <parent><groupId>org.parent</groupId><version>9</version></parent>\n"
+                                + "  <version>2.0</version>\n"
+                                + "  <properties><version.org.b>1.1</version.org.b></properties>\n"
+                                + "  <dependencies>\n"
+                                + "    <dependency><groupId>org.z</groupId><artifactId>z</artifactId></dependency>\n"
+                                + "  </dependencies>\n"
+                                + "  <dependencyManagement>\n"
+                                + "    <dependencies>\n"
+                                + "      <dependency>\n"
+                                + "        <groupId>org.b</groupId><artifactId>b</artifactId>\n"
+                                + "        <version>${version.org.b}</version>\n"
+                                + "        <exclusions><exclusion><groupId>x</groupId><artifactId>x</artifactId>"
+                                + "</exclusion></exclusions>\n"
+                                + "      </dependency>\n"
+                                + "      <dependency>\n"
+                                + "        <groupId>org.a</groupId><artifactId>a</artifactId>\n"
+                                + "        <version>${project.version}</version>\n"
+                                + "        <type>test-jar</type><classifier>tests</classifier>\n"
+                                + "      </dependency>\n"
+                                + "    </dependencies>\n"
+                                + "  </dependencyManagement>\n"
+                                + "</project>\n")
+                        .getBytes(StandardCharsets.UTF_8));
+
+        List<BomDiff.Entry> entries = BomDiff.read(bom);
+
+        assertEquals(2, entries.size());
+        assertEquals("org.a:a:test-jar:tests:2.0", entries.get(0).toString());
+        assertEquals("org.b:b:jar::1.1", entries.get(1).toString());
+    }
+
+    @Test
+    public void testComparesSortedEntries() throws Exception {
+        List<BomDiff.Entry> expected = BomDiff.entries(Arrays.asList(
+                createArtifact("b", "1.0"), createArtifact("a", "1.0"), createArtifact("c", "1.0")));
+        List<BomDiff.Entry> actual = BomDiff.entries(Arrays.asList(
+                createArtifact("d", "1.0"), createArtifact("c", "2.0"), createArtifact("a", "1.0")));
+        List<String> differences = new ArrayList<>();
+
+        int count = BomDiff.compare(expected, actual, new BomDiff.Listener() {
+            @Override
+            public void added(BomDiff.Entry actual) {
+                differences.add("+" + actual);
+            }
+
+            @Override
+            public void removed(BomDiff.Entry expected) {
+                differences.add("-" + expected);
+            }
+
+            @Override
+            public void changed(BomDiff.Entry expected, BomDiff.Entry actual) {
+                differences.add("~" + actual);
+            }
+        });
+
+        assertEquals(3, count);
+        assertEquals(
+                Arrays.asList("-org.test:b:jar::1.0", "~org.test:c:jar::2.0", "+org.test:d:jar::1.0"), differences);
+    }
+
+    @Test
+    public void testListenerStopsComparison() {
+        List<BomDiff.Entry> expected = BomDiff.entries(Arrays.asList(createArtifact("a", "1.0")));
+        List<BomDiff.Entry> actual = BomDiff.entries(Arrays.asList(createArtifact("b", "1.0")));
+
+        assertThrows(MojoExecutionException.class, () -> BomDiff.compare(expected, actual, new BomDiff.Listener() {
+            @Override
+            public void added(BomDiff.Entry actual) {
+                throw new AssertionError("comparison not stopped");
+            }
+
+            @Override
+            public void removed(BomDiff.Entry expected) throws MojoExecutionException {
+                throw new MojoExecutionException("removed " + expected);
+            }
+
+            @Override
+            public void changed(BomDiff.Entry expected, BomDiff.Entry actual) {}
+        }));
+    }
+
+    private Coordinates createArtifact(String artifactId, String version) {
+        return new Coordinates("org.test", artifactId, version, "jar", "", 1);
+    }
+}
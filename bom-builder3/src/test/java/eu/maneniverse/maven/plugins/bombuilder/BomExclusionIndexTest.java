@@ -0,0 +1,85 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.maven.model.Exclusion;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.junit.jupiter.api.Test;
+
+public class BomExclusionIndexTest {
+
+    @Test
+    public void testExactExclusions() throws Exception {
+        BomExclusionIndex index = BomExclusionIndex.compile(Arrays.asList(
+                createBomExclusion("junit", "junit", "org.hamcrest", "hamcrest-core"),
+                createBomExclusion("junit", "junit", "org.hamcrest", "hamcrest-library"),
+                createBomExclusion("org.test", "test", "org.hamcrest", "hamcrest-core")));
+
+        assertExclusions(
+                index.exclusionsFor("junit", "junit"), "org.hamcrest:hamcrest-core", "org.hamcrest:hamcrest-library");
+        assertExclusions(index.exclusionsFor("org.test", "test"), "org.hamcrest:hamcrest-core");
+        assertTrue(index.exclusionsFor("org.test", "junit").isEmpty());
+    }
+
+    @Test
+    public void testWildcardExclusionsKeepConfigurationOrder() throws Exception {
+        BomExclusionIndex index = BomExclusionIndex.compile(Arrays.asList(
+                createBomExclusion("org.springframework", "*", "commons-logging", "commons-logging"),
+                createBomExclusion("org.springframework", "spring-core", "org.test", "test"),
+                createBomExclusion("*", "spring-core", "org.test", "other"),
+                createBomExclusion("*", "*", "org.test", "any")));
+
+        assertExclusions(
+                index.exclusionsFor("org.springframework", "spring-core"),
+                "commons-logging:commons-logging",
+                "org.test:test",
+                "org.test:other",
+                "org.test:any");
+        assertExclusions(
+                index.exclusionsFor("org.springframework", "spring-beans"),
+                "commons-logging:commons-logging",
+                "org.test:any");
+        assertExclusions(index.exclusionsFor("org.other", "other"), "org.test:any");
+    }
+
+    @Test
+    public void testExclusionsAreShared() throws Exception {
+        BomExclusionIndex index = BomExclusionIndex.compile(
+                Collections.singletonList(createBomExclusion("org.springframework", "*", "commons-logging", "*")));
+
+        assertSame(
+                index.exclusionsFor("org.springframework", "spring-core").get(0),
+                index.exclusionsFor("org.springframework", "spring-beans").get(0));
+    }
+
+    @Test
+    public void testPartialExclusionFails() {
+        assertThrows(
+                MojoExecutionException.class,
+                () -> BomExclusionIndex.compile(
+                        Collections.singletonList(createBomExclusion("junit", null, "org.hamcrest", "*"))));
+    }
+
+    private void assertExclusions(List<Exclusion> exclusions, String... expected) {
+        assertEquals(expected.length, exclusions.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], exclusions.get(i).getGroupId() + ":" + exclusions.get(i).getArtifactId());
+        }
+    }
+
+    private BomExclusion createBomExclusion(
+            String dependencyGroupId, String dependencyArtifactId, String exclusionGroupId, String exclusionArtifactId) {
+        BomExclusion exclusion = new BomExclusion();
+        exclusion.setDependencyGroupId(dependencyGroupId);
+        exclusion.setDependencyArtifactId(dependencyArtifactId);
+        exclusion.setExclusionGroupId(exclusionGroupId);
+        exclusion.setExclusionArtifactId(exclusionArtifactId);
+        return exclusion;
+    }
+}
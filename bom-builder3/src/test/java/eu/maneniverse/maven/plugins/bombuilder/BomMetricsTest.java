@@ -0,0 +1,63 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class BomMetricsTest {
+
+    @Test
+    public void testPhasesAreSummedUpInOrder() {
+        BomMetrics metrics = new BomMetrics();
+        metrics.add("init", 5, 0, 0);
+        metrics.add("collect", 10, 1, 20);
+        metrics.add("collect", 15, 1, 30);
+
+        List<BomMetrics.Phase> phases = metrics.getPhases();
+
+        assertEquals(2, phases.size());
+        assertEquals("init", phases.get(0).getName());
+        assertEquals("collect", phases.get(1).getName());
+        assertEquals(25, phases.get(1).getNanos());
+        assertEquals(2, phases.get(1).getIn());
+        assertEquals(50, phases.get(1).getOut());
+    }
+
+    @Test
+    public void testSummary() {
+        BomMetrics metrics = new BomMetrics();
+        metrics.add("init", TimeUnit.MILLISECONDS.toNanos(2), 0, 0);
+        metrics.add("filter", TimeUnit.MILLISECONDS.toNanos(3), 100, 80);
+
+        assertEquals(
+                "10 ms [init 2 ms, filter 3 ms (100 -> 80)]",
+                metrics.summary(TimeUnit.MILLISECONDS.toNanos(10)));
+    }
+
+    @Test
+    public void testJsonReport(@TempDir Path tempDir) throws Exception {
+        BomMetrics metrics = new BomMetrics();
+        metrics.add("init", 2, 0, 0);
+        metrics.add("filter", 3, 100, 80);
+        Path file = tempDir.resolve("target").resolve("bom-pom.xml.metrics.json");
+
+        metrics.writeJson(file, "org.test:\"bom\":1.0", 10);
+
+        assertEquals(
+                "{\n"
+                        + "  \"bom\": \"org.test:\\\"bom\\\":1.0\",\n"
+                        + "  \"elapsedNanos\": 10,\n"
+                        + "  \"phases\": [\n"
+                        + "    {\"name\": \"init\", \"nanos\": 2, \"in\": 0, \"out\": 0},\n"
+                        + "    {\"name\": \"filter\", \"nanos\": 3, \"in\": 100, \"out\": 80}\n"
+                        + "  ]\n"
+                        + "}\n",
+                new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,170 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.ArtifactHandler;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.CollectResult;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.util.artifact.DefaultArtifactTypeRegistry;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs executions of one mojo per reactor project concurrently, as {@code mvn -T} does, against shared projects.
+ */
+public class BuildBomMojoConcurrencyTest {
+
+    private static final int PROJECTS = 200;
+
+    private static final int THREADS = 16;
+
+    @Test
+    public void testCollectionDoesNotModifyReactorProjects() throws Exception {
+        List<MavenProject> projects = createReactor(10);
+        List<Set<Artifact>> dependencyArtifacts = new ArrayList<>();
+        List<Model> models = new ArrayList<>();
+        for (MavenProject project : projects) {
+            dependencyArtifacts.add(project.getDependencyArtifacts());
+            models.add(project.getModel().clone());
+        }
+
+        List<Coordinates> collected =
+                createMojo(projects, projects.get(0), createRepositorySession()).collectArtifacts();
+
+        for (int i = 0; i < projects.size(); i++) {
+            assertSame(dependencyArtifacts.get(i), projects.get(i).getDependencyArtifacts());
+            assertEquals(
+                    models.get(i).getDependencies().toString(),
+                    projects.get(i).getDependencies().toString());
+        }
+        for (Coordinates artifact : collected) {
+            assertFalse(artifact.getArtifactId().startsWith("test-"), artifact.toString());
+        }
+    }
+
+    @Test
+    public void testConcurrentExecutionsCollectSameArtifacts() throws Exception {
+        List<MavenProject> projects = createReactor(PROJECTS);
+        List<Coordinates> expected =
+                createMojo(projects, projects.get(0), createRepositorySession()).collectArtifacts();
+        DefaultRepositorySystemSession repositorySession = createRepositorySession();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<List<Coordinates>>> futures = new ArrayList<>();
+            for (MavenProject project : projects) {
+                BuildBomMojo mojo = createMojo(projects, project, repositorySession);
+                mojo.parallelism = 1 + project.getArtifactId().length() % 3;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return mojo.collectArtifacts();
+                }));
+            }
+            start.countDown();
+            for (Future<List<Coordinates>> future : futures) {
+                assertEquals(expected, future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        // the projects and compile scoped libraries
+        assertEquals(PROJECTS + 40, expected.size());
+    }
+
+    private BuildBomMojo createMojo(
+            List<MavenProject> projects,
+            MavenProject currentProject,
+            DefaultRepositorySystemSession repositorySession) {
+        BuildBomMojo mojo = new BuildBomMojo();
+        mojo.repositorySystem = createRepositorySystem();
+        mojo.mavenSession = new MavenSession(null, repositorySession, new DefaultMavenExecutionRequest(), null);
+        mojo.mavenSession.setCurrentProject(currentProject);
+        mojo.allProjects = projects;
+        mojo.reactorDependencies = BuildBomMojo.Scope.REACTOR;
+        mojo.directDependencies = BuildBomMojo.Scope.REACTOR;
+        mojo.transitiveDependencies = BuildBomMojo.Scope.REACTOR;
+        return mojo;
+    }
+
+    private DefaultRepositorySystemSession createRepositorySession() {
+        DefaultRepositorySystemSession repositorySession = new DefaultRepositorySystemSession();
+        repositorySession.setArtifactTypeRegistry(new DefaultArtifactTypeRegistry());
+        return repositorySession;
+    }
+
+    /**
+     * Creates repository system that collects requested dependencies of project, without reading any POM.
+     */
+    private RepositorySystem createRepositorySystem() {
+        return (RepositorySystem) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[] {RepositorySystem.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("collectDependencies")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    CollectRequest request = (CollectRequest) args[1];
+                    DefaultDependencyNode root = new DefaultDependencyNode((org.eclipse.aether.graph.Dependency) null);
+                    List<DependencyNode> children = new ArrayList<>();
+                    for (org.eclipse.aether.graph.Dependency dependency : request.getDependencies()) {
+                        children.add(new DefaultDependencyNode(dependency));
+                    }
+                    root.setChildren(children);
+                    return new CollectResult(request).setRoot(root);
+                });
+    }
+
+    /**
+     * Creates projects, each having direct dependency on another project, resolved by Maven, and dependencies on one
+     * of 40 libraries in compile scope and one in test scope, that are collected from model of project.
+     */
+    private List<MavenProject> createReactor(int size) {
+        List<MavenProject> projects = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            MavenProject project = new MavenProject();
+            project.setArtifact(createArtifact("org.test", "module" + i, "compile"));
+            Set<Artifact> dependencies = new LinkedHashSet<>();
+            dependencies.add(createArtifact("org.test", "module" + ((i + 1) % size), "compile"));
+            project.setDependencyArtifacts(dependencies);
+            project.getModel().addDependency(createDependency("org.test", "module" + ((i + 1) % size), null));
+            project.getModel().addDependency(createDependency("org.library", "library" + (i % 40), null));
+            project.getModel().addDependency(createDependency("org.library", "test-library" + (i % 40), "test"));
+            projects.add(project);
+        }
+        return projects;
+    }
+
+    private Dependency createDependency(String groupId, String artifactId, String scope) {
+        Dependency dependency = new Dependency();
+        dependency.setGroupId(groupId);
+        dependency.setArtifactId(artifactId);
+        dependency.setVersion("1.0");
+        dependency.setScope(scope);
+        return dependency;
+    }
+
+    private Artifact createArtifact(String groupId, String artifactId, String scope) {
+        Artifact artifact = new DefaultArtifact(groupId, artifactId, "1.0", scope, "jar", "", (ArtifactHandler) null);
+        artifact.setDependencyTrail(new ArrayList<>());
+        return artifact;
+    }
+}
@@ -1,22 +1,63 @@
 package eu.maneniverse.maven.plugins.bombuilder;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.mockito.internal.verification.VerificationModeFactory.times;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.DefaultArtifact;
 import org.apache.maven.artifact.handler.ArtifactHandler;
 import org.apache.maven.execution.DefaultMavenExecutionRequest;
 import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.DependencyManagement;
 import org.apache.maven.model.Model;
+import org.apache.maven.model.building.DefaultModelBuilderFactory;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.project.DependencyResolutionRequest;
+import org.apache.maven.project.DependencyResolutionResult;
 import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectDependenciesResolver;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystem;
 import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.CollectResult;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.internal.impl.DefaultChecksumPolicyProvider;
+import org.eclipse.aether.internal.impl.DefaultRemoteRepositoryManager;
+import org.eclipse.aether.internal.impl.DefaultUpdatePolicyAnalyzer;
+import org.eclipse.aether.repository.LocalArtifactRequest;
+import org.eclipse.aether.repository.LocalArtifactResult;
+import org.eclipse.aether.repository.LocalRepositoryManager;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.util.artifact.DefaultArtifactTypeRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -28,6 +69,15 @@ public class BuildBomMojoTest {
     @Mock
     private BuildBomMojo.ModelWriter modelWriter;
 
+    @Mock
+    private ProjectDependenciesResolver projectDependenciesResolver;
+
+    @Mock
+    private DependencyResolutionResult dependencyResolutionResult;
+
+    @Mock
+    private RepositorySystem repositorySystem;
+
     private BuildBomMojo mojo;
 
     @BeforeEach
@@ -40,7 +90,8 @@ public class BuildBomMojoTest {
     public void testDependencyVersionIsNotStoredInPropertiesByDefault() throws Exception {
         mojo.execute();
 
-        verify(versionTransformer, never()).transformPomModel(any(Model.class));
+        verify(versionTransformer, never())
+                .transformPomModel(any(Model.class), any(BuildBomMojo.VersionPropertyNaming.class));
     }
 
     @Test
@@ -49,11 +100,485 @@ public class BuildBomMojoTest {
 
         mojo.execute();
 
-        verify(versionTransformer, times(1)).transformPomModel(any(Model.class));
+        verify(versionTransformer, times(1))
+                .transformPomModel(any(Model.class), any(BuildBomMojo.VersionPropertyNaming.class));
+    }
+
+    @Test
+    public void testUnchangedInputsDoNotRewriteBom(@TempDir Path tempDir) throws Exception {
+        mojo.incremental = true;
+        mojo.mavenSession.getCurrentProject().getBuild().setDirectory(tempDir.toString());
+        // the writer is a mock, so the BOM file has to be provided
+        Files.createFile(tempDir.resolve(mojo.outputFilename));
+
+        mojo.execute();
+        mojo.execute();
+
+        verify(modelWriter, times(1)).writeModel(any(Model.class), any(File.class));
+
+        mojo.usePropertiesForVersion = true;
+        mojo.execute();
+
+        verify(modelWriter, times(2)).writeModel(any(Model.class), any(File.class));
+    }
+
+    @Test
+    public void testReusedBomIsCheckedForResolvability(@TempDir Path tempDir) throws Exception {
+        Set<String> localArtifacts = new HashSet<>();
+        LocalRepositoryManager localRepositoryManager = mock(LocalRepositoryManager.class);
+        when(localRepositoryManager.find(any(), any(LocalArtifactRequest.class)))
+                .thenAnswer(invocation -> {
+                    LocalArtifactRequest request = invocation.getArgument(1);
+                    LocalArtifactResult result = new LocalArtifactResult(request);
+                    if (localArtifacts.contains(request.getArtifact().getArtifactId())) {
+                        result.setFile(new File(request.getArtifact().getArtifactId()));
+                    }
+                    return result;
+                });
+        DefaultRepositorySystemSession repositorySession = new DefaultRepositorySystemSession();
+        repositorySession.setLocalRepositoryManager(localRepositoryManager);
+        repositorySession.setArtifactTypeRegistry(new DefaultArtifactTypeRegistry());
+        MavenProject project = new MavenProject();
+        project.setArtifact(createArtifact("org.test", "module"));
+        project.getBuild().setDirectory(tempDir.toString());
+        Set<Artifact> dependencies = new LinkedHashSet<>();
+        dependencies.add(createArtifact("org.dependency", "dependency"));
+        project.setDependencyArtifacts(dependencies);
+        mojo.mavenSession = new MavenSession(null, repositorySession, new DefaultMavenExecutionRequest(), null);
+        mojo.mavenSession.setCurrentProject(project);
+        mojo.allProjects = Collections.singletonList(project);
+        mojo.reactorDependencies = BuildBomMojo.Scope.NONE;
+        mojo.directDependencies = BuildBomMojo.Scope.REACTOR;
+        mojo.incremental = true;
+        mojo.resolvabilityCheck = BuildBomMojo.ResolvabilityCheck.FAIL;
+        // the writer is a mock, so the BOM file has to be provided
+        Files.createFile(tempDir.resolve(mojo.outputFilename));
+        localArtifacts.add("dependency");
+
+        mojo.execute();
+        localArtifacts.clear();
+
+        // inputs are unchanged, but the entry disappeared from local repository
+        assertThrows(MojoExecutionException.class, () -> mojo.execute());
+        verify(modelWriter, times(1)).writeModel(any(Model.class), any(File.class));
+    }
+
+    @Test
+    public void testArtifactsAreFilteredOncePerBom(@TempDir Path tempDir) throws Exception {
+        MavenProject first = new MavenProject();
+        first.setArtifact(createArtifact("org.test", "first"));
+        MavenProject second = new MavenProject();
+        second.setArtifact(createArtifact("org.test", "second"));
+        mojo.allProjects = Arrays.asList(first, second);
+        mojo.catalogFormats = Collections.singletonList(BuildBomMojo.CatalogFormat.JSON_INDEX);
+        mojo.mavenSession.getCurrentProject().getBuild().setDirectory(tempDir.toString());
+
+        mojo.execute();
+
+        // BOM and its catalog are written from the same filtered artifacts
+        String metrics = new String(
+                Files.readAllBytes(tempDir.resolve(mojo.outputFilename + ".metrics.json")), StandardCharsets.UTF_8);
+        assertTrue(
+                metrics.matches("(?s).*\\{\"name\": \"filter\", \"nanos\": \\d+, \"in\": 2, \"out\": 2}.*"),
+                metrics);
+    }
+
+    @Test
+    public void testDaemonCacheReusesCollectedArtifacts() throws Exception {
+        mojo.daemonCache = true;
+        mojo.bomCache = new DaemonBomCache(System::currentTimeMillis);
+
+        mojo.execute();
+        mojo.execute();
+
+        assertEquals(1, mojo.bomCache.getHits());
+        assertEquals(1, mojo.bomCache.getMisses());
+
+        mojo.reactorDependencies = BuildBomMojo.Scope.NONE;
+        mojo.execute();
+
+        assertEquals(2, mojo.bomCache.getMisses());
+        assertEquals(2, mojo.bomCache.size());
+
+        // a user property (like -Dversion.library=2.0) may change the versions of collected artifacts
+        mojo.mavenSession.getUserProperties().setProperty("version.library", "2.0");
+        mojo.execute();
+
+        assertEquals(3, mojo.bomCache.getMisses());
+    }
+
+    @Test
+    public void testParallelCollectionEqualsSequential() throws Exception {
+        List<MavenProject> projects = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            MavenProject project = new MavenProject();
+            project.setArtifact(createArtifact("org.test", "module" + i));
+            Set<Artifact> dependencies = new LinkedHashSet<>();
+            for (int j = 0; j < 20; j++) {
+                dependencies.add(createArtifact("org.dependency" + (j % 3), "dependency" + ((i + j) % 30)));
+            }
+            project.setDependencyArtifacts(dependencies);
+            projects.add(project);
+        }
+        mojo.allProjects = projects;
+        mojo.directDependencies = BuildBomMojo.Scope.REACTOR;
+
+        List<Coordinates> sequential = mojo.collectArtifacts();
+        mojo.parallelism = 4;
+        List<Coordinates> parallel = mojo.collectArtifacts();
+
+        assertEquals(140, sequential.size());
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    public void testReactorOnlyBomDoesNotResolveDependencies() throws Exception {
+        mojo.execute();
+
+        verify(projectDependenciesResolver, never()).resolve(any(DependencyResolutionRequest.class));
+    }
+
+    @Test
+    public void testCurrentProjectDependenciesAreResolvedOnDemand() throws Exception {
+        DefaultDependencyNode root =
+                new DefaultDependencyNode(new org.eclipse.aether.artifact.DefaultArtifact("g:bom:1"));
+        DefaultDependencyNode direct = createDependencyNode("org.test:direct:1.0", "compile");
+        direct.setChildren(Collections.singletonList(createDependencyNode("org.test:transitive:1.0", "compile")));
+        root.setChildren(Arrays.asList(direct, createDependencyNode("org.test:test:1.0", "test")));
+        when(dependencyResolutionResult.getDependencyGraph()).thenReturn(root);
+        when(projectDependenciesResolver.resolve(any(DependencyResolutionRequest.class)))
+                .thenReturn(dependencyResolutionResult);
+        MavenProject project = mojo.mavenSession.getCurrentProject();
+        project.setArtifact(createArtifact("g", "bom"));
+        mojo.reactorDependencies = BuildBomMojo.Scope.NONE;
+        mojo.directDependencies = BuildBomMojo.Scope.CURRENT_PROJECT;
+        mojo.transitiveDependencies = BuildBomMojo.Scope.CURRENT_PROJECT;
+
+        mojo.execute();
+        mojo.execute();
+
+        // resolved by each execution, and not set on project
+        verify(projectDependenciesResolver, times(2)).resolve(any(DependencyResolutionRequest.class));
+        assertNull(project.getDependencyArtifacts());
+        assertTrue(project.getArtifacts().isEmpty());
+        assertEquals(2, mojo.collectArtifacts().size());
+    }
+
+    @Test
+    public void testReactorArtifactsAreSharedWithinSession() throws Exception {
+        MavenProject project = new MavenProject();
+        project.setArtifact(createArtifact("org.test", "module"));
+        Set<Artifact> dependencies = new LinkedHashSet<>();
+        dependencies.add(createArtifact("org.dependency", "dependency"));
+        project.setDependencyArtifacts(dependencies);
+        mojo.allProjects = Collections.singletonList(project);
+        mojo.directDependencies = BuildBomMojo.Scope.REACTOR;
+        mojo.mavenSession = new MavenSession(
+                null, new DefaultRepositorySystemSession(), new DefaultMavenExecutionRequest(), null);
+        mojo.mavenSession.setCurrentProject(new MavenProject());
+
+        BuildBomMojo other = createBuildBomMojo();
+        other.allProjects = mojo.allProjects;
+        other.directDependencies = BuildBomMojo.Scope.REACTOR;
+        other.mavenSession = mojo.mavenSession;
+
+        assertEquals(mojo.collectArtifacts(), other.collectArtifacts());
+
+        // not part of reactor stamp, hence previously collected artifacts are reused
+        project.setArtifact(createArtifact("org.test", "renamed"));
+        assertEquals("module", other.collectArtifacts().get(1).getArtifactId());
+
+        // dependencies resolved again: reactor changed
+        project.setDependencyArtifacts(new LinkedHashSet<>(dependencies));
+        assertEquals("renamed", other.collectArtifacts().get(1).getArtifactId());
+    }
+
+    @Test
+    public void testReactorArtifactsAreNotSharedAcrossReactorIndexFiles(@TempDir Path tempDir) throws Exception {
+        Path pom = tempDir.resolve("pom.xml");
+        Files.write(pom, "<project/>".getBytes(StandardCharsets.UTF_8));
+        MavenProject project = new MavenProject();
+        project.setArtifact(createArtifact("org.test", "module"));
+        project.setFile(pom.toFile());
+        DefaultMavenExecutionRequest request = new DefaultMavenExecutionRequest();
+        request.setBaseDirectory(tempDir.toFile());
+        mojo.allProjects = Collections.singletonList(project);
+        mojo.reactorDependencies = BuildBomMojo.Scope.REACTOR;
+        mojo.reactorIndex = true;
+        mojo.reactorIndexFile = tempDir.resolve("first.index").toFile();
+        mojo.mavenSession = new MavenSession(null, new DefaultRepositorySystemSession(), request, null);
+        mojo.mavenSession.setProjects(mojo.allProjects);
+        mojo.mavenSession.setCurrentProject(project);
+
+        BuildBomMojo other = createBuildBomMojo();
+        other.allProjects = mojo.allProjects;
+        other.reactorDependencies = BuildBomMojo.Scope.REACTOR;
+        other.reactorIndex = true;
+        other.reactorIndexFile = tempDir.resolve("second.index").toFile();
+        other.mavenSession = mojo.mavenSession;
+
+        assertEquals(mojo.collectArtifacts(), other.collectArtifacts());
+
+        // each execution writes its own index
+        assertTrue(mojo.reactorIndexFile.isFile());
+        assertTrue(other.reactorIndexFile.isFile());
+    }
+
+    @Test
+    public void testCollectOnlyDoesNotResolveDependencies() throws Exception {
+        DefaultDependencyNode root = new DefaultDependencyNode((Dependency) null);
+        DefaultDependencyNode direct = createDependencyNode("org.test:direct:1.0", "compile");
+        direct.setChildren(Arrays.asList(
+                createDependencyNode("org.test:transitive:1.0", "compile"),
+                createDependencyNode("org.test:provided:1.0", "provided")));
+        root.setChildren(Collections.singletonList(direct));
+        when(repositorySystem.collectDependencies(any(RepositorySystemSession.class), any(CollectRequest.class)))
+                .thenAnswer(invocation -> new CollectResult(invocation.getArgument(1)).setRoot(root));
+        DefaultRepositorySystemSession repositorySession = new DefaultRepositorySystemSession();
+        repositorySession.setArtifactTypeRegistry(new DefaultArtifactTypeRegistry());
+        MavenProject project = new MavenProject();
+        project.setArtifact(createArtifact("g", "bom"));
+        org.apache.maven.model.Dependency dependency = new org.apache.maven.model.Dependency();
+        dependency.setGroupId("org.test");
+        dependency.setArtifactId("direct");
+        dependency.setVersion("1.0");
+        project.getModel().addDependency(dependency);
+        mojo.mavenSession = new MavenSession(null, repositorySession, new DefaultMavenExecutionRequest(), null);
+        mojo.mavenSession.setCurrentProject(project);
+        mojo.reactorDependencies = BuildBomMojo.Scope.NONE;
+        mojo.directDependencies = BuildBomMojo.Scope.CURRENT_PROJECT;
+        mojo.transitiveDependencies = BuildBomMojo.Scope.CURRENT_PROJECT;
+        mojo.collectOnly = true;
+        mojo.dependencyScopes = Collections.singletonList("compile");
+
+        List<Coordinates> artifacts = mojo.collectArtifacts();
+
+        verify(projectDependenciesResolver, never()).resolve(any(DependencyResolutionRequest.class));
+        assertEquals(2, artifacts.size());
+        assertEquals("direct", artifacts.get(0).getArtifactId());
+        assertEquals("transitive", artifacts.get(1).getArtifactId());
+    }
+
+    @Test
+    public void testReactorTransitiveDependenciesAreCollectedOnce() throws Exception {
+        when(repositorySystem.collectDependencies(any(RepositorySystemSession.class), any(CollectRequest.class)))
+                .thenAnswer(invocation -> {
+                    CollectRequest request = invocation.getArgument(1);
+                    DefaultDependencyNode root = new DefaultDependencyNode((Dependency) null);
+                    List<DependencyNode> children = new ArrayList<>();
+                    for (Dependency dependency : request.getDependencies()) {
+                        DefaultDependencyNode direct = new DefaultDependencyNode(dependency);
+                        direct.setChildren(Collections.singletonList(createDependencyNode(
+                                "org.test:" + dependency.getArtifact().getArtifactId() + "-transitive:1.0",
+                                "compile")));
+                        children.add(direct);
+                    }
+                    root.setChildren(children);
+                    return new CollectResult(request).setRoot(root);
+                });
+        DefaultRepositorySystemSession repositorySession = new DefaultRepositorySystemSession();
+        repositorySession.setArtifactTypeRegistry(new DefaultArtifactTypeRegistry());
+        List<MavenProject> projects = new ArrayList<>();
+        for (String artifactId : Arrays.asList("api", "impl")) {
+            MavenProject project = new MavenProject();
+            project.setArtifact(createArtifact("org.test", artifactId));
+            org.apache.maven.model.Dependency dependency = new org.apache.maven.model.Dependency();
+            dependency.setGroupId("org.test");
+            dependency.setArtifactId(artifactId + "-library");
+            dependency.setVersion("1.0");
+            project.getModel().addDependency(dependency);
+            projects.add(project);
+        }
+        mojo.mavenSession = new MavenSession(null, repositorySession, new DefaultMavenExecutionRequest(), null);
+        mojo.mavenSession.setCurrentProject(projects.get(0));
+        mojo.allProjects = projects;
+        mojo.reactorDependencies = BuildBomMojo.Scope.NONE;
+        mojo.transitiveDependencies = BuildBomMojo.Scope.REACTOR;
+
+        List<String> artifactIds = new ArrayList<>();
+        for (Coordinates artifact : mojo.collectArtifacts()) {
+            artifactIds.add(artifact.getArtifactId());
+        }
+
+        // whole reactor is collected as one graph, none of the projects is resolved or modified
+        verify(repositorySystem, times(1))
+                .collectDependencies(any(RepositorySystemSession.class), any(CollectRequest.class));
+        verify(projectDependenciesResolver, never()).resolve(any(DependencyResolutionRequest.class));
+        assertEquals(
+                Arrays.asList("api-library", "api-library-transitive", "impl-library", "impl-library-transitive"),
+                artifactIds);
+        for (MavenProject project : projects) {
+            assertNull(project.getDependencyArtifacts());
+        }
+    }
+
+    @Test
+    public void testTransitiveDependenciesAreFilteredByScopeAndDepth() throws Exception {
+        MavenProject project = new MavenProject();
+        project.setArtifact(createArtifact("org.test", "module"));
+        Set<Artifact> dependencies = new LinkedHashSet<>();
+        dependencies.add(createDependencyArtifact("direct", "compile", "module", "direct"));
+        dependencies.add(createDependencyArtifact("runtime", "runtime", "module", "direct", "runtime"));
+        dependencies.add(createDependencyArtifact("deep", "compile", "module", "direct", "runtime", "deep"));
+        dependencies.add(createDependencyArtifact("test", "test", "module", "test"));
+        project.setResolvedArtifacts(dependencies);
+        project.setArtifactFilter(artifact -> true);
+        mojo.mavenSession.setCurrentProject(project);
+        mojo.reactorDependencies = BuildBomMojo.Scope.NONE;
+        mojo.transitiveDependencies = BuildBomMojo.Scope.CURRENT_PROJECT;
+
+        assertEquals(3, mojo.collectArtifacts().size());
+
+        mojo.maxDepth = 2;
+        mojo.dependencyScopes = Collections.singletonList("compile");
+
+        assertEquals(1, mojo.collectArtifacts().size());
+    }
+
+    @Test
+    public void testArtifactsAreFilteredWhileCollected() throws Exception {
+        MavenProject project = new MavenProject();
+        project.setArtifact(createArtifact("org.test", "module"));
+        Set<Artifact> dependencies = new LinkedHashSet<>();
+        dependencies.add(createDependencyArtifact("direct", "compile", "module", "direct"));
+        dependencies.add(createDependencyArtifact("other", "compile", "module", "other"));
+        project.setDependencyArtifacts(dependencies);
+        mojo.allProjects = Collections.singletonList(project);
+        mojo.directDependencies = BuildBomMojo.Scope.REACTOR;
+        mojo.dependencyInclusions = Collections.singletonList(createDependencyExclusion("org.dependency", "*"));
+        mojo.dependencyExclusions = Collections.singletonList(createDependencyExclusion("*", "other"));
+
+        List<Coordinates> artifacts = mojo.collectArtifacts();
+
+        assertEquals(1, artifacts.size());
+        assertEquals("direct", artifacts.get(0).getArtifactId());
+    }
+
+    @Test
+    public void testNothingIsCollectedWhenAllArtifactsAreExcluded() throws Exception {
+        MavenProject project = new MavenProject();
+        project.setArtifact(createArtifact("org.test", "module"));
+        mojo.allProjects = Collections.singletonList(project);
+        mojo.dependencyExclusions = Collections.singletonList(createDependencyExclusion("*", "*"));
+
+        assertTrue(mojo.collectArtifacts().isEmpty());
+    }
+
+    @Test
+    public void testBomDefinitionsAreGeneratedFromOneCollection() throws Exception {
+        List<MavenProject> projects = new ArrayList<>();
+        for (String artifactId : Arrays.asList("api", "impl")) {
+            MavenProject project = new MavenProject();
+            project.setArtifact(createArtifact("org.test", artifactId));
+            projects.add(project);
+        }
+        mojo.allProjects = projects;
+        BomDefinition api = new BomDefinition();
+        api.setArtifactId("api-bom");
+        api.setDependencyInclusions(Collections.singletonList(new DependencyExclusion("org.test", "api")));
+        BomDefinition full = new BomDefinition();
+        full.setArtifactId("full-bom");
+        full.setClassifier("full");
+        mojo.boms = Arrays.asList(api, full);
+
+        mojo.execute();
+
+        ArgumentCaptor<Model> models = ArgumentCaptor.forClass(Model.class);
+        verify(modelWriter, times(2)).writeModel(models.capture(), any(File.class));
+        Map<String, Integer> sizes = new HashMap<>();
+        for (Model model : models.getAllValues()) {
+            sizes.put(model.getArtifactId(), model.getDependencyManagement().getDependencies().size());
+        }
+        assertEquals(1, (int) sizes.get("api-bom"));
+        assertEquals(2, (int) sizes.get("full-bom"));
+    }
+
+    @Test
+    public void testBomDefinitionsMustHaveDistinctOutputFiles() {
+        BomDefinition first = new BomDefinition();
+        first.setArtifactId("first-bom");
+        first.setOutputFilename("bom.xml");
+        BomDefinition second = new BomDefinition();
+        second.setArtifactId("second-bom");
+        second.setOutputFilename("bom.xml");
+        mojo.boms = Arrays.asList(first, second);
+
+        assertThrows(MojoExecutionException.class, () -> mojo.execute());
+    }
+
+    @Test
+    public void testImportedBomsAreFlattenedOnce(@TempDir Path tempDir) throws Exception {
+        writeBom(
+                tempDir.resolve("library-bom.pom"),
+                "library-bom",
+                "<properties><library.version>2.0</library.version></properties>",
+                "<dependency><groupId>org.library</groupId><artifactId>library-core</artifactId>"
+                        + "<version>${library.version}</version></dependency>"
+                        + "<dependency><groupId>org.library</groupId><artifactId>nested-bom</artifactId>"
+                        + "<version>1.0</version><type>pom</type><scope>import</scope></dependency>"
+                        + "<dependency><groupId>org.test</groupId><artifactId>module0</artifactId>"
+                        + "<version>0.1</version><type>type</type><classifier>classifier</classifier>"
+                        + "</dependency>");
+        writeBom(
+                tempDir.resolve("nested-bom.pom"),
+                "nested-bom",
+                "",
+                "<dependency><groupId>org.library</groupId><artifactId>library-nested</artifactId>"
+                        + "<version>3.0</version></dependency>");
+        when(repositorySystem.resolveArtifact(any(RepositorySystemSession.class), any(ArtifactRequest.class)))
+                .thenAnswer(invocation -> {
+                    ArtifactRequest request = invocation.getArgument(1);
+                    File file = tempDir.resolve(request.getArtifact().getArtifactId() + ".pom").toFile();
+                    return new ArtifactResult(request).setArtifact(request.getArtifact().setFile(file));
+                });
+        mojo.modelBuilder = new DefaultModelBuilderFactory().newInstance();
+        mojo.remoteRepositoryManager = new DefaultRemoteRepositoryManager(
+                new DefaultUpdatePolicyAnalyzer(), new DefaultChecksumPolicyProvider());
+        List<MavenProject> projects = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            MavenProject project = new MavenProject();
+            project.setArtifact(createArtifact("org.test", "module" + i));
+            project.getProperties().setProperty("library.bom.version", "1.0");
+            project.setOriginalModel(project.getModel().clone());
+            project.getOriginalModel().setDependencyManagement(new DependencyManagement());
+            project.getOriginalModel()
+                    .getDependencyManagement()
+                    .addDependency(createImport("org.library", "library-bom", "${library.bom.version}"));
+            project.getOriginalModel()
+                    .getDependencyManagement()
+                    .addDependency(createImport("org.other", "other-bom", "1.0"));
+            projects.add(project);
+        }
+        DefaultRepositorySystemSession repositorySession = new DefaultRepositorySystemSession();
+        repositorySession.setArtifactTypeRegistry(new DefaultArtifactTypeRegistry());
+        mojo.mavenSession = new MavenSession(null, repositorySession, new DefaultMavenExecutionRequest(), null);
+        mojo.mavenSession.setCurrentProject(projects.get(0));
+        mojo.allProjects = projects;
+        mojo.importedBoms = Collections.singletonList(new DependencyExclusion("org.library", "*"));
+
+        List<Coordinates> artifacts = mojo.collectArtifacts();
+        assertEquals(artifacts, mojo.collectArtifacts());
+
+        // library and nested BOM, once for both projects and both executions
+        verify(repositorySystem, times(2))
+                .resolveArtifact(any(RepositorySystemSession.class), any(ArtifactRequest.class));
+        List<String> gavs = new ArrayList<>();
+        for (Coordinates artifact : artifacts) {
+            gavs.add(artifact.getGroupId() + ":" + artifact.getArtifactId() + ":" + artifact.getVersion());
+        }
+        assertEquals(
+                Arrays.asList(
+                        "org.library:library-core:2.0",
+                        "org.library:library-nested:3.0",
+                        "org.test:module0:version",
+                        "org.test:module1:version"),
+                gavs);
     }
 
     private BuildBomMojo createBuildBomMojo() {
         BuildBomMojo mojo = new BuildBomMojo(modelWriter, versionTransformer);
+        mojo.projectDependenciesResolver = projectDependenciesResolver;
+        mojo.repositorySystem = repositorySystem;
         mojo.mavenSession =
                 new MavenSession(null, (RepositorySystemSession) null, new DefaultMavenExecutionRequest(), null);
         mojo.mavenSession.setCurrentProject(new MavenProject());
@@ -91,12 +616,43 @@ public class BuildBomMojoTest {
         assertEquals(expected, mojo.matchesExcludedDependency(artifact, exclusion));
     }
 
+    private org.apache.maven.model.Dependency createImport(String groupId, String artifactId, String version) {
+        org.apache.maven.model.Dependency dependency = new org.apache.maven.model.Dependency();
+        dependency.setGroupId(groupId);
+        dependency.setArtifactId(artifactId);
+        dependency.setVersion(version);
+        dependency.setType("pom");
+        dependency.setScope("import");
+        return dependency;
+    }
+
+    private void writeBom(Path file, String artifactId, String properties, String dependencies) throws Exception {
+        String bom = "<project><modelVersion>4.0.0</modelVersion>"
+                + "<groupId>org.library</groupId><artifactId>" + artifactId + "</artifactId><version>1.0</version>"
+                + "<packaging>pom</packaging>" + properties
+                + "<dependencyManagement><dependencies>" + dependencies + "</dependencies></dependencyManagement>"
+                + "</project>";
+        Files.write(file, bom.getBytes(StandardCharsets.UTF_8));
+    }
+
     private DependencyExclusion createDependencyExclusion(String groupId, String artifactId) {
         return new DependencyExclusion(groupId, artifactId);
     }
 
+    private DefaultDependencyNode createDependencyNode(String coordinates, String scope) {
+        return new DefaultDependencyNode(
+                new Dependency(new org.eclipse.aether.artifact.DefaultArtifact(coordinates), scope));
+    }
+
+    private Artifact createDependencyArtifact(String artifactId, String scope, String... trail) {
+        Artifact artifact = new DefaultArtifact(
+                "org.dependency", artifactId, "1.0", scope, "jar", "", (ArtifactHandler) null);
+        artifact.setDependencyTrail(Arrays.asList(trail));
+        return artifact;
+    }
+
     private Artifact createArtifact(String groupId, String artifactId) {
         return new DefaultArtifact(
-                groupId, artifactId, "version", "scope", "type", "classifier", (ArtifactHandler) null);
+                groupId, artifactId, "version", "compile", "type", "classifier", (ArtifactHandler) null);
     }
 }
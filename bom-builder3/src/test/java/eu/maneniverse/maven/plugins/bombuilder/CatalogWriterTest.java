@@ -0,0 +1,79 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class CatalogWriterTest {
+
+    private static final List<Coordinates> ARTIFACTS = Arrays.asList(
+            createArtifact("junit", "junit", "4.13", "jar", ""),
+            createArtifact("org.other", "slf4j-api", "1.0", "jar", ""),
+            createArtifact("org.slf4j", "slf4j-api", "2.0.1", "jar", ""),
+            createArtifact("org.slf4j", "slf4j-api", "2.0.1", "jar", "sources"),
+            createArtifact("org.test", "test-pom", "1.0", "pom", ""));
+
+    @Test
+    public void testVersionCatalog() {
+        assertEquals(
+                "# Generated from BOM org.test:bom:1.0\n"
+                        + "[libraries]\n"
+                        + "junit = { module = \"junit:junit\", version = \"4.13\" }\n"
+                        + "slf4j-api = { module = \"org.other:slf4j-api\", version = \"1.0\" }\n"
+                        + "org-slf4j-slf4j-api = { module = \"org.slf4j:slf4j-api\", version = \"2.0.1\" }\n"
+                        + "test-pom = { module = \"org.test:test-pom\", version = \"1.0\" }\n",
+                render(BuildBomMojo.CatalogFormat.VERSION_CATALOG));
+    }
+
+    @Test
+    public void testGradleModule() {
+        String module = render(BuildBomMojo.CatalogFormat.GRADLE_MODULE);
+
+        assertTrue(module.contains("\"group\": \"org.test\""));
+        assertTrue(module.contains("\"name\": \"apiElements\""));
+        assertTrue(module.contains("\"name\": \"runtimeElements\""));
+        assertTrue(module.contains(
+                "{\"group\": \"org.slf4j\", \"module\": \"slf4j-api\", \"version\": {\"requires\": \"2.0.1\"}}"));
+    }
+
+    @Test
+    public void testJsonIndex() {
+        assertEquals(
+                "{\"groupId\": \"org.test\", \"artifactId\": \"bom\", \"version\": \"1.0\", \"dependencies\": [\n"
+                        + "  {\"groupId\": \"junit\", \"artifactId\": \"junit\", \"version\": \"4.13\"},\n"
+                        + "  {\"groupId\": \"org.other\", \"artifactId\": \"slf4j-api\", \"version\": \"1.0\"},\n"
+                        + "  {\"groupId\": \"org.slf4j\", \"artifactId\": \"slf4j-api\", \"version\": \"2.0.1\"},\n"
+                        + "  {\"groupId\": \"org.slf4j\", \"artifactId\": \"slf4j-api\", \"version\": \"2.0.1\","
+                        + " \"classifier\": \"sources\"},\n"
+                        + "  {\"groupId\": \"org.test\", \"artifactId\": \"test-pom\", \"version\": \"1.0\","
+                        + " \"type\": \"pom\"}\n"
+                        + "]}\n",
+                render(BuildBomMojo.CatalogFormat.JSON_INDEX));
+    }
+
+    @Test
+    public void testAlias() {
+        assertEquals("slf4j-api", CatalogWriter.alias("slf4j-api"));
+        assertEquals("org-apache-maven-core", CatalogWriter.alias("org.apache.maven--core"));
+        assertEquals("lib-1st", CatalogWriter.alias("1st"));
+    }
+
+    @Test
+    public void testFilename() {
+        assertEquals("bom-pom.versions.toml", BuildBomMojo.CatalogFormat.VERSION_CATALOG.filename("bom-pom.xml"));
+        assertEquals("pom.module", BuildBomMojo.CatalogFormat.GRADLE_MODULE.filename("pom.xml"));
+        assertEquals("bom.index.json", BuildBomMojo.CatalogFormat.JSON_INDEX.filename("bom"));
+    }
+
+    private static String render(BuildBomMojo.CatalogFormat format) {
+        return CatalogWriter.render(format, "org.test", "bom", "1.0", ARTIFACTS);
+    }
+
+    private static Coordinates createArtifact(
+            String groupId, String artifactId, String version, String type, String classifier) {
+        return new Coordinates(groupId, artifactId, version, type, classifier, 1);
+    }
+}
@@ -0,0 +1,215 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.ArtifactHandler;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.junit.jupiter.api.Test;
+
+public class CoordinatesTest {
+
+    private static final int GROUPS = 200;
+
+    private static final int ARTIFACTS = 20_000;
+
+    @Test
+    public void testSameAsArtifact() {
+        Artifact artifact = createArtifact("org.test", "test", "1.0", "test-jar", "tests", 2);
+        Coordinates coordinates = Coordinates.of(artifact, new Coordinates.Interner());
+
+        assertEquals(artifact.getId(), coordinates.getId());
+        assertEquals(ArtifactCollector.key(artifact), coordinates.getKey());
+        assertEquals(2, coordinates.getDepth());
+        assertEquals(coordinates, new Coordinates("org.test", "test", "1.0", "test-jar", "tests", 0));
+        assertNotEquals(coordinates, new Coordinates("org.test", "test", "1.1", "test-jar", "tests", 2));
+    }
+
+    @Test
+    public void testOrderIsSameAsOfArtifacts() {
+        List<Artifact> artifacts = new ArrayList<>(Arrays.asList(
+                createArtifact("org.test", "b", "1.0", "jar", "", 1),
+                createArtifact("org.test", "a", "1.0", "jar", "tests", 1),
+                createArtifact("org.test", "a", "1.0", "pom", "", 1),
+                createArtifact("org.test", "a", "10.0", "jar", "", 1),
+                createArtifact("org.test", "a", "9.0", "jar", "", 1),
+                createArtifact("org.test", "a", "1.0-SNAPSHOT", "jar", "", 1),
+                createArtifact("com.test", "z", "1.0", "jar", "", 1)));
+        Coordinates.Interner interner = new Coordinates.Interner();
+        List<Coordinates> coordinates =
+                artifacts.stream().map(a -> Coordinates.of(a, interner)).collect(Collectors.toList());
+        Collections.sort(artifacts);
+        Collections.sort(coordinates);
+
+        assertEquals(
+                artifacts.stream().map(Artifact::getId).collect(Collectors.toList()),
+                coordinates.stream().map(Coordinates::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testOrderIsNullSafe() {
+        List<Coordinates> coordinates = new ArrayList<>(Arrays.asList(
+                new Coordinates("org.test", "a", null, "jar", null, 1),
+                new Coordinates("org.test", "a", "1.0", null, null, 1),
+                new Coordinates("org.test", "a", "1.0", "jar", null, 1)));
+        Collections.sort(coordinates);
+
+        assertEquals(
+                Arrays.asList("org.test:a:jar:1.0", "org.test:a:jar:null", "org.test:a:null:1.0"),
+                coordinates.stream().map(Coordinates::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testCollectedArtifactsAreCompact() {
+        ArtifactHandler handler = new DefaultArtifactHandler("jar");
+        List<Artifact> artifacts = new ArrayList<>(ARTIFACTS);
+        for (int i = 0; i < ARTIFACTS; i++) {
+            Artifact artifact = new DefaultArtifact(
+                    "org.group" + (i % GROUPS),
+                    "artifact" + i,
+                    "1." + (i % 10),
+                    Artifact.SCOPE_COMPILE,
+                    "jar",
+                    null,
+                    handler);
+            artifact.setDependencyTrail(new ArrayList<>(
+                    Arrays.asList("org.test:module:jar:1.0", "org.group0:direct:jar:1.0", artifact.getId())));
+            artifact.setFile(
+                    new File("/home/user/.m2/repository/org/group" + (i % GROUPS) + "/artifact" + i + ".jar"));
+            artifacts.add(artifact);
+        }
+        ArtifactCollector collector = new ArtifactCollector();
+        ArtifactCollector.Source source = collector.source(0);
+        artifacts.forEach(source::add);
+        List<Coordinates> collected = collector.toOrderedList();
+
+        assertEquals(ARTIFACTS, collected.size());
+        Set<String> groupIds = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Coordinates coordinates : collected) {
+            groupIds.add(coordinates.getGroupId());
+        }
+        assertEquals(GROUPS, groupIds.size());
+
+        long artifactsSize = new SizeEstimator().sizeOf(artifacts);
+        long collectedSize = new SizeEstimator().sizeOf(collected);
+        assertTrue(
+                collectedSize * 4 < artifactsSize,
+                "collected " + collectedSize + " bytes, artifacts " + artifactsSize + " bytes");
+    }
+
+    private static Artifact createArtifact(
+            String groupId, String artifactId, String version, String type, String classifier, int depth) {
+        Artifact artifact = new DefaultArtifact(
+                groupId,
+                artifactId,
+                version,
+                Artifact.SCOPE_COMPILE,
+                type,
+                classifier,
+                new DefaultArtifactHandler(type));
+        List<String> trail = new ArrayList<>();
+        for (int i = 0; i <= depth; i++) {
+            trail.add("trail" + i);
+        }
+        artifact.setDependencyTrail(trail);
+        return artifact;
+    }
+
+    /**
+     * Estimates retained heap size of object graphs, for a 64-bit JVM with compressed references. Objects of JDK
+     * classes (that cannot be reflected on) are estimated by their content: strings, arrays, collections, maps and
+     * files are walked, other ones counted as a plain object.
+     */
+    private static final class SizeEstimator {
+        private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        long sizeOf(Object object) {
+            if (object == null || object instanceof Class || !visited.add(object)) {
+                return 0;
+            }
+            Class<?> type = object.getClass();
+            if (object instanceof String) {
+                return 24 + align(16 + ((String) object).length());
+            } else if (type.isArray()) {
+                int length = Array.getLength(object);
+                Class<?> component = type.getComponentType();
+                if (component.isPrimitive()) {
+                    return align(16 + (long) length * primitiveSize(component));
+                }
+                long size = align(16 + 4L * length);
+                for (int i = 0; i < length; i++) {
+                    size += sizeOf(Array.get(object, i));
+                }
+                return size;
+            } else if (object instanceof Collection) {
+                long size = 40 + 16L * ((Collection<?>) object).size();
+                for (Object element : (Collection<?>) object) {
+                    size += sizeOf(element);
+                }
+                return size;
+            } else if (object instanceof Map) {
+                long size = 48 + 40L * ((Map<?, ?>) object).size();
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) object).entrySet()) {
+                    size += sizeOf(entry.getKey()) + sizeOf(entry.getValue());
+                }
+                return size;
+            } else if (object instanceof File) {
+                return 24 + sizeOf(((File) object).getPath());
+            } else if (type.getName().startsWith("java.")) {
+                return 16;
+            }
+            long shallow = 12;
+            long size = 0;
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    if (field.getType().isPrimitive()) {
+                        shallow += primitiveSize(field.getType());
+                    } else {
+                        shallow += 4;
+                        field.setAccessible(true);
+                        try {
+                            size += sizeOf(field.get(object));
+                        } catch (IllegalAccessException e) {
+                            throw new IllegalStateException(e);
+                        }
+                    }
+                }
+            }
+            return align(shallow) + size;
+        }
+
+        private static int primitiveSize(Class<?> type) {
+            if (type == long.class || type == double.class) {
+                return 8;
+            } else if (type == int.class || type == float.class) {
+                return 4;
+            } else if (type == short.class || type == char.class) {
+                return 2;
+            }
+            return 1;
+        }
+
+        private static long align(long size) {
+            return (size + 7) & ~7L;
+        }
+    }
+}
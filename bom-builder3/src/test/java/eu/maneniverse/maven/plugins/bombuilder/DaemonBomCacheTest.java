@@ -0,0 +1,55 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+public class DaemonBomCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final DaemonBomCache cache = new DaemonBomCache(clock::get);
+
+    @Test
+    public void testHitsAndMisses() {
+        assertNull(cache.get("a", 1000));
+        DaemonBomCache.Entry entry = cache.put("a", Collections.emptyList(), 10);
+        entry.putBom("pom.xml", new byte[] {1, 2});
+
+        assertSame(entry, cache.get("a", 1000));
+        assertArrayEquals(new byte[] {1, 2}, cache.get("a", 1000).getBom("pom.xml"));
+        assertNull(entry.getBom("other.xml"));
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testExpiredEntriesAreEvicted() {
+        cache.put("a", Collections.emptyList(), 10);
+        clock.set(500);
+        cache.put("b", Collections.emptyList(), 10);
+        clock.set(1200);
+
+        assertNull(cache.get("a", 1000));
+        assertNotNull(cache.get("b", 1000));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntriesAreEvicted() {
+        cache.put("a", Collections.emptyList(), 2);
+        cache.put("b", Collections.emptyList(), 2);
+        cache.get("a", 1000);
+        cache.put("c", Collections.emptyList(), 2);
+
+        assertNotNull(cache.get("a", 1000));
+        assertNull(cache.get("b", 1000));
+        assertNotNull(cache.get("c", 1000));
+    }
+}
@@ -0,0 +1,153 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.CollectResult;
+import org.eclipse.aether.collection.DependencyCollectionContext;
+import org.eclipse.aether.collection.DependencySelector;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.util.artifact.DefaultArtifactTypeRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+public class DependencyGraphCollectorTest {
+
+    @Mock
+    private RepositorySystem repositorySystem;
+
+    private DefaultRepositorySystemSession session;
+
+    @BeforeEach
+    public void before() throws Exception {
+        MockitoAnnotations.openMocks(this).close();
+        session = new DefaultRepositorySystemSession();
+        session.setArtifactTypeRegistry(new DefaultArtifactTypeRegistry());
+    }
+
+    @Test
+    public void testCollectsDependenciesOfAllProjectsAtOnce() throws Exception {
+        MavenProject first = createProject("first");
+        first.getModel().addDependency(createDependency("org.test", "direct", "1.0", null, false));
+        first.getModel().addDependency(createDependency("org.test", "test", "1.0", "test", false));
+        first.getModel().addDependency(createDependency("org.test", "optional", "1.0", "compile", true));
+        first.getModel().setDependencyManagement(createDependencyManagement("1.0"));
+        MavenProject second = createProject("second");
+        second.getModel().addDependency(createDependency("org.test", "direct", "1.0", "compile", false));
+        second.getModel().setDependencyManagement(createDependencyManagement("2.0"));
+        DefaultDependencyNode root = new DefaultDependencyNode((org.eclipse.aether.graph.Dependency) null);
+        DefaultDependencyNode direct = createDependencyNode("org.test:direct:1.0", "compile");
+        direct.setChildren(new ArrayList<>(Arrays.asList(
+                createDependencyNode("org.test:managed:1.0", "runtime"),
+                createDependencyNode("org.test:provided:1.0", "provided"))));
+        root.setChildren(new ArrayList<>(Collections.singletonList(direct)));
+        when(repositorySystem.collectDependencies(any(RepositorySystemSession.class), any(CollectRequest.class)))
+                .thenAnswer(invocation -> new CollectResult(invocation.getArgument(1)).setRoot(root));
+
+        List<Artifact> artifacts = createCollector(false, 0).collect(Arrays.asList(first, second));
+
+        ArgumentCaptor<CollectRequest> request = ArgumentCaptor.forClass(CollectRequest.class);
+        verify(repositorySystem).collectDependencies(any(RepositorySystemSession.class), request.capture());
+        assertEquals(1, request.getValue().getDependencies().size());
+        assertEquals("direct", request.getValue().getDependencies().get(0).getArtifact().getArtifactId());
+        assertEquals(1, request.getValue().getManagedDependencies().size());
+        assertEquals("1.0", request.getValue().getManagedDependencies().get(0).getArtifact().getVersion());
+        assertEquals(2, artifacts.size());
+        assertEquals("direct", artifacts.get(0).getArtifactId());
+        assertEquals(Arrays.asList("reactor", "org.test:direct:jar:1.0"), artifacts.get(0).getDependencyTrail());
+        assertEquals("managed", artifacts.get(1).getArtifactId());
+        assertEquals(3, artifacts.get(1).getDependencyTrail().size());
+    }
+
+    @Test
+    public void testDirectDependenciesAreTakenFromModel() {
+        MavenProject project = createProject("project");
+        project.getModel().addDependency(createDependency("org.test", "direct", "1.0", null, false));
+        project.getModel().addDependency(createDependency("org.test", "test", "1.0", "test", true));
+
+        List<Artifact> artifacts = createCollector(false, 0).directDependencies(project);
+
+        assertEquals(2, artifacts.size());
+        assertEquals("compile", artifacts.get(0).getScope());
+        assertEquals(
+                Arrays.asList("org.test:project:jar:1.0", "org.test:direct:jar:1.0"),
+                artifacts.get(0).getDependencyTrail());
+        assertEquals("test", artifacts.get(1).getScope());
+        assertTrue(artifacts.get(1).isOptional());
+    }
+
+    @Test
+    public void testDepthDependencySelector() {
+        DependencyCollectionContext context = mock(DependencyCollectionContext.class);
+        DependencySelector root = new DependencyGraphCollector.DepthDependencySelector(0, 2);
+
+        DependencySelector direct = root.deriveChildSelector(context);
+        DependencySelector transitive = direct.deriveChildSelector(context);
+        DependencySelector deeper = transitive.deriveChildSelector(context);
+
+        assertTrue(direct.selectDependency(null));
+        assertTrue(transitive.selectDependency(null));
+        assertFalse(deeper.selectDependency(null));
+        assertEquals(deeper, deeper.deriveChildSelector(context));
+        assertEquals(new DependencyGraphCollector.DepthDependencySelector(1, 2), direct);
+    }
+
+    private DependencyGraphCollector createCollector(boolean includeOptional, int maxDepth) {
+        return new DependencyGraphCollector(
+                repositorySystem,
+                session,
+                new LinkedHashSet<>(Arrays.asList("compile", "runtime")),
+                includeOptional,
+                maxDepth);
+    }
+
+    private MavenProject createProject(String artifactId) {
+        MavenProject project = new MavenProject();
+        project.setArtifact(new DefaultArtifact("org.test", artifactId, "1.0", null, "jar", "", null));
+        return project;
+    }
+
+    private DependencyManagement createDependencyManagement(String version) {
+        DependencyManagement dependencyManagement = new DependencyManagement();
+        dependencyManagement.addDependency(createDependency("org.test", "managed", version, null, false));
+        return dependencyManagement;
+    }
+
+    private Dependency createDependency(
+            String groupId, String artifactId, String version, String scope, boolean optional) {
+        Dependency dependency = new Dependency();
+        dependency.setGroupId(groupId);
+        dependency.setArtifactId(artifactId);
+        dependency.setVersion(version);
+        dependency.setScope(scope);
+        dependency.setOptional(optional);
+        return dependency;
+    }
+
+    private DefaultDependencyNode createDependencyNode(String coordinates, String scope) {
+        return new DefaultDependencyNode(new org.eclipse.aether.graph.Dependency(
+                new org.eclipse.aether.artifact.DefaultArtifact(coordinates), scope));
+    }
+}
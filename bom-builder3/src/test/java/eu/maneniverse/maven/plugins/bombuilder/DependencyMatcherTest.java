@@ -0,0 +1,102 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class DependencyMatcherTest {
+
+    @Test
+    public void testEmpty() {
+        assertTrue(DependencyMatcher.compile(null).isEmpty());
+        assertTrue(DependencyMatcher.compile(Collections.emptyList()).isEmpty());
+        assertFalse(DependencyMatcher.compile(null).matches("groupId", "artifactId"));
+    }
+
+    @Test
+    public void testSameResultsAsLinearScan() {
+        String[] values = {"g1", "g2", " g1 ", "a1", "a2", "*", " * ", "", null};
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            List<DependencyExclusion> rules = new ArrayList<>();
+            int count = random.nextInt(20);
+            for (int i = 0; i < count; i++) {
+                rules.add(new DependencyExclusion(
+                        values[random.nextInt(values.length)], values[random.nextInt(values.length)]));
+            }
+            DependencyMatcher matcher = DependencyMatcher.compile(rules);
+            for (String groupId : values) {
+                for (String artifactId : values) {
+                    assertSame(
+                            linearScan(rules, groupId, artifactId),
+                            matcher.match(groupId, artifactId),
+                            groupId + ":" + artifactId + " against " + rules.size() + " rules");
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testGlobs() {
+        DependencyMatcher matcher = DependencyMatcher.compile(Arrays.asList(
+                new DependencyExclusion("org.apache.*", "maven-*"), new DependencyExclusion("*.codehaus.*", "*")));
+
+        assertTrue(matcher.matches("org.apache.maven", "maven-core"));
+        assertTrue(matcher.matches("org.apache.maven.resolver", "maven-resolver-api"));
+        assertFalse(matcher.matches("org.apache.maven", "plexus-utils"));
+        assertFalse(matcher.matches("org.apache", "maven-core"));
+        assertTrue(matcher.matches("org.codehaus.plexus", "plexus-utils"));
+        assertFalse(matcher.matches("org.eclipse.sisu", "org.eclipse.sisu.inject"));
+    }
+
+    @Test
+    public void testFirstDeclaredRuleIsReported() {
+        DependencyExclusion glob = new DependencyExclusion("org.*", "*");
+        DependencyExclusion exact = new DependencyExclusion("org.test", "test");
+        DependencyExclusion anyGroup = new DependencyExclusion("*", "test");
+
+        assertSame(glob, DependencyMatcher.compile(Arrays.asList(glob, exact, anyGroup)).match("org.test", "test"));
+        assertSame(exact, DependencyMatcher.compile(Arrays.asList(exact, glob, anyGroup)).match("org.test", "test"));
+        assertSame(
+                anyGroup, DependencyMatcher.compile(Arrays.asList(anyGroup, exact, glob)).match("org.test", "test"));
+        assertNull(DependencyMatcher.compile(Arrays.asList(glob, exact)).match("com.test", "test"));
+    }
+
+    @Test
+    public void testGlobPatterns() {
+        assertTrue(DependencyMatcher.glob("*", ""));
+        assertTrue(DependencyMatcher.glob("a*", "a"));
+        assertTrue(DependencyMatcher.glob("a*c", "abbbc"));
+        assertTrue(DependencyMatcher.glob("*b*", "abc"));
+        assertTrue(DependencyMatcher.glob("a**c", "ac"));
+        assertFalse(DependencyMatcher.glob("a*c", "abcd"));
+        assertFalse(DependencyMatcher.glob("abc", "ab"));
+        assertEquals(true, DependencyMatcher.glob("org.*.maven", "org.apache.maven"));
+    }
+
+    /**
+     * The original matching logic: linear scan over rules with exact values or {@code *}.
+     */
+    private static DependencyExclusion linearScan(List<DependencyExclusion> rules, String groupId, String artifactId) {
+        String g = Objects.toString(groupId, "").trim();
+        String a = Objects.toString(artifactId, "").trim();
+        for (DependencyExclusion rule : rules) {
+            String rg = Objects.toString(rule.getGroupId(), "").trim();
+            String ra = Objects.toString(rule.getArtifactId(), "").trim();
+            if (("*".equals(rg) || g.equals(rg)) && ("*".equals(ra) || a.equals(ra))) {
+                return rule;
+            }
+        }
+        return null;
+    }
+}
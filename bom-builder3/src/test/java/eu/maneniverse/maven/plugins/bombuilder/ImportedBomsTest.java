@@ -0,0 +1,70 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.maven.model.Dependency;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.junit.jupiter.api.Test;
+
+public class ImportedBomsTest {
+
+    @Test
+    public void testBomIsLoadedOnce() throws Exception {
+        ImportedBoms importedBoms = new ImportedBoms(ImportedBoms.MAX_ENTRIES);
+        AtomicInteger loads = new AtomicInteger();
+        ImportedBoms.Loader loader = () -> {
+            loads.incrementAndGet();
+            return Collections.singletonList(createDependency("managed"));
+        };
+
+        List<Dependency> first = importedBoms.get("org.test:bom:1.0", loader);
+        List<Dependency> second = importedBoms.get("org.test:bom:1.0", loader);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, importedBoms.hits());
+        assertEquals(1, importedBoms.misses());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedBomIsEvicted() throws Exception {
+        ImportedBoms importedBoms = new ImportedBoms(2);
+        List<String> loaded = new ArrayList<>();
+
+        for (String key : new String[] {"a", "b", "a", "c", "a", "b"}) {
+            importedBoms.get(key, () -> {
+                loaded.add(key);
+                return new ArrayList<>();
+            });
+        }
+
+        // "b" was evicted by "c", as "a" was used more recently
+        assertEquals(2, importedBoms.size());
+        assertEquals(4, loaded.size());
+        assertEquals("b", loaded.get(3));
+    }
+
+    @Test
+    public void testInstanceIsBoundToSession() {
+        DefaultRepositorySystemSession session = new DefaultRepositorySystemSession();
+
+        assertSame(ImportedBoms.forSession(session), ImportedBoms.forSession(session));
+        assertNotSame(
+                ImportedBoms.forSession(session), ImportedBoms.forSession(new DefaultRepositorySystemSession()));
+        assertNotSame(ImportedBoms.forSession(null), ImportedBoms.forSession(null));
+    }
+
+    private Dependency createDependency(String artifactId) {
+        Dependency dependency = new Dependency();
+        dependency.setGroupId("org.test");
+        dependency.setArtifactId(artifactId);
+        dependency.setVersion("1.0");
+        return dependency;
+    }
+}
@@ -0,0 +1,101 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystemSession;
+import org.junit.jupiter.api.Test;
+
+public class ReactorArtifactsTest {
+
+    @Test
+    public void testInstancesAreSharedPerSessionAndKey() {
+        RepositorySystemSession session = new DefaultRepositorySystemSession();
+
+        assertSame(ReactorArtifacts.forSession(session, "key"), ReactorArtifacts.forSession(session, "key"));
+        assertNotSame(ReactorArtifacts.forSession(session, "key"), ReactorArtifacts.forSession(session, "other"));
+        assertNotSame(
+                ReactorArtifacts.forSession(session, "key"),
+                ReactorArtifacts.forSession(new DefaultRepositorySystemSession(), "key"));
+        assertNotSame(ReactorArtifacts.forSession(null, "key"), ReactorArtifacts.forSession(null, "key"));
+    }
+
+    @Test
+    public void testLoadedOnceWhileStampIsSame() throws Exception {
+        ReactorArtifacts reactorArtifacts = new ReactorArtifacts();
+        Object project = new Object();
+        List<Coordinates> artifacts = Collections.singletonList(createArtifact("org.test", "test"));
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertSame(artifacts, reactorArtifacts.get(() -> Collections.singletonList(project), () -> {
+                loads.incrementAndGet();
+                return artifacts;
+            }));
+        }
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testLoadedAgainWhenStampChanges() throws Exception {
+        ReactorArtifacts reactorArtifacts = new ReactorArtifacts();
+        List<Object> stamp = new ArrayList<>(Arrays.asList(new Object(), new Object()));
+        AtomicInteger loads = new AtomicInteger();
+        ReactorArtifacts.Loader loader = () -> {
+            loads.incrementAndGet();
+            return Collections.emptyList();
+        };
+
+        reactorArtifacts.get(() -> new ArrayList<>(stamp), loader);
+        // equal, but not the same reference
+        stamp.set(1, new Object());
+        reactorArtifacts.get(() -> new ArrayList<>(stamp), loader);
+        stamp.remove(0);
+        reactorArtifacts.get(() -> new ArrayList<>(stamp), loader);
+        reactorArtifacts.get(() -> new ArrayList<>(stamp), loader);
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    public void testConcurrentExecutionsLoadOnce() throws Exception {
+        ReactorArtifacts reactorArtifacts = new ReactorArtifacts();
+        List<Object> stamp = Collections.singletonList(new Object());
+        AtomicInteger loads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<Coordinates>>> results = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                results.add(executor.submit(() -> reactorArtifacts.get(() -> stamp, () -> {
+                    loads.incrementAndGet();
+                    LockSupport.parkNanos(10_000_000L);
+                    return Collections.singletonList(createArtifact("org.test", "test"));
+                })));
+            }
+            List<Coordinates> first = results.get(0).get();
+            for (Future<List<Coordinates>> result : results) {
+                assertSame(first, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1, loads.get());
+    }
+
+    private Coordinates createArtifact(String groupId, String artifactId) {
+        return new Coordinates(groupId, artifactId, "version", "type", "classifier", 0);
+    }
+}
@@ -0,0 +1,88 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ReactorIndexTest {
+
+    @Test
+    public void testWriteAndRead(@TempDir Path tempDir) throws Exception {
+        Dependency dependency = new Dependency();
+        dependency.setGroupId("org.dep");
+        dependency.setArtifactId("dep");
+        dependency.setVersion("2.0");
+        dependency.setClassifier("tests");
+        dependency.setScope("test");
+        dependency.setOptional(true);
+        MavenProject module = createProject(tempDir, "module", "jar");
+        module.getModel().addDependency(dependency);
+        List<MavenProject> projects = Arrays.asList(createProject(tempDir, "parent", "pom"), module);
+
+        Path indexFile = tempDir.resolve("target/reactor-index.txt");
+        assertTrue(ReactorIndex.of(projects, tempDir).write(indexFile));
+        assertFalse(ReactorIndex.of(projects, tempDir).write(indexFile));
+
+        ReactorIndex index = ReactorIndex.read(indexFile);
+        assertEquals(2, index.getModules().size());
+        assertEquals("org.test:parent", index.getModules().get(0).getKey());
+        assertEquals("pom", index.getModules().get(0).getType());
+        ReactorIndex.Module indexed = index.getModules().get(1);
+        assertEquals("org.test:module:jar:1.0", indexed.getArtifact().getId());
+        assertEquals(1, indexed.getDirectDependencies().size());
+        Artifact artifact = indexed.getDirectDependencies().get(0);
+        assertEquals("org.dep:dep:jar:tests:2.0", artifact.getId());
+        assertEquals("test", artifact.getScope());
+        assertTrue(artifact.isOptional());
+        assertEquals(Arrays.asList("org.test:module:jar:1.0", artifact.getId()), artifact.getDependencyTrail());
+        assertFalse(indexed.isStale(tempDir));
+    }
+
+    @Test
+    public void testChangedPomIsStale(@TempDir Path tempDir) throws Exception {
+        MavenProject module = createProject(tempDir, "module", "jar");
+        Path indexFile = tempDir.resolve("reactor-index.txt");
+        ReactorIndex.of(Arrays.asList(module), tempDir).write(indexFile);
+        Files.write(module.getFile().toPath(), "<project>changed</project>".getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(ReactorIndex.read(indexFile).getModules().get(0).isStale(tempDir));
+        Files.delete(module.getFile().toPath());
+        assertTrue(ReactorIndex.read(indexFile).getModules().get(0).isStale(tempDir));
+    }
+
+    @Test
+    public void testMissingOrUnsupportedIndex(@TempDir Path tempDir) throws Exception {
+        Path indexFile = tempDir.resolve("reactor-index.txt");
+        assertNull(ReactorIndex.read(indexFile));
+        Files.write(indexFile, "# other\n".getBytes(StandardCharsets.UTF_8));
+        assertNull(ReactorIndex.read(indexFile));
+    }
+
+    private static MavenProject createProject(Path root, String artifactId, String type) throws Exception {
+        Path pom = root.resolve(artifactId).resolve("pom.xml");
+        Files.createDirectories(pom.getParent());
+        Files.write(pom, ("<project>" + artifactId + "</project>").getBytes(StandardCharsets.UTF_8));
+        MavenProject project = new MavenProject();
+        project.setGroupId("org.test");
+        project.setArtifactId(artifactId);
+        project.setVersion("1.0");
+        project.setFile(pom.toFile());
+        project.setArtifact(new DefaultArtifact(
+                "org.test", artifactId, "1.0", null, type, null, new DefaultArtifactHandler(type)));
+        return project;
+    }
+}
@@ -0,0 +1,113 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import org.apache.maven.model.Model;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ReproducibleOutputTest {
+
+    @Test
+    public void testArtifactOrder() {
+        List<Coordinates> artifacts = new ArrayList<>(Arrays.asList(
+                createArtifact("org.test", "b", "jar", "", "1.0"),
+                createArtifact("org.test", "a", "jar", "tests", "1.0"),
+                createArtifact("org.test", "a", "pom", "", "1.0"),
+                createArtifact("org.test", "a", "jar", "", "2.0"),
+                createArtifact("org.test", "a", "jar", "", "1.0"),
+                createArtifact("com.test", "z", "jar", "", "1.0")));
+        artifacts.sort(ReproducibleOutput.ARTIFACT_ORDER);
+
+        assertEquals(
+                Arrays.asList(
+                        "com.test:z:jar::1.0",
+                        "org.test:a:jar::1.0",
+                        "org.test:a:jar::2.0",
+                        "org.test:a:jar:tests:1.0",
+                        "org.test:a:pom::1.0",
+                        "org.test:b:jar::1.0"),
+                artifacts.stream()
+                        .map(a -> a.getGroupId() + ":" + a.getArtifactId() + ":" + a.getType() + ":"
+                                + a.getClassifier() + ":" + a.getVersion())
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testSortedProperties() {
+        Properties properties = new Properties();
+        for (String name : Arrays.asList("zeta", "alpha", "mid", "beta")) {
+            properties.setProperty(name, name + ".value");
+        }
+        Properties sorted = ReproducibleOutput.sorted(properties);
+
+        assertEquals(Arrays.asList("alpha", "beta", "mid", "zeta"), new ArrayList<>(sorted.keySet()));
+        assertEquals("mid.value", sorted.getProperty("mid"));
+    }
+
+    @Test
+    public void testNormalizedModelIsCopy() {
+        Model model = new Model();
+        model.setName("  name ");
+        model.addProperty("b", "2");
+        model.addProperty("a", "1");
+        Model normalized = ReproducibleOutput.normalize(model);
+
+        assertNotSame(model, normalized);
+        assertEquals("name", normalized.getName());
+        assertEquals("  name ", model.getName());
+        assertEquals("UTF-8", normalized.getModelEncoding());
+        assertEquals(Arrays.asList("a", "b"), new ArrayList<>(normalized.getProperties().keySet()));
+    }
+
+    @Test
+    public void testNormalizingWriter() throws Exception {
+        StringWriter target = new StringWriter();
+        try (Writer writer = ReproducibleOutput.normalizing(target)) {
+            writer.write("a  \r\nb\t\rc d \n");
+            writer.write('\r');
+            writer.write("\ne");
+        }
+
+        assertEquals("a\nb\nc d\n\ne", target.toString());
+    }
+
+    @Test
+    public void testOutputTimestamp() {
+        assertNull(ReproducibleOutput.outputTimestamp(null));
+        assertNull(ReproducibleOutput.outputTimestamp("a"));
+        assertEquals(Instant.ofEpochSecond(1700000000L), ReproducibleOutput.outputTimestamp("1700000000"));
+        assertEquals(
+                Instant.parse("2023-11-14T22:13:20Z"), ReproducibleOutput.outputTimestamp("2023-11-15T00:13:20+02:00"));
+        assertThrows(IllegalArgumentException.class, () -> ReproducibleOutput.outputTimestamp("yesterday"));
+    }
+
+    @Test
+    public void testTouch(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("pom.xml");
+        Files.write(file, new byte[] {1});
+        Instant timestamp = Instant.ofEpochSecond(1700000000L);
+        ReproducibleOutput.touch(file, timestamp);
+        ReproducibleOutput.touch(tempDir.resolve("missing.xml"), timestamp);
+
+        assertEquals(timestamp, Files.getLastModifiedTime(file).toInstant());
+    }
+
+    private static Coordinates createArtifact(
+            String groupId, String artifactId, String type, String classifier, String version) {
+        return new Coordinates(groupId, artifactId, version, type, classifier, 1);
+    }
+}
@@ -0,0 +1,102 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifactType;
+import org.eclipse.aether.repository.LocalArtifactRequest;
+import org.eclipse.aether.repository.LocalArtifactResult;
+import org.eclipse.aether.repository.LocalRepositoryManager;
+import org.eclipse.aether.util.artifact.DefaultArtifactTypeRegistry;
+import org.junit.jupiter.api.Test;
+
+public class ResolvabilityCheckerTest {
+
+    private final Set<String> localArtifacts = new HashSet<>();
+
+    @Test
+    public void testLocalRepositoryLookup() {
+        localArtifacts.add("org.test:present:jar:1.0");
+        localArtifacts.add("org.test:tests:jar:tests:1.0");
+        ResolvabilityChecker checker = new ResolvabilityChecker(session(), Collections.emptyList());
+
+        assertTrue(checker.isResolvable(createArtifact("org.test", "present", "1.0", "jar", null)));
+        assertTrue(checker.isResolvable(createArtifact("org.test", "tests", "1.0", "test-jar", null)));
+        assertFalse(checker.isResolvable(createArtifact("org.test", "present", "2.0", "jar", null)));
+        assertFalse(checker.isResolvable(createArtifact("org.test", "present", "1.0", "jar", "sources")));
+    }
+
+    @Test
+    public void testReactorArtifactsAreResolvable() {
+        MavenProject project = new MavenProject();
+        project.setGroupId("org.test");
+        project.setArtifactId("module");
+        project.setVersion("1.0-SNAPSHOT");
+        ResolvabilityChecker checker = new ResolvabilityChecker(session(), Collections.singletonList(project));
+
+        assertTrue(checker.isResolvable(createArtifact("org.test", "module", "1.0-SNAPSHOT", "jar", null)));
+        assertTrue(checker.isResolvable(createArtifact("org.test", "module", "1.0-SNAPSHOT", "jar", "tests")));
+        assertFalse(checker.isResolvable(createArtifact("org.test", "module", "0.9", "jar", null)));
+    }
+
+    @Test
+    public void testUnresolvableKeepOrder() throws Exception {
+        List<Coordinates> artifacts = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            artifacts.add(createArtifact("org.test", "a" + i, "1.0", "jar", null));
+            if (i % 3 == 0) {
+                localArtifacts.add("org.test:a" + i + ":jar:1.0");
+            } else {
+                expected.add("org.test:a" + i + ":jar:1.0");
+            }
+        }
+        ResolvabilityChecker checker = new ResolvabilityChecker(session(), null);
+
+        for (int threads : Arrays.asList(1, 4)) {
+            List<String> ids = new ArrayList<>();
+            for (Coordinates artifact : checker.unresolvable(artifacts, threads)) {
+                ids.add(artifact.getId());
+            }
+            assertEquals(expected, ids);
+        }
+    }
+
+    private RepositorySystemSession session() {
+        LocalRepositoryManager localRepositoryManager = mock(LocalRepositoryManager.class);
+        when(localRepositoryManager.find(any(), any(LocalArtifactRequest.class)))
+                .thenAnswer(invocation -> {
+                    LocalArtifactRequest request = invocation.getArgument(1);
+                    LocalArtifactResult result = new LocalArtifactResult(request);
+                    if (localArtifacts.contains(request.getArtifact().toString())) {
+                        result.setFile(new File(request.getArtifact().getArtifactId()));
+                    }
+                    return result;
+                });
+        DefaultRepositorySystemSession session = new DefaultRepositorySystemSession();
+        session.setLocalRepositoryManager(localRepositoryManager);
+        session.setArtifactTypeRegistry(new DefaultArtifactTypeRegistry()
+                .add(new DefaultArtifactType("jar"))
+                .add(new DefaultArtifactType("test-jar", "jar", "tests", "java")));
+        return session;
+    }
+
+    private static Coordinates createArtifact(
+            String groupId, String artifactId, String version, String type, String classifier) {
+        return new Coordinates(groupId, artifactId, version, type, classifier, 1);
+    }
+}
@@ -0,0 +1,137 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.Properties;
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Exclusion;
+import org.apache.maven.model.License;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.Profile;
+import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
+import org.junit.jupiter.api.Test;
+
+public class StreamingBomWriterTest {
+
+    @Test
+    public void testOutputIsSameAsModelWriterOutput() throws Exception {
+        Model header = createHeader();
+        Properties properties = new Properties();
+        properties.setProperty("version.org.test", "1.0");
+        properties.setProperty("version.org.other", "2.0 & <more>");
+        DependencyManagement depMgmt = new DependencyManagement();
+        depMgmt.addDependency(createDependency("org.test", "test", "${version.org.test}", "jar", null));
+        depMgmt.addDependency(createDependency("org.test", "test", "${version.org.test}", "test-jar", "tests"));
+        Dependency withExclusions = createDependency("org.other", "other", "2.0]]>", "pom", null);
+        Exclusion exclusion = new Exclusion();
+        exclusion.setGroupId("commons-logging");
+        exclusion.setArtifactId("*");
+        withExclusions.addExclusion(exclusion);
+        depMgmt.addDependency(withExclusions);
+
+        Model model = header.clone();
+        model.setProperties(properties);
+        model.setDependencyManagement(depMgmt);
+        StringWriter expected = new StringWriter();
+        new MavenXpp3Writer().write(expected, model);
+
+        StringWriter actual = new StringWriter();
+        new StreamingBomWriter().write(header, properties, depMgmt.getDependencies(), actual);
+
+        assertEquals(expected.toString(), actual.toString());
+    }
+
+    @Test
+    public void testOutputWithoutProperties() throws Exception {
+        Model header = createHeader();
+        DependencyManagement depMgmt = new DependencyManagement();
+        depMgmt.addDependency(createDependency("org.test", "test", "1.0", "jar", null));
+
+        Model model = header.clone();
+        model.setDependencyManagement(depMgmt);
+        StringWriter expected = new StringWriter();
+        new MavenXpp3Writer().write(expected, model);
+
+        StringWriter actual = new StringWriter();
+        new StreamingBomWriter().write(header, new Properties(), depMgmt.getDependencies(), actual);
+
+        assertEquals(expected.toString(), actual.toString());
+    }
+
+    @Test
+    public void testOutputWithoutDependencies() throws Exception {
+        Model header = createHeader();
+
+        Model model = header.clone();
+        model.setDependencyManagement(new DependencyManagement());
+        StringWriter expected = new StringWriter();
+        new MavenXpp3Writer().write(expected, model);
+
+        StringWriter actual = new StringWriter();
+        new StreamingBomWriter().write(header, new Properties(), Collections.emptyList(), actual);
+
+        assertEquals(expected.toString(), actual.toString());
+    }
+
+    @Test
+    public void testOutputWithElementsAfterDependencyManagement() throws Exception {
+        Model header = createHeader();
+        header.addDependency(createDependency("org.test", "dependency", "1.0", "jar", null));
+        header.setBuild(new Build());
+        header.getBuild().setFinalName("test-bom");
+        Profile profile = new Profile();
+        profile.setId("profile");
+        profile.setDependencyManagement(new DependencyManagement());
+        header.addProfile(profile);
+        Properties properties = new Properties();
+        properties.setProperty("version.org.test", "1.0");
+        DependencyManagement depMgmt = new DependencyManagement();
+        depMgmt.addDependency(createDependency("org.test", "test", "${version.org.test}", "jar", null));
+
+        Model model = header.clone();
+        model.setProperties(properties);
+        model.setDependencyManagement(depMgmt);
+        StringWriter expected = new StringWriter();
+        new MavenXpp3Writer().write(expected, model);
+
+        StringWriter actual = new StringWriter();
+        new StreamingBomWriter().write(header, properties, depMgmt.getDependencies(), actual);
+
+        assertEquals(expected.toString(), actual.toString());
+    }
+
+    private Model createHeader() {
+        Model header = new Model();
+        header.setModelVersion("4.0.0");
+        Parent parent = new Parent();
+        parent.setGroupId("org.test");
+        parent.setArtifactId("parent");
+        parent.setVersion("1");
+        header.setParent(parent);
+        header.setGroupId("org.test");
+        header.setArtifactId("test-bom");
+        header.setVersion("1.0");
+        header.setPackaging("pom");
+        header.setName("Test BOM");
+        License license = new License();
+        license.setName("Apache-2.0");
+        header.addLicense(license);
+        return header;
+    }
+
+    private Dependency createDependency(
+            String groupId, String artifactId, String version, String type, String classifier) {
+        Dependency dependency = new Dependency();
+        dependency.setGroupId(groupId);
+        dependency.setArtifactId(artifactId);
+        dependency.setVersion(version);
+        dependency.setType(type);
+        dependency.setClassifier(classifier);
+        return dependency;
+    }
+}
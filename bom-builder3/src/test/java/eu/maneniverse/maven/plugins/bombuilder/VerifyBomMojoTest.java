@@ -0,0 +1,135 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.ArtifactHandler;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.internal.impl.SimpleLocalRepositoryManagerFactory;
+import org.eclipse.aether.repository.LocalRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class VerifyBomMojoTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testMatchingBaselinePasses() throws Exception {
+        VerifyBomMojo mojo = createVerifyBomMojo("a:1.0", "b:1.0");
+        mojo.baseline = writeBom(tempDir.resolve("expected.xml"), "a:1.0", "b:1.0").toFile();
+
+        mojo.execute();
+    }
+
+    @Test
+    public void testVersionChangeFailsUnlessAllowed() throws Exception {
+        VerifyBomMojo mojo = createVerifyBomMojo("a:1.0", "b:1.1");
+        mojo.baseline = writeBom(tempDir.resolve("expected.xml"), "a:1.0", "b:1.0").toFile();
+
+        MojoExecutionException e = assertThrows(MojoExecutionException.class, mojo::execute);
+        assertTrue(e.getMessage().contains("changes org.test:b:jar: from 1.0 to 1.1"), e.getMessage());
+
+        mojo.allowVersionChanges = true;
+        mojo.execute();
+    }
+
+    @Test
+    public void testAdditionsAndRemovalsFailUnlessAllowed() throws Exception {
+        VerifyBomMojo mojo = createVerifyBomMojo("a:1.0", "c:1.0");
+        mojo.baseline = writeBom(tempDir.resolve("expected.xml"), "a:1.0", "b:1.0").toFile();
+
+        MojoExecutionException e = assertThrows(MojoExecutionException.class, mojo::execute);
+        assertTrue(e.getMessage().contains("removes org.test:b:jar::1.0"), e.getMessage());
+
+        mojo.allowRemovals = true;
+        e = assertThrows(MojoExecutionException.class, mojo::execute);
+        assertTrue(e.getMessage().contains("adds org.test:c:jar::1.0"), e.getMessage());
+
+        mojo.allowAdditions = true;
+        mojo.execute();
+    }
+
+    @Test
+    public void testLastReleasedBomIsTakenFromLocalRepository() throws Exception {
+        Path localRepository = tempDir.resolve("repository");
+        Path versions = localRepository.resolve("org/test/bom");
+        writeBom(Files.createDirectories(versions.resolve("0.9")).resolve("bom-0.9.pom"), "a:0.9");
+        writeBom(Files.createDirectories(versions.resolve("0.10")).resolve("bom-0.10.pom"), "a:0.10");
+        writeBom(Files.createDirectories(versions.resolve("1.0-SNAPSHOT")).resolve("bom-1.0-SNAPSHOT.pom"), "a:1.0");
+        writeBom(Files.createDirectories(versions.resolve("2.0")).resolve("bom-2.0.pom"), "a:1.0");
+        VerifyBomMojo mojo = createVerifyBomMojo("a:1.0");
+        DefaultRepositorySystemSession repositorySession = new DefaultRepositorySystemSession();
+        repositorySession.setLocalRepositoryManager(new SimpleLocalRepositoryManagerFactory()
+                .newInstance(repositorySession, new LocalRepository(localRepository.toFile())));
+        mojo.mavenSession = new MavenSession(null, repositorySession, new DefaultMavenExecutionRequest(), null);
+        mojo.mavenSession.setCurrentProject(new MavenProject());
+
+        MojoExecutionException e = assertThrows(MojoExecutionException.class, mojo::execute);
+        assertTrue(e.getMessage().contains("from 0.10 to 1.0"), e.getMessage());
+
+        mojo.baselineVersion = "2.0";
+        mojo.execute();
+
+        // no baseline, nothing to verify
+        mojo.baselineVersion = "3.0";
+        mojo.execute();
+    }
+
+    private VerifyBomMojo createVerifyBomMojo(String... artifacts) {
+        VerifyBomMojo mojo = new VerifyBomMojo();
+        mojo.mavenSession = new MavenSession(
+                null, (org.eclipse.aether.RepositorySystemSession) null, new DefaultMavenExecutionRequest(), null);
+        mojo.mavenSession.setCurrentProject(new MavenProject());
+        mojo.reactorDependencies = BuildBomMojo.Scope.REACTOR;
+        mojo.directDependencies = BuildBomMojo.Scope.NONE;
+        mojo.transitiveDependencies = BuildBomMojo.Scope.NONE;
+        mojo.outputFilename = "bom-pom.xml";
+        setBom(mojo, "org.test", "bom", "1.0");
+        List<MavenProject> projects = new ArrayList<>();
+        for (String artifact : artifacts) {
+            String[] ga = artifact.split(":");
+            MavenProject project = new MavenProject();
+            project.setArtifact(
+                    new DefaultArtifact("org.test", ga[0], ga[1], null, "jar", "", (ArtifactHandler) null));
+            projects.add(project);
+        }
+        mojo.allProjects = projects;
+        return mojo;
+    }
+
+    private void setBom(VerifyBomMojo mojo, String groupId, String artifactId, String version) {
+        BomDefinition bom = new BomDefinition();
+        bom.setGroupId(groupId);
+        bom.setArtifactId(artifactId);
+        bom.setVersion(version);
+        bom.setOutputFilename(mojo.outputFilename);
+        mojo.boms = new ArrayList<>();
+        mojo.boms.add(bom);
+    }
+
+    private Path writeBom(Path file, String... artifacts) throws Exception {
+        StringBuilder bom = new StringBuilder("<project><dependencyManagement><dependencies>\n");
+        for (String artifact : artifacts) {
+            String[] av = artifact.split(":");
+            bom.append("<dependency><groupId>org.test</groupId><artifactId>")
+                    .append(av[0])
+                    .append("</artifactId><version>")
+                    .append(av[1])
+                    .append("</version></dependency>\n");
+        }
+        bom.append("</dependencies></dependencyManagement></project>\n");
+        return Files.write(file, bom.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
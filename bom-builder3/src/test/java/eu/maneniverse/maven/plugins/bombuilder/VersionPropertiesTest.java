@@ -0,0 +1,122 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class VersionPropertiesTest {
+
+    private static final List<String[]> ARTIFACTS = Arrays.asList(
+            new String[] {"junit", "junit", "4.13"},
+            new String[] {"org.eclipse.jetty", "jetty-server", "9.4.1"},
+            new String[] {"org.eclipse.jetty", "jetty-util", "9.4.1"},
+            new String[] {"org.eclipse.jetty.websocket", "websocket-api", "9.4.1"},
+            new String[] {"org.slf4j", "slf4j-api", "2.0.1"},
+            new String[] {"org.slf4j", "slf4j-simple", "2.0.0"});
+
+    @Test
+    public void testGroupNaming() {
+        VersionProperties versionProperties = of(ARTIFACTS, BuildBomMojo.VersionPropertyNaming.GROUP);
+
+        assertProperties(
+                versionProperties,
+                "version.junit=4.13",
+                "version.org.eclipse.jetty=9.4.1",
+                "version.org.eclipse.jetty.websocket=9.4.1",
+                "version.org.slf4j.slf4j-api=2.0.1",
+                "version.org.slf4j.slf4j-simple=2.0.0");
+        assertEquals("version.org.eclipse.jetty", versionProperties.getPropertyName(2));
+        assertEquals("version.org.slf4j.slf4j-simple", versionProperties.getPropertyName(5));
+    }
+
+    @Test
+    public void testArtifactNaming() {
+        assertProperties(
+                of(ARTIFACTS, BuildBomMojo.VersionPropertyNaming.ARTIFACT),
+                "version.junit.junit=4.13",
+                "version.org.eclipse.jetty.jetty-server=9.4.1",
+                "version.org.eclipse.jetty.jetty-util=9.4.1",
+                "version.org.eclipse.jetty.websocket.websocket-api=9.4.1",
+                "version.org.slf4j.slf4j-api=2.0.1",
+                "version.org.slf4j.slf4j-simple=2.0.0");
+    }
+
+    @Test
+    public void testSharedNaming() {
+        VersionProperties versionProperties = of(ARTIFACTS, BuildBomMojo.VersionPropertyNaming.SHARED);
+
+        assertProperties(
+                versionProperties,
+                "version.junit=4.13",
+                "version.org.eclipse.jetty=9.4.1",
+                "version.org.slf4j.slf4j-api=2.0.1",
+                "version.org.slf4j.slf4j-simple=2.0.0");
+        assertEquals("version.org.eclipse.jetty", versionProperties.getPropertyName(3));
+    }
+
+    @Test
+    public void testSharedNamingRequiresCommonPrefixOfTwoSegments() {
+        assertProperties(
+                of(
+                        Arrays.asList(
+                                new String[] {"org.apache", "a", "1.0"},
+                                new String[] {"org.apachex", "b", "1.0"},
+                                new String[] {"org.codehaus.plexus", "c", "1.0"},
+                                new String[] {"org.codehaus.mojo", "d", "1.0"},
+                                new String[] {"org.codehaus.mojo.x", "e", "1.0"}),
+                        BuildBomMojo.VersionPropertyNaming.SHARED),
+                "version.org.apache=1.0",
+                "version.org.apachex=1.0",
+                "version.org.codehaus=1.0");
+    }
+
+    @Test
+    public void testUnsortedItems() {
+        VersionProperties versionProperties = of(
+                Arrays.asList(
+                        new String[] {"org.slf4j", "slf4j-simple", "2.0.0"},
+                        new String[] {"junit", "junit", "4.13"},
+                        new String[] {"org.slf4j", "slf4j-api", "2.0.1"}),
+                BuildBomMojo.VersionPropertyNaming.GROUP);
+
+        assertProperties(
+                versionProperties,
+                "version.junit=4.13",
+                "version.org.slf4j.slf4j-api=2.0.1",
+                "version.org.slf4j.slf4j-simple=2.0.0");
+        assertEquals("version.org.slf4j.slf4j-simple", versionProperties.getPropertyName(0));
+        assertEquals("version.junit", versionProperties.getPropertyName(1));
+    }
+
+    @Test
+    public void testArtifactWithDifferentVersionsHasNoProperty() {
+        VersionProperties versionProperties = of(
+                Arrays.asList(
+                        new String[] {"org.test", "test", "1.0"},
+                        new String[] {"org.test", "test", "2.0"},
+                        new String[] {"org.test", "other", "1.0"}),
+                BuildBomMojo.VersionPropertyNaming.GROUP);
+
+        assertProperties(versionProperties, "version.org.test.other=1.0");
+        assertNull(versionProperties.getPropertyName(0));
+        assertNull(versionProperties.getPropertyName(1));
+    }
+
+    private VersionProperties of(List<String[]> artifacts, BuildBomMojo.VersionPropertyNaming naming) {
+        return VersionProperties.of(artifacts, a -> a[0], a -> a[1], a -> a[2], naming);
+    }
+
+    private void assertProperties(VersionProperties versionProperties, String... expected) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        for (String property : expected) {
+            String[] nameValue = property.split("=");
+            properties.put(nameValue[0], nameValue[1]);
+        }
+        assertEquals(properties.toString(), versionProperties.getProperties().toString());
+    }
+}
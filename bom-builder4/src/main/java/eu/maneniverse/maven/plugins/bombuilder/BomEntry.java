@@ -0,0 +1,69 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A dependency management entry of BOM, as collected from reactor projects and their dependencies. Entries are plain
+ * values, so that collected entries may be cached in session data and shared by executions of all projects.
+ */
+final class BomEntry {
+
+    private static final Comparator<BomEntry> ORDER = Comparator.comparing((BomEntry e) -> e.groupId)
+            .thenComparing(e -> e.artifactId)
+            .thenComparing(e -> e.type)
+            .thenComparing(e -> e.classifier);
+
+    final String groupId;
+
+    final String artifactId;
+
+    final String version;
+
+    final String type;
+
+    final String classifier;
+
+    BomEntry(String groupId, String artifactId, String version, String type, String classifier) {
+        this.groupId = groupId;
+        this.artifactId = artifactId;
+        this.version = version;
+        this.type = type == null || type.isEmpty() ? "jar" : type;
+        this.classifier = classifier == null ? "" : classifier;
+    }
+
+    /**
+     * Returns the {@code groupId:artifactId:type:classifier} of entry, as dependency management may contain one
+     * version per key only.
+     */
+    String key() {
+        return groupId + ":" + artifactId + ":" + type + ":" + classifier;
+    }
+
+    /**
+     * Merges given entries: the highest version of each key wins, as ordered by given version comparator. The
+     * returned entries are sorted by groupId, artifactId, type and classifier.
+     */
+    static List<BomEntry> merge(Collection<BomEntry> entries, Comparator<String> versionOrder) {
+        Map<String, BomEntry> merged = new LinkedHashMap<>();
+        for (BomEntry entry : entries) {
+            merged.merge(
+                    entry.key(),
+                    entry,
+                    (existing, candidate) ->
+                            versionOrder.compare(candidate.version, existing.version) > 0 ? candidate : existing);
+        }
+        List<BomEntry> result = new ArrayList<>(merged.values());
+        result.sort(ORDER);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return key() + ":" + version;
+    }
+}
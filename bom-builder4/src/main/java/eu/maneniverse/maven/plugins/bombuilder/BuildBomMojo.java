@@ -0,0 +1,598 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import org.apache.maven.api.DependencyScope;
+import org.apache.maven.api.Node;
+import org.apache.maven.api.PathScope;
+import org.apache.maven.api.ProducedArtifact;
+import org.apache.maven.api.Project;
+import org.apache.maven.api.Session;
+import org.apache.maven.api.SessionData;
+import org.apache.maven.api.di.Inject;
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.model.DependencyManagement;
+import org.apache.maven.api.model.Exclusion;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.model.Parent;
+import org.apache.maven.api.plugin.Log;
+import org.apache.maven.api.plugin.MojoException;
+import org.apache.maven.api.plugin.annotations.Mojo;
+import org.apache.maven.api.plugin.annotations.Parameter;
+import org.apache.maven.api.services.ArtifactManager;
+import org.apache.maven.api.services.ProjectManager;
+import org.apache.maven.api.services.xml.ModelXmlFactory;
+
+/**
+ * Generates a BOM based on the project/reactor and dependencies, using the Maven 4 API. The generated BOM may be
+ * attached to project w/ classifier or it may replace a given subproject POM (if it is packaging=pom and have no
+ * subprojects), including its consumer POM.
+ * <p>
+ * Reactor projects and their models are immutable in Maven 4, hence they are only read, never copied. Dependencies
+ * are collected (not resolved), as BOM needs their coordinates only. Entries collected from whole reactor are
+ * computed once per session, and shared by executions of all projects.
+ * <p>
+ * This Mojo is affected if it needs "whole reactor"
+ * but reactor is limited in any way (ie -r or alike option used).
+ */
+@Mojo(name = "build-bom", defaultPhase = "generate-resources")
+public class BuildBomMojo implements org.apache.maven.api.plugin.Mojo {
+
+    /**
+     * BOM parent GAV, in form for {@code G:A:V}. If specified, the GAV will be set as parent of generated BOM.
+     * See also {@link #useProjectParentAsParent}.
+     */
+    @Parameter
+    private String bomParentGav;
+
+    /**
+     * BOM groupId, by default current project groupId.
+     */
+    @Parameter(required = true, property = "bom.groupId", defaultValue = "${project.groupId}")
+    private String bomGroupId;
+
+    /**
+     * BOM artifactId, by default current project artifactId.
+     */
+    @Parameter(required = true, property = "bom.artifactId", defaultValue = "${project.artifactId}")
+    private String bomArtifactId;
+
+    /**
+     * BOM version, by default current project version.
+     */
+    @Parameter(required = true, property = "bom.version", defaultValue = "${project.version}")
+    private String bomVersion;
+
+    /**
+     * BOM name.
+     */
+    @Parameter(property = "bom.name")
+    private String bomName;
+
+    /**
+     * BOM description.
+     */
+    @Parameter(property = "bom.description")
+    private String bomDescription;
+
+    /**
+     * BOM classifier, optional. If not specified, and {@link #attach} is set, will <em>replace current module POM</em>.
+     */
+    @Parameter(property = "bom.classifier")
+    private String bomClassifier;
+
+    /**
+     * If inherit values, from where to inherit them? Accepted values are "top" (default) that will use reactor
+     * top level POM, or "this" that will use values of current POM.
+     * <p>
+     * Inherited values are:
+     * <ul>
+     *     <li>project.name (if not specified explicitly)</li>
+     *     <li>project.description (if not specified explicitly)</li>
+     *     <li>project.url</li>
+     *     <li>project.licenses</li>
+     *     <li>project.developers</li>
+     *     <li>project.scm</li>
+     * </ul>
+     * These values are required to have BOM published to Maven Central.
+     *
+     * @see <a href="https://central.sonatype.org/publish/requirements/">Maven Central Requirements</a>
+     */
+    @Parameter(property = "bom.inheritFrom", defaultValue = "top")
+    private String inheritFrom;
+
+    /**
+     * Whether to add collected versions to BOM properties.
+     *
+     * @see #usePropertiesForVersion
+     */
+    @Parameter
+    private boolean addVersionProperties;
+
+    /**
+     * Whether to use properties to specify dependency versions in BOM. This will also add properties to BOM with
+     * dependency versions.
+     *
+     * @see #addVersionProperties
+     */
+    @Parameter(property = "bom.usePropertiesForVersion")
+    private boolean usePropertiesForVersion;
+
+    /**
+     * BOM output file. If relative, is resolved from {@code ${project.build}} directory.
+     */
+    @Parameter(defaultValue = "bom-pom.xml")
+    private String outputFilename;
+
+    /**
+     * Whether the BOM should include the dependency exclusions that
+     * are present in the source POM.  By default, the exclusions
+     * will not be copied to the new BOM.
+     * <p>
+     * The dependencyGroupId and dependencyArtifactId may be {@code *} to apply exclusion to any dependency in given
+     * group, or to given artifact in any group.
+     */
+    @Parameter
+    private List<BomExclusion> exclusions;
+
+    /**
+     * List of dependencies which should be excluded from BOM. Both, groupId and artifactId may be {@code *} to match
+     * any value, or a glob pattern like {@code org.apache.*} or {@code maven-*}.
+     */
+    @Parameter
+    private List<DependencyExclusion> dependencyExclusions;
+
+    /**
+     * List of dependencies which should be included in BOM. If set, only included ones will be added to BOM. Patterns
+     * are same as for {@link #dependencyExclusions}.
+     */
+    @Parameter
+    private List<DependencyExclusion> dependencyInclusions;
+
+    /**
+     * The scope of dependencies getting into BOM.
+     */
+    public enum Scope {
+        NONE,
+        REACTOR,
+        CURRENT_PROJECT
+    }
+
+    /**
+     * The projects of the reactor to be included in generated BOM. Possible values and their meaning:
+     * <ul>
+     *     <li>NONE - will result that no reactor project are included in BOM.</li>
+     *     <li>REACTOR - will include whole reactor into BOM. <em>Warning: if reactor is any way "limited", it will affect this mojo output!</em></li>
+     *     <li>CURRENT_PROJECT - will include only current project into BOM.</li>
+     * </ul>
+     *
+     * Note: see also {@link #includePoms}.
+     */
+    @Parameter(property = "bom.reactorDependencies", defaultValue = "REACTOR")
+    private Scope reactorDependencies;
+
+    /**
+     * The direct dependencies to be included in generated BOM. Possible values and their meaning:
+     * <ul>
+     *     <li>NONE - will result that no direct dependencies are included in BOM.</li>
+     *     <li>REACTOR - will include whole reactor direct dependencies into BOM. <em>Warning: if reactor is any way "limited", it will affect this mojo output!</em></li>
+     *     <li>CURRENT_PROJECT - will include direct dependencies of only current project into BOM.</li>
+     * </ul>
+     */
+    @Parameter(property = "bom.directDependencies", defaultValue = "NONE")
+    private Scope directDependencies;
+
+    /**
+     * The transitive dependencies to be included in generated BOM. Possible values and their meaning:
+     * <ul>
+     *     <li>NONE - will result that no transitive dependencies are included in BOM.</li>
+     *     <li>REACTOR - will include whole reactor transitive dependencies into BOM. <em>Warning: if reactor is any way "limited", it will affect this mojo output!</em></li>
+     *     <li>CURRENT_PROJECT - will include transitive dependencies of only current project into BOM.</li>
+     * </ul>
+     */
+    @Parameter(property = "bom.transitiveDependencies", defaultValue = "NONE")
+    private Scope transitiveDependencies;
+
+    /**
+     * Whether generated BOM contain reactor artifacts with packaging "pom" as well, when a {@link #reactorDependencies}
+     * value is set that pulls in reactor artifacts.
+     */
+    @Parameter(property = "bom.includePoms")
+    private boolean includePoms;
+
+    /**
+     * Should the generated BOM use project parent, if applicable, as parent? Ignored if {@link #bomParentGav} specified.
+     */
+    @Parameter(property = "bom.useProjectParentAsParent")
+    private boolean useProjectParentAsParent;
+
+    /**
+     * Should the generated BOM be attached to project? See {@link #bomClassifier}.
+     * Note: if this parameter is {@code true}, the generated BOM will be attached using given classifier OR
+     * will replace module POM (and its consumer POM). To replace, the project must fulfil certain requirements:
+     * <ul>
+     *     <li>The project must have packaging "pom"</li>
+     *     <li>The project must NOT have subprojects (modules)</li>
+     * </ul>
+     * In case {@link #bomClassifier} is not set, and current project does not fulfil these requirements, the mojo
+     * will fail the build.
+     */
+    @Parameter(property = "bom.attach")
+    private boolean attach;
+
+    @Inject
+    private Session session;
+
+    @Inject
+    private Project project;
+
+    @Inject
+    private Log log;
+
+    /**
+     * The scope of collected transitive dependencies, same as the compile scoped resolution of Maven 3 plugin.
+     */
+    private static final PathScope PATH_SCOPE = PathScope.MAIN_COMPILE;
+
+    /**
+     * The scope dependency graph is collected with: the widest one, so that declared dependencies of any scope (test
+     * and runtime ones too) are direct entries, as with Maven 3 plugin.
+     */
+    private static final PathScope COLLECT_PATH_SCOPE = PathScope.TEST_RUNTIME;
+
+    @Override
+    public void execute() {
+        log.debug("Generating BOM");
+        List<BomEntry> entries = BomEntry.merge(
+                collectEntries(), (v1, v2) -> session.parseVersion(v1).compareTo(session.parseVersion(v2)));
+        List<BomEntry> included = new ArrayList<>(entries.size());
+        for (BomEntry entry : entries) {
+            if (isIncluded(entry) && !isExcluded(entry)) {
+                included.add(entry);
+            }
+        }
+        Model model = buildModel(included);
+        Path outputFile =
+                project.getBasedir().resolve(project.getBuild().getDirectory()).resolve(outputFilename);
+        if (write(model, outputFile)) {
+            log.info("BOM written to " + outputFile);
+        } else {
+            log.info("BOM content unchanged, left " + outputFile + " untouched");
+        }
+        if (attach) {
+            attach(outputFile);
+        }
+    }
+
+    /**
+     * Collects the BOM entries of all requested scopes, in reactor order.
+     */
+    private List<BomEntry> collectEntries() {
+        List<BomEntry> entries = new ArrayList<>();
+        if (reactorDependencies == Scope.REACTOR
+                || directDependencies == Scope.REACTOR
+                || transitiveDependencies == Scope.REACTOR) {
+            entries.addAll(reactorEntries());
+        }
+        if (reactorDependencies == Scope.CURRENT_PROJECT
+                || directDependencies == Scope.CURRENT_PROJECT
+                || transitiveDependencies == Scope.CURRENT_PROJECT) {
+            collectProject(
+                    project,
+                    reactorDependencies == Scope.CURRENT_PROJECT,
+                    directDependencies == Scope.CURRENT_PROJECT,
+                    transitiveDependencies == Scope.CURRENT_PROJECT,
+                    entries);
+        }
+        return entries;
+    }
+
+    /**
+     * Returns the entries requested with {@link Scope#REACTOR}, collected once per session and configuration: as
+     * reactor projects are immutable, the entries are same for all executions.
+     */
+    private List<BomEntry> reactorEntries() {
+        String id = "includePoms=" + includePoms + ",reactorDependencies=" + (reactorDependencies == Scope.REACTOR)
+                + ",directDependencies=" + (directDependencies == Scope.REACTOR)
+                + ",transitiveDependencies=" + (transitiveDependencies == Scope.REACTOR);
+        return session.getData()
+                .computeIfAbsent(SessionData.key(ReactorEntries.class, id), () -> {
+                    List<BomEntry> entries = new ArrayList<>();
+                    for (Project prj : session.getProjects()) {
+                        collectProject(
+                                prj,
+                                reactorDependencies == Scope.REACTOR,
+                                directDependencies == Scope.REACTOR,
+                                transitiveDependencies == Scope.REACTOR,
+                                entries);
+                    }
+                    log.debug("Collected entries of " + session.getProjects().size() + " reactor projects");
+                    return new ReactorEntries(entries);
+                })
+                .entries;
+    }
+
+    /**
+     * The entries collected from whole reactor, as kept in session data.
+     */
+    private static final class ReactorEntries {
+        private final List<BomEntry> entries;
+
+        private ReactorEntries(List<BomEntry> entries) {
+            this.entries = Collections.unmodifiableList(entries);
+        }
+    }
+
+    /**
+     * Collects the requested entries of given project: the project itself, and its direct or all dependencies, as
+     * collected into dependency graph by resolver. Direct dependencies are included in any scope, transitive ones in
+     * scopes of {@link #PATH_SCOPE} only.
+     */
+    private void collectProject(
+            Project prj, boolean itself, boolean direct, boolean transitive, List<BomEntry> entries) {
+        if (!includePoms && "pom".equals(prj.getPackaging().id())) {
+            return;
+        }
+        if (itself) {
+            entries.add(new BomEntry(
+                    prj.getGroupId(),
+                    prj.getArtifactId(),
+                    prj.getVersion(),
+                    prj.getPackaging().type().id(),
+                    null));
+        }
+        if (direct || transitive) {
+            Node root = session.collectDependencies(prj, COLLECT_PATH_SCOPE);
+            Set<DependencyScope> scopes = PATH_SCOPE.dependencyScopes();
+            for (Node child : root.getChildren()) {
+                org.apache.maven.api.Dependency dependency = child.getDependency();
+                if (dependency == null) {
+                    continue;
+                }
+                if (direct || scopes.contains(dependency.getScope())) {
+                    entries.add(entry(dependency));
+                }
+                if (transitive) {
+                    for (Node grandChild : child.getChildren()) {
+                        collectTransitive(grandChild, scopes, entries);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void collectTransitive(Node node, Set<DependencyScope> scopes, List<BomEntry> entries) {
+        org.apache.maven.api.Dependency dependency = node.getDependency();
+        if (dependency == null || !scopes.contains(dependency.getScope())) {
+            return;
+        }
+        entries.add(entry(dependency));
+        for (Node child : node.getChildren()) {
+            collectTransitive(child, scopes, entries);
+        }
+    }
+
+    private static BomEntry entry(org.apache.maven.api.Dependency dependency) {
+        return new BomEntry(
+                dependency.getGroupId(),
+                dependency.getArtifactId(),
+                dependency.getVersion().toString(),
+                dependency.getType().id(),
+                dependency.getClassifier());
+    }
+
+    /**
+     * Builds the BOM model, from immutable parts of project models where inherited.
+     */
+    private Model buildModel(List<BomEntry> entries) {
+        Model.Builder builder = Model.newBuilder()
+                .modelVersion("4.0.0")
+                .groupId(bomGroupId)
+                .artifactId(bomArtifactId)
+                .version(bomVersion)
+                .packaging("pom")
+                .name(bomName)
+                .description(bomDescription);
+
+        if (bomParentGav != null) {
+            String[] gav = bomParentGav.split(":");
+            if (gav.length != 3) {
+                throw new MojoException("BOM parent should be specified as [groupId]:[artifactId]:[version] but is '"
+                        + bomParentGav + "'");
+            }
+            builder.parent(Parent.newBuilder()
+                    .groupId(gav[0])
+                    .artifactId(gav[1])
+                    .version(gav[2])
+                    .build());
+        } else if (useProjectParentAsParent && project.getModel().getParent() != null) {
+            builder.parent(project.getModel().getParent().withRelativePath(null));
+        }
+
+        // if attached (maybe even published) and not using parent and will be standalone POM: inherit required things
+        if (attach && !useProjectParentAsParent && (bomClassifier == null || bomClassifier.trim().isEmpty())) {
+            Model inherited;
+            if ("top".equals(inheritFrom)) {
+                inherited = session.getProjects().stream()
+                        .filter(Project::isTopProject)
+                        .findFirst()
+                        .orElse(project)
+                        .getModel();
+            } else if ("this".equals(inheritFrom)) {
+                inherited = project.getModel();
+            } else {
+                throw new MojoException("Invalid value for parameter inheritFrom: \"" + inheritFrom
+                        + "\"; Supported values are \"top\" (default) and \"this\"");
+            }
+            if (bomName == null) {
+                builder.name(inherited.getName());
+            }
+            if (bomDescription == null) {
+                builder.description(inherited.getDescription());
+            }
+            builder.url(inherited.getUrl())
+                    .licenses(inherited.getLicenses())
+                    .developers(inherited.getDevelopers())
+                    .scm(inherited.getScm());
+        }
+
+        VersionProperties versionProperties =
+                addVersionProperties || usePropertiesForVersion ? VersionProperties.of(entries) : null;
+        if (versionProperties != null) {
+            // emitted sorted by name, so that properties are written in a stable order, whatever map the model keeps
+            builder.properties(new TreeMap<>(versionProperties.getProperties()));
+        }
+        List<Dependency> dependencies = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            String version = entries.get(i).version;
+            if (usePropertiesForVersion && versionProperties.getPropertyName(i) != null) {
+                version = "${" + versionProperties.getPropertyName(i) + "}";
+            }
+            dependencies.add(toDependency(entries.get(i), version));
+        }
+        builder.dependencyManagement(
+                DependencyManagement.newBuilder().dependencies(dependencies).build());
+        log.debug("Added " + dependencies.size() + " dependencies.");
+        return builder.build();
+    }
+
+    private Dependency toDependency(BomEntry entry, String version) {
+        Dependency.Builder builder = Dependency.newBuilder()
+                .groupId(entry.groupId)
+                .artifactId(entry.artifactId)
+                .version(version);
+        if (!entry.classifier.isEmpty()) {
+            builder.classifier(entry.classifier);
+        }
+        if (!"jar".equals(entry.type)) {
+            builder.type(entry.type);
+        }
+        Map<String, Exclusion> exclusionsToApply = new LinkedHashMap<>();
+        if (exclusions != null) {
+            for (BomExclusion exclusion : exclusions) {
+                if (DependencyPatterns.matches(exclusion.getDependencyGroupId(), entry.groupId)
+                        && DependencyPatterns.matches(exclusion.getDependencyArtifactId(), entry.artifactId)) {
+                    exclusionsToApply.putIfAbsent(
+                            exclusion.getExclusionGroupId() + ":" + exclusion.getExclusionArtifactId(),
+                            Exclusion.newBuilder()
+                                    .groupId(exclusion.getExclusionGroupId())
+                                    .artifactId(exclusion.getExclusionArtifactId())
+                                    .build());
+                }
+            }
+        }
+        if (!exclusionsToApply.isEmpty()) {
+            builder.exclusions(new ArrayList<>(exclusionsToApply.values()));
+        }
+        return builder.build();
+    }
+
+    private boolean isIncluded(BomEntry entry) {
+        if (dependencyInclusions == null || dependencyInclusions.isEmpty()) {
+            return true;
+        }
+        DependencyExclusion inclusion = DependencyPatterns.match(dependencyInclusions, entry.groupId, entry.artifactId);
+        if (inclusion != null && log.isDebugEnabled()) {
+            log.debug("Artifact " + entry.groupId + ":" + entry.artifactId + " matches included dependency "
+                    + inclusion.getGroupId() + ":" + inclusion.getArtifactId());
+        }
+        return inclusion != null;
+    }
+
+    private boolean isExcluded(BomEntry entry) {
+        DependencyExclusion exclusion = DependencyPatterns.match(dependencyExclusions, entry.groupId, entry.artifactId);
+        if (exclusion != null && log.isDebugEnabled()) {
+            log.debug("Artifact " + entry.groupId + ":" + entry.artifactId + " matches excluded dependency "
+                    + exclusion.getGroupId() + ":" + exclusion.getArtifactId());
+        }
+        return exclusion != null;
+    }
+
+    /**
+     * Writes model to given file atomically, unless the file already has the very same content.
+     *
+     * @return {@code true} if the file was (re)written, {@code false} if it was left untouched
+     */
+    private boolean write(Model model, Path outputFile) {
+        byte[] content =
+                session.getService(ModelXmlFactory.class).toXmlString(model).getBytes(StandardCharsets.UTF_8);
+        try {
+            if (Files.isRegularFile(outputFile) && Arrays.equals(content, Files.readAllBytes(outputFile))) {
+                return false;
+            }
+            Files.createDirectories(outputFile.getParent());
+            Path temp = Files.createTempFile(outputFile.getParent(), "." + outputFile.getFileName(), ".tmp");
+            try {
+                Files.write(temp, content);
+                try {
+                    Files.move(temp, outputFile, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, outputFile, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            return true;
+        } catch (IOException e) {
+            throw new MojoException("Unable to write pom file.", e);
+        }
+    }
+
+    /**
+     * Attaches the generated BOM to project, or replaces project POM with it, see {@link #attach}. When replacing,
+     * the consumer POM Maven 4 installs and deploys instead of project POM is replaced as well.
+     * <p>
+     * The consumer POM is built by Maven core itself, from the project model, and attached to project as an artifact
+     * with {@code consumer} classifier, that install and deploy publish in place of project POM. The Maven 4 API has
+     * no hook for a plugin to provide the consumer POM content (neither {@code Session} nor {@link ProjectManager}
+     * expose one, and {@code ModelTransformer} SPI applies to model building, not to consumer POM), hence the artifact
+     * attached by Maven core is re-attached with the generated BOM as its file.
+     */
+    private void attach(Path outputFile) {
+        ProjectManager projectManager = session.getService(ProjectManager.class);
+        if (bomClassifier != null && !bomClassifier.trim().isEmpty()) {
+            log.debug("Attaching BOM w/ classifier: " + bomClassifier);
+            projectManager.attachArtifact(
+                    project,
+                    session.createProducedArtifact(bomGroupId, bomArtifactId, bomVersion, bomClassifier, "pom", "pom"),
+                    outputFile);
+        } else if (Objects.equals("pom", project.getPackaging().id())
+                && project.getModel().getSubprojects().isEmpty()
+                && project.getModel().getModules().isEmpty()) {
+            log.debug("Replacing module POM w/ generated BOM");
+            session.getService(ArtifactManager.class).setPath(project.getPomArtifact(), outputFile);
+            for (ProducedArtifact attached : projectManager.getAttachedArtifacts(project)) {
+                if ("consumer".equals(attached.getClassifier()) && "pom".equals(attached.getExtension())) {
+                    projectManager.attachArtifact(
+                            project,
+                            session.createProducedArtifact(
+                                    project.getGroupId(),
+                                    project.getArtifactId(),
+                                    project.getVersion(),
+                                    "consumer",
+                                    "pom",
+                                    "pom"),
+                            outputFile);
+                    log.debug("Replaced consumer POM w/ generated BOM");
+                    return;
+                }
+            }
+            log.debug("No consumer POM artifact found (consumer POM disabled)");
+        } else {
+            throw new MojoException("Cannot replace project POM: invalid project (packaging=pom w/o modules)");
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import java.util.List;
+
+/**
+ * Matches artifacts against {@link DependencyExclusion} rules (as used by {@code dependencyInclusions} and
+ * {@code dependencyExclusions}), where {@code *} matches any sequence of characters, like in
+ * {@code org.apache.*:maven-*}. Pattern values and artifact coordinates are trimmed, and {@code null} equals to empty
+ * string.
+ */
+final class DependencyPatterns {
+
+    private DependencyPatterns() {}
+
+    /**
+     * Returns the first rule matching given artifact, or {@code null} if none does.
+     */
+    static DependencyExclusion match(List<DependencyExclusion> rules, String groupId, String artifactId) {
+        if (rules == null) {
+            return null;
+        }
+        for (DependencyExclusion rule : rules) {
+            if (matches(trim(rule.getGroupId()), trim(groupId))
+                    && matches(trim(rule.getArtifactId()), trim(artifactId))) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Whether value matches glob pattern, using greedy matching with backtracking to the last {@code *}.
+     */
+    static boolean matches(String pattern, String value) {
+        int p = 0;
+        int v = 0;
+        int star = -1;
+        int mark = 0;
+        while (v < value.length()) {
+            if (p < pattern.length() && pattern.charAt(p) == '*') {
+                star = p++;
+                mark = v;
+            } else if (p < pattern.length() && pattern.charAt(p) == value.charAt(v)) {
+                p++;
+                v++;
+            } else if (star >= 0) {
+                p = star + 1;
+                v = ++mark;
+            } else {
+                return false;
+            }
+        }
+        while (p < pattern.length() && pattern.charAt(p) == '*') {
+            p++;
+        }
+        return p == pattern.length();
+    }
+
+    private static String trim(String value) {
+        return value == null ? "" : value.trim();
+    }
+}
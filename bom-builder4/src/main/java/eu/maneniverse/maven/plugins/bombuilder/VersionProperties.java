@@ -0,0 +1,87 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Version properties of BOM entries, as used by both {@code addVersionProperties} and {@code usePropertiesForVersion}.
+ * Entries must be sorted by groupId and artifactId (as {@link BomEntry#merge} returns them). Property names are
+ * {@code version.groupId} if all artifacts in group have same version, otherwise {@code version.groupId.artifactId}
+ * for each artifact in group. An entry gets no property, if its artifact has more entries (like with different
+ * classifiers) with different versions.
+ */
+final class VersionProperties {
+
+    private static final String PREFIX = "version.";
+
+    private final Map<String, String> properties = new LinkedHashMap<>();
+
+    private final String[] propertyNames;
+
+    private VersionProperties(List<BomEntry> entries) {
+        this.propertyNames = new String[entries.size()];
+        int start = 0;
+        while (start < entries.size()) {
+            String groupId = entries.get(start).groupId;
+            int end = start;
+            boolean sameVersion = true;
+            while (end < entries.size() && entries.get(end).groupId.equals(groupId)) {
+                sameVersion &= Objects.equals(entries.get(start).version, entries.get(end).version);
+                end++;
+            }
+            if (sameVersion) {
+                assign(entries, start, end, PREFIX + groupId);
+            } else {
+                addArtifacts(entries, start, end);
+            }
+            start = end;
+        }
+    }
+
+    /**
+     * Computes version properties of given entries.
+     */
+    static VersionProperties of(List<BomEntry> entries) {
+        return new VersionProperties(entries);
+    }
+
+    /**
+     * Returns the properties, names mapped to versions, sorted by groupId and artifactId they belong to.
+     */
+    Map<String, String> getProperties() {
+        return properties;
+    }
+
+    /**
+     * Returns the name of version property of entry at given index, or {@code null} if entry has no property.
+     */
+    String getPropertyName(int index) {
+        return propertyNames[index];
+    }
+
+    private void addArtifacts(List<BomEntry> entries, int start, int end) {
+        int artifactStart = start;
+        while (artifactStart < end) {
+            BomEntry first = entries.get(artifactStart);
+            int artifactEnd = artifactStart;
+            boolean sameVersion = true;
+            while (artifactEnd < end && entries.get(artifactEnd).artifactId.equals(first.artifactId)) {
+                sameVersion &= Objects.equals(first.version, entries.get(artifactEnd).version);
+                artifactEnd++;
+            }
+            if (sameVersion) {
+                assign(entries, artifactStart, artifactEnd, PREFIX + first.groupId + "." + first.artifactId);
+            }
+            artifactStart = artifactEnd;
+        }
+    }
+
+    private void assign(List<BomEntry> entries, int start, int end, String name) {
+        properties.put(name, entries.get(start).version);
+        for (int i = start; i < end; i++) {
+            propertyNames[i] = name;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class BomEntryTest {
+
+    @Test
+    public void testMergeKeepsHighestVersionSorted() {
+        List<BomEntry> merged = BomEntry.merge(
+                Arrays.asList(
+                        new BomEntry("org.slf4j", "slf4j-api", "1.7.1", null, null),
+                        new BomEntry("junit", "junit", "4.13", "jar", ""),
+                        new BomEntry("org.slf4j", "slf4j-api", "1.7.3", "jar", null),
+                        new BomEntry("org.slf4j", "slf4j-api", "1.7.2", null, null),
+                        new BomEntry("org.slf4j", "slf4j-api", "1.7.0", "jar", "sources")),
+                Comparator.naturalOrder());
+
+        assertEquals(3, merged.size());
+        assertEquals("junit:junit:jar::4.13", merged.get(0).toString());
+        assertEquals("org.slf4j:slf4j-api:jar::1.7.3", merged.get(1).toString());
+        assertEquals("org.slf4j:slf4j-api:jar:sources:1.7.0", merged.get(2).toString());
+    }
+}
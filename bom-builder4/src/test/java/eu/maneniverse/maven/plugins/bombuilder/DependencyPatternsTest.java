@@ -0,0 +1,35 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class DependencyPatternsTest {
+
+    @Test
+    public void testMatches() {
+        assertTrue(DependencyPatterns.matches("*", "org.apache.maven"));
+        assertTrue(DependencyPatterns.matches("org.apache.*", "org.apache.maven"));
+        assertTrue(DependencyPatterns.matches("maven-*-api", "maven-plugin-api"));
+        assertTrue(DependencyPatterns.matches("org.apache.maven", "org.apache.maven"));
+        assertFalse(DependencyPatterns.matches("org.apache.*", "org.apache"));
+        assertFalse(DependencyPatterns.matches("maven-*-api", "maven-core"));
+    }
+
+    @Test
+    public void testMatch() {
+        DependencyExclusion maven = new DependencyExclusion(" org.apache.* ", "maven-*");
+        DependencyExclusion junit = new DependencyExclusion("junit", "*");
+        List<DependencyExclusion> rules = Arrays.asList(maven, junit);
+
+        assertSame(maven, DependencyPatterns.match(rules, "org.apache.maven", "maven-core"));
+        assertSame(junit, DependencyPatterns.match(rules, "junit", "junit"));
+        assertNull(DependencyPatterns.match(rules, "org.slf4j", "slf4j-api"));
+        assertNull(DependencyPatterns.match(null, "junit", "junit"));
+    }
+}
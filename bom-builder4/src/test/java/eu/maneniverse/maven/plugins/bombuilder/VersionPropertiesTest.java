@@ -0,0 +1,37 @@
+package eu.maneniverse.maven.plugins.bombuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class VersionPropertiesTest {
+
+    @Test
+    public void testProperties() {
+        List<BomEntry> entries = BomEntry.merge(
+                Arrays.asList(
+                        new BomEntry("junit", "junit", "4.13", null, null),
+                        new BomEntry("org.slf4j", "slf4j-api", "2.0.1", null, null),
+                        new BomEntry("org.slf4j", "slf4j-simple", "2.0.0", null, null),
+                        new BomEntry("org.test", "test", "1.0", null, null),
+                        new BomEntry("org.test", "test", "1.1", null, "tests")),
+                Comparator.naturalOrder());
+        VersionProperties versionProperties = VersionProperties.of(entries);
+
+        Map<String, String> expected = new LinkedHashMap<>();
+        expected.put("version.junit", "4.13");
+        expected.put("version.org.slf4j.slf4j-api", "2.0.1");
+        expected.put("version.org.slf4j.slf4j-simple", "2.0.0");
+        assertEquals(expected, versionProperties.getProperties());
+        assertEquals("version.junit", versionProperties.getPropertyName(0));
+        assertEquals("version.org.slf4j.slf4j-simple", versionProperties.getPropertyName(2));
+        assertNull(versionProperties.getPropertyName(3));
+        assertNull(versionProperties.getPropertyName(4));
+    }
+}
@@ -0,0 +1,9 @@
+File file = new File(basedir, "target/pom.xml")
+String fileContents = file.getText('UTF-8')
+
+// direct dependencies are included in any scope
+assert fileContents.contains('<artifactId>maven-artifact</artifactId>')
+assert fileContents.contains('<artifactId>junit</artifactId>')
+
+// transitive ones are not requested
+assert !fileContents.contains('<artifactId>plexus-utils</artifactId>')